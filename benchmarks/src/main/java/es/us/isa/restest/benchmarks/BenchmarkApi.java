@@ -0,0 +1,43 @@
+package es.us.isa.restest.benchmarks;
+
+import es.us.isa.restest.configuration.TestConfigurationIO;
+import es.us.isa.restest.configuration.pojos.TestConfigurationObject;
+import es.us.isa.restest.specification.OpenAPISpecification;
+
+/**
+ * APIs used in the benchmarks. Their specifications and test configurations are taken from the test
+ * resources of RESTest, so no network access is needed. Paths are relative to the root of the repository,
+ * which must be the working directory when running the benchmarks.
+ */
+public enum BenchmarkApi {
+
+	PETSTORE("src/test/resources/Petstore/swagger.yaml", "src/test/resources/Petstore/fullConf.yaml"),
+	BIKEWISE("src/test/resources/Bikewise/swagger.yaml", "src/test/resources/Bikewise/fullConf.yaml"),
+	SPOTIFY("src/test/resources/Spotify/spec.yaml", "src/test/resources/Spotify/confTest.yaml"),
+	STRIPE("src/test/resources/Stripe/spec3.yaml", "src/test/resources/Stripe/testConf_createCoupon.yaml"),
+	YOUTUBE("src/test/resources/YouTube/swagger_betty.yaml", "src/test/resources/YouTube/testConf_betty.yaml");
+
+	private final String specPath;
+	private final String confPath;
+
+	BenchmarkApi(String specPath, String confPath) {
+		this.specPath = specPath;
+		this.confPath = confPath;
+	}
+
+	public String getSpecPath() {
+		return specPath;
+	}
+
+	public String getConfPath() {
+		return confPath;
+	}
+
+	public OpenAPISpecification loadSpecification() {
+		return new OpenAPISpecification(specPath);
+	}
+
+	public TestConfigurationObject loadConfiguration(OpenAPISpecification spec) {
+		return TestConfigurationIO.loadConfiguration(confPath, spec);
+	}
+}
@@ -0,0 +1,58 @@
+package es.us.isa.restest.benchmarks;
+
+import es.us.isa.restest.coverage.CoverageGatherer;
+import es.us.isa.restest.coverage.CoverageMeter;
+import es.us.isa.restest.generators.RandomTestCaseGenerator;
+import es.us.isa.restest.specification.OpenAPISpecification;
+import es.us.isa.restest.testcases.TestCase;
+import es.us.isa.restest.util.RESTestException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of updating the input coverage with a new test suite, and of computing the coverage afterwards.
+ * A new coverage meter is created for every invocation (out of the measured time), so that each one
+ * adds the test suite to an empty coverage, instead of to the test cases added by previous invocations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CoverageBenchmark {
+
+	@Param({"PETSTORE", "BIKEWISE", "SPOTIFY", "STRIPE", "YOUTUBE"})
+	public BenchmarkApi api;
+
+	@Param({"10"})
+	public int testsPerOperation;
+
+	private OpenAPISpecification spec;
+	private CoverageMeter coverageMeter;
+	private Collection<TestCase> testCases;
+
+	@Setup(Level.Trial)
+	public void setUp() throws RESTestException {
+		spec = api.loadSpecification();
+		testCases = new RandomTestCaseGenerator(spec, api.loadConfiguration(spec), testsPerOperation).generate();
+	}
+
+	@Setup(Level.Invocation)
+	public void resetCoverage() {
+		coverageMeter = new CoverageMeter(new CoverageGatherer(spec));
+	}
+
+	@Benchmark
+	public float addTestSuite() {
+		coverageMeter.addTestSuite(testCases);
+		return coverageMeter.getInputCoverage();
+	}
+}
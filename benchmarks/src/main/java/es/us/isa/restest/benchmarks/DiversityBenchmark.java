@@ -0,0 +1,65 @@
+package es.us.isa.restest.benchmarks;
+
+import es.us.isa.restest.configuration.pojos.TestConfigurationObject;
+import es.us.isa.restest.generators.RandomTestCaseGenerator;
+import es.us.isa.restest.specification.OpenAPISpecification;
+import es.us.isa.restest.testcases.TestCase;
+import es.us.isa.restest.testcases.diversity.Diversity;
+import es.us.isa.restest.testcases.diversity.SimilarityMeter;
+import es.us.isa.restest.util.RESTestException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Cost of evaluating the diversity of a candidate test case against an archive of previous test cases,
+ * which is the inner loop of adaptive random testing (ART).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DiversityBenchmark {
+
+	@Param({"PETSTORE", "YOUTUBE"})
+	public BenchmarkApi api;
+
+	@Param({"LEVENSHTEIN", "JACCARD"})
+	public SimilarityMeter.METRIC metric;
+
+	@Param({"100", "1000"})
+	public int archiveSize;
+
+	private Diversity diversity;
+	private List<String> archive;
+	private String candidate;
+
+	@Setup(Level.Trial)
+	public void setUp() throws RESTestException {
+		OpenAPISpecification spec = api.loadSpecification();
+		TestConfigurationObject conf = api.loadConfiguration(spec);
+		int nOperations = conf.getTestConfiguration().getOperations().size();
+		RandomTestCaseGenerator generator = new RandomTestCaseGenerator(spec, conf, archiveSize / nOperations + 1);
+
+		List<String> flatRepresentations = generator.generate().stream()
+				.map(TestCase::getFlatRepresentation)
+				.collect(Collectors.toList());
+		candidate = flatRepresentations.remove(flatRepresentations.size() - 1);
+		archive = flatRepresentations.subList(0, Math.min(archiveSize, flatRepresentations.size()));
+		diversity = new Diversity(metric, true);
+	}
+
+	@Benchmark
+	public Double evaluate() {
+		return diversity.evaluate(archive, candidate);
+	}
+}
@@ -0,0 +1,90 @@
+package es.us.isa.restest.benchmarks;
+
+import es.us.isa.restest.configuration.pojos.TestConfigurationObject;
+import es.us.isa.restest.generators.ARTestCaseGenerator;
+import es.us.isa.restest.generators.AbstractTestCaseGenerator;
+import es.us.isa.restest.generators.ConstraintBasedTestCaseGenerator;
+import es.us.isa.restest.generators.FuzzingTestCaseGenerator;
+import es.us.isa.restest.generators.RandomTestCaseGenerator;
+import es.us.isa.restest.specification.OpenAPISpecification;
+import es.us.isa.restest.testcases.TestCase;
+import es.us.isa.restest.util.RESTestException;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the test case generators. Each invocation generates {@code testsPerOperation} test cases
+ * for every operation of the test configuration; the number of generated test cases is reported in the
+ * secondary result "testCases" (test cases per second).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class GeneratorBenchmark {
+
+	@Param({"RT", "CBT", "ART", "FT"})
+	public String generator;
+
+	@Param({"PETSTORE", "BIKEWISE", "SPOTIFY", "STRIPE", "YOUTUBE"})
+	public BenchmarkApi api;
+
+	@Param({"10"})
+	public int testsPerOperation;
+
+	private AbstractTestCaseGenerator testCaseGenerator;
+
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	public static class Counters {
+
+		public long testCases;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			testCases = 0;
+		}
+	}
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		OpenAPISpecification spec = api.loadSpecification();
+		TestConfigurationObject conf = api.loadConfiguration(spec);
+
+		switch (generator) {
+			case "RT":
+				testCaseGenerator = new RandomTestCaseGenerator(spec, conf, testsPerOperation);
+				break;
+			case "CBT":
+				testCaseGenerator = new ConstraintBasedTestCaseGenerator(spec, conf, testsPerOperation);
+				break;
+			case "ART":
+				ARTestCaseGenerator artGenerator = new ARTestCaseGenerator(spec, conf, testsPerOperation);
+				artGenerator.setDiversity("LEVENSHTEIN");
+				testCaseGenerator = artGenerator;
+				break;
+			case "FT":
+				testCaseGenerator = new FuzzingTestCaseGenerator(spec, conf, testsPerOperation);
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown generator: " + generator);
+		}
+	}
+
+	@Benchmark
+	public Collection<TestCase> generate(Counters counters) throws RESTestException {
+		Collection<TestCase> testCases = testCaseGenerator.generate();
+		counters.testCases += testCases.size();
+		return testCases;
+	}
+}
@@ -0,0 +1,52 @@
+package es.us.isa.restest.benchmarks;
+
+import com.atlassian.oai.validator.OpenApiInteractionValidator;
+import es.us.isa.restest.generators.RandomTestCaseGenerator;
+import es.us.isa.restest.specification.OpenAPISpecification;
+import es.us.isa.restest.testcases.TestCase;
+import es.us.isa.restest.util.OASAPIValidator;
+import es.us.isa.restest.util.RESTestException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of validating a request against the specification, as done when checking the validity of the
+ * generated test cases. The test cases are generated once and validated in turn, one per invocation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ValidationBenchmark {
+
+	@Param({"PETSTORE", "BIKEWISE", "SPOTIFY", "STRIPE", "YOUTUBE"})
+	public BenchmarkApi api;
+
+	private OpenApiInteractionValidator validator;
+	private List<TestCase> testCases;
+	private int next;
+
+	@Setup(Level.Trial)
+	public void setUp() throws RESTestException {
+		OpenAPISpecification spec = api.loadSpecification();
+		testCases = new ArrayList<>(new RandomTestCaseGenerator(spec, api.loadConfiguration(spec), 10).generate());
+		validator = OASAPIValidator.getValidator(spec);
+	}
+
+	@Benchmark
+	public List<String> validateRequest() {
+		TestCase testCase = testCases.get(next);
+		next = (next + 1) % testCases.size();
+		return testCase.getValidationErrors(validator);
+	}
+}
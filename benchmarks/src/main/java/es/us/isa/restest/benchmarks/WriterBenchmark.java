@@ -0,0 +1,62 @@
+package es.us.isa.restest.benchmarks;
+
+import es.us.isa.restest.generators.RandomTestCaseGenerator;
+import es.us.isa.restest.specification.OpenAPISpecification;
+import es.us.isa.restest.testcases.TestCase;
+import es.us.isa.restest.testcases.writers.RESTAssuredWriter;
+import es.us.isa.restest.util.FileManager;
+import es.us.isa.restest.util.RESTestException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the REST Assured writer. The test suite is generated once with the random generator, and
+ * each invocation writes it as a test class under target/benchmarks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class WriterBenchmark {
+
+	private static final String TARGET_DIR = "target/benchmarks/restassured";
+	private static final String PACKAGE_NAME = "restassured";
+	private static final String CLASS_NAME = "BenchmarkTest";
+
+	@Param({"PETSTORE", "SPOTIFY", "YOUTUBE"})
+	public BenchmarkApi api;
+
+	@Param({"10"})
+	public int testsPerOperation;
+
+	private RESTAssuredWriter writer;
+	private Collection<TestCase> testCases;
+
+	@Setup(Level.Trial)
+	public void setUp() throws RESTestException {
+		OpenAPISpecification spec = api.loadSpecification();
+		testCases = new RandomTestCaseGenerator(spec, api.loadConfiguration(spec), testsPerOperation).generate();
+
+		FileManager.createDir(TARGET_DIR); // The writer does not create it, and it would fail to save every test class
+		writer = new RESTAssuredWriter(api.getSpecPath(), api.getConfPath(), TARGET_DIR, CLASS_NAME, PACKAGE_NAME, "http://localhost", false);
+		writer.setOAIValidation(true);
+		writer.setLogging(true);
+		writer.setAllureReport(true);
+		writer.setEnableStats(true);
+	}
+
+	@Benchmark
+	public String write() {
+		writer.write(testCases);
+		return writer.getTestClassSource();
+	}
+}
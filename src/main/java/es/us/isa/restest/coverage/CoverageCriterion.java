@@ -1,6 +1,8 @@
 package es.us.isa.restest.coverage;
 
+import java.util.BitSet;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -12,8 +14,10 @@ import java.util.Map.Entry;
  */
 public class CoverageCriterion {
 
-    private CriterionType type;             // Type of coverage criterion: paths, operations, content-type, etc.
-    private Map<String, Boolean> elements;  // Keys are the elements to cover and values represent whether they have already been covered or not
+    private CriterionType type;                 // Type of coverage criterion: paths, operations, content-type, etc.
+    private Map<String, Integer> elementIds;    // Elements to cover, mapped to dense integer ids (in the order they were set)
+    private BitSet coveredElements;             // Ids of the elements already covered
+    private int coveredElementsCount;           // Number of bits set in coveredElements
 
     /**
      * The following property's purpose is to locate the criterion inside the API resources hierarchy. There could be several parameter values
@@ -26,7 +30,8 @@ public class CoverageCriterion {
 
     public CoverageCriterion(CriterionType type) {
         this.type = type;
-        this.elements = new HashMap<>();
+        this.elementIds = new LinkedHashMap<>();
+        this.coveredElements = new BitSet();
         this.rootPath = "";
     }
 
@@ -38,12 +43,27 @@ public class CoverageCriterion {
         this.type = type;
     }
 
+    /**
+     * @return Map whose keys are the elements to cover and whose values represent whether they have already
+     * been covered or not. The map is a copy: use {@link #coverElement(String)} to cover elements
+     */
     public Map<String, Boolean> getElements() {
+        Map<String, Boolean> elements = new LinkedHashMap<>();
+        for (Entry<String, Integer> element: elementIds.entrySet())
+            elements.put(element.getKey(), coveredElements.get(element.getValue()));
         return elements;
     }
 
     public void setElements(Map<String, Boolean> elements) {
-        this.elements = elements;
+        this.elementIds = new LinkedHashMap<>();
+        this.coveredElements = new BitSet(elements.size());
+        for (Entry<String, Boolean> element: elements.entrySet()) {
+            int id = elementIds.size();
+            elementIds.put(element.getKey(), id);
+            if (Boolean.TRUE.equals(element.getValue()))
+                coveredElements.set(id);
+        }
+        this.coveredElementsCount = coveredElements.cardinality();
     }
 
     public String getRootPath() {
@@ -60,39 +80,42 @@ public class CoverageCriterion {
      * @return Map of covered elements, i.e. all those whose value is true
      */
     public Map<String, Boolean> getCoveredElements() {
-        Map<String, Boolean> coveredElements = new HashMap<>();
-        for (Entry<String, Boolean> element: elements.entrySet()) {
-            if (element.getValue()) {
-                coveredElements.put(element.getKey(), element.getValue());
+        Map<String, Boolean> covered = new HashMap<>();
+        for (Entry<String, Integer> element: elementIds.entrySet()) {
+            if (coveredElements.get(element.getValue())) {
+                covered.put(element.getKey(), true);
             }
         }
-        return coveredElements;
+        return covered;
     }
 
     /**
      * @return Number of elements in this criterion
      */
     public long getElementsCount() {
-        return elements.size();
+        return elementIds.size();
     }
 
     /**
      * @return Number of elements already covered in this criterion
      */
     public long getCoveredElementsCount() {
-        return elements.entrySet().stream()
-                .filter(e -> e.getValue())
-                .count();
+        return coveredElementsCount;
     }
 
     /**
      * Set an element as covered (set value to 'true')
      * @param newlyCoveredElement the element to cover
+     * @return true if the element exists and was not covered yet, false otherwise
      */
-    public void coverElement(String newlyCoveredElement) {
-        if (elements.get(newlyCoveredElement) != null) { // check that the element exists
-            elements.put(newlyCoveredElement, true);
+    public boolean coverElement(String newlyCoveredElement) {
+        Integer id = elementIds.get(newlyCoveredElement);
+        if (id != null && !coveredElements.get(id)) { // check that the element exists and is not covered yet
+            coveredElements.set(id);
+            coveredElementsCount++;
+            return true;
         }
+        return false;
     }
 
     /**
@@ -101,10 +124,10 @@ public class CoverageCriterion {
      * @return coverage percentage
      */
     public float getCoverage() {
-        if (elements.size() == 0) {
+        if (elementIds.size() == 0) {
             return 100;
         }
 
         return 100 * (float)getCoveredElementsCount() / (float)getElementsCount();
     }
-}
\ No newline at end of file
+}
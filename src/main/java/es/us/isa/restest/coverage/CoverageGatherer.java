@@ -17,6 +17,8 @@ import static es.us.isa.restest.util.SpecificationVisitor.*;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -37,6 +39,9 @@ public class CoverageGatherer {
     private OpenAPISpecification spec;                  // OpenAPI specification to deduce coverage levels from
     private List<CriterionType> coverageCriterionTypes; // Types of criteria to be covered
     private List<CoverageCriterion> coverageCriteria;   // Coverage criteria to keep track of
+    private Map<CriterionType, Map<String, CoverageCriterion>> criteriaIndex; // Coverage criteria by type and rootPath
+    private long[] elementsCount;                       // Number of elements to cover per criterion type (indexed by ordinal)
+    private long[] coveredElementsCount;                // Number of covered elements per criterion type (indexed by ordinal)
 //    private int bodyPropertyDepthLevel = 0;
 
     public CoverageGatherer(OpenAPISpecification spec) {
@@ -45,6 +50,7 @@ public class CoverageGatherer {
         this.coverageCriteria = new ArrayList<>();
         setDefaultCoverageCriterionTypes();
         createCoverageCriteria();
+        indexCoverageCriteria();
     }
 
     public CoverageGatherer(OpenAPISpecification spec, List<CriterionType> coverageCriterionTypes) {
@@ -52,6 +58,7 @@ public class CoverageGatherer {
         this.coverageCriterionTypes = coverageCriterionTypes;
         this.coverageCriteria = new ArrayList<>();
         createCoverageCriteria();
+        indexCoverageCriteria();
     }
 
     public OpenAPISpecification getSpec() {
@@ -76,6 +83,61 @@ public class CoverageGatherer {
 
     public void setCoverageCriteria(List<CoverageCriterion> coverageCriteria) {
         this.coverageCriteria = coverageCriteria;
+        indexCoverageCriteria();
+    }
+
+    /**
+     * Find a coverage criterion in constant time
+     * @param type Type of the criterion (PATH, STATUS_CODE, etc.)
+     * @param rootPath Path to the criterion, e.g. "/pets->GET->type"
+     * @return The criterion, or null if it does not exist
+     */
+    public CoverageCriterion getCoverageCriterion(CriterionType type, String rootPath) {
+        return criteriaIndex.get(type).get(rootPath);
+    }
+
+    /**
+     * Cover an element of a criterion, keeping the counters of covered elements up to date. Elements
+     * of the criteria of this gatherer should only be covered through this method.
+     * @param type Type of the criterion (PATH, STATUS_CODE, etc.)
+     * @param rootPath Path to the criterion, e.g. "/pets->GET->type"
+     * @param element Element to cover, e.g. {@code "sold"} for a parameter value
+     */
+    public void coverElement(CriterionType type, String rootPath, String element) {
+        CoverageCriterion criterion = getCoverageCriterion(type, rootPath);
+        if (criterion != null && criterion.coverElement(element))
+            coveredElementsCount[type.ordinal()]++;
+    }
+
+    /**
+     * @param type Criterion type
+     * @return Number of elements to cover among all criteria of that type
+     */
+    public long getElementsCount(CriterionType type) {
+        return elementsCount[type.ordinal()];
+    }
+
+    /**
+     * @param type Criterion type
+     * @return Number of elements covered among all criteria of that type
+     */
+    public long getCoveredElementsCount(CriterionType type) {
+        return coveredElementsCount[type.ordinal()];
+    }
+
+    // Index criteria by type and rootPath, and count their elements. If two criteria have the same type and rootPath, the first one is used
+    private void indexCoverageCriteria() {
+        criteriaIndex = new EnumMap<>(CriterionType.class);
+        for (CriterionType type: CriterionType.values())
+            criteriaIndex.put(type, new HashMap<>());
+        elementsCount = new long[CriterionType.values().length];
+        coveredElementsCount = new long[CriterionType.values().length];
+
+        for (CoverageCriterion criterion: coverageCriteria) {
+            criteriaIndex.get(criterion.getType()).putIfAbsent(criterion.getRootPath(), criterion);
+            elementsCount[criterion.getType().ordinal()] += criterion.getElementsCount();
+            coveredElementsCount[criterion.getType().ordinal()] += criterion.getCoveredElementsCount();
+        }
     }
 
     /**
@@ -32,6 +32,11 @@ public class CoverageMeter {
     private Collection<TestCase> testSuite;     // full set of abstract test cases addressing the API
     private Collection<TestResult> testResults; // test outputs generated after running the test suite against the API
 
+    // A posteriori coverage, updated with the test cases and results added since it was first computed (null if it must be computed again)
+    private CoverageMeter aPosterioriCoverageMeter;
+    private Map<String, TestCase> testCasesById;                // all test cases added so far, indexed by ID
+    private Map<String, TestResult> unmatchedTestResults;       // test results whose test case has not been added yet, indexed by ID
+
     public CoverageMeter(CoverageGatherer coverageGatherer) {
         this.coverageGatherer = coverageGatherer;
         this.testSuite = new ArrayList<>();
@@ -67,15 +72,26 @@ public class CoverageMeter {
     public void addTestSuite(Collection<TestCase> testSuite) {
         this.testSuite.addAll(testSuite);
         setCoveredInputElements(testSuite);
+
+        if (aPosterioriCoverageMeter != null) { // match the new test cases with the results received before them
+            for (TestCase testCase: testSuite) {
+                testCasesById.putIfAbsent(testCase.getId(), testCase);
+                TestResult testResult = unmatchedTestResults.remove(testCase.getId());
+                if (testResult != null)
+                    aPosterioriCoverageMeter.addAPosterioriTest(testCase, testResult);
+            }
+        }
     }
 
     public void setTestSuite(Collection<TestCase> testSuite) {
         this.testSuite = testSuite;
         setCoveredInputElements(testSuite); // after setting testSuite, update covered input elements from all criteria
+        aPosterioriCoverageMeter = null;
     }
 
     public void resetCoverage() {
         this.coverageGatherer = new CoverageGatherer(this.coverageGatherer.getSpec());
+        aPosterioriCoverageMeter = null;
     }
 
     public Collection<TestResult> getTestResults() {
@@ -85,11 +101,22 @@ public class CoverageMeter {
     public void addTestResults(Collection<TestResult> testResults, Collection<TestCase> testSuite) {
         this.testResults.addAll(testResults);
         setCoveredOutputElements(testResults, testSuite);
+
+        if (aPosterioriCoverageMeter != null) { // only the new test results are matched with the test cases
+            for (TestResult testResult: testResults) {
+                TestCase testCase = testCasesById.get(testResult.getId());
+                if (testCase != null)
+                    aPosterioriCoverageMeter.addAPosterioriTest(testCase, testResult);
+                else
+                    unmatchedTestResults.putIfAbsent(testResult.getId(), testResult);
+            }
+        }
     }
 
     public void setTestResults(Collection<TestResult> testResults, Collection<TestCase> testSuite) {
         this.testResults = testResults;
         setCoveredOutputElements(testResults, testSuite); // after setting testResults, update covered output elements from all criteria
+        aPosterioriCoverageMeter = null;
     }
 
     public long getAllTotalElements() {
@@ -123,9 +150,8 @@ public class CoverageMeter {
      * @return Number of elements collected among all coverage criteria
      */
     private long getAllElements(String criterionType) {
-        return coverageGatherer.getCoverageCriteria().stream()
-                .filter(c -> CriterionType.getTypes(criterionType).contains(c.getType()))
-                .mapToLong(CoverageCriterion::getElementsCount)
+        return CriterionType.getTypes(criterionType).stream()
+                .mapToLong(coverageGatherer::getElementsCount)
                 .sum();
     }
 
@@ -136,9 +162,8 @@ public class CoverageMeter {
      * @return Number of covered elements collected among all coverage criteria
      */
     private long getCoveredElements(String criterionType) {
-        return coverageGatherer.getCoverageCriteria().stream()
-                .filter(c -> CriterionType.getTypes(criterionType).contains(c.getType()))
-                .mapToLong(CoverageCriterion::getCoveredElementsCount)
+        return CriterionType.getTypes(criterionType).stream()
+                .mapToLong(coverageGatherer::getCoveredElementsCount)
                 .sum();
     }
 
@@ -185,19 +210,13 @@ public class CoverageMeter {
      * @return Coverage percentage
      */
     public float getCriterionTypeCoverage(CriterionType type) {
-        long allElements = coverageGatherer.getCoverageCriteria().stream()
-                .filter(c -> c.getType() == type)
-                .mapToLong(CoverageCriterion::getElementsCount)
-                .sum();
+        long allElements = coverageGatherer.getElementsCount(type);
 
         if (allElements == 0) {
             return 100;
         }
 
-        long coveredElements = coverageGatherer.getCoverageCriteria().stream()
-                .filter(c -> c.getType() == type)
-                .mapToLong(CoverageCriterion::getCoveredElementsCount)
-                .sum();
+        long coveredElements = coverageGatherer.getCoveredElementsCount(type);
 
         return 100 * (float) coveredElements / (float) allElements;
     }
@@ -210,10 +229,7 @@ public class CoverageMeter {
      * @return Coverage percentage
      */
     public float getCriterionCoverage(CriterionType type, String rootPath) {
-        CoverageCriterion criterion = coverageGatherer.getCoverageCriteria().stream() // find criterion
-                .filter(c -> c.getType() == type && c.getRootPath().equals(rootPath))
-                .findFirst()
-                .orElse(null);
+        CoverageCriterion criterion = coverageGatherer.getCoverageCriterion(type, rootPath); // find criterion
 
         if (criterion != null) {
             return criterion.getCoverage();
@@ -225,19 +241,36 @@ public class CoverageMeter {
     /**
      * Based on {@code this} CoverageMeter object, returns a modified CoverageMeter
      * whose input coverage counts only those elements whose response was successful.
+     * It is computed the first time it is requested, and then kept up to date as new test
+     * cases and test results are added, so that only the new ones are processed. Setting
+     * the test suite or the test results (or resetting the coverage) computes it again.
      *
      * @return A modified CoverageMeter object
      */
     public CoverageMeter getAPosteriorCoverageMeter() {
-        return getAPosteriorCoverageMeter(Integer.MAX_VALUE);
+        if (aPosterioriCoverageMeter == null) {
+            aPosterioriCoverageMeter = getAPosteriorCoverageMeter(Integer.MAX_VALUE);
+
+            testCasesById = new HashMap<>();
+            for (TestCase testCase: testSuite)
+                testCasesById.putIfAbsent(testCase.getId(), testCase);
+            unmatchedTestResults = new HashMap<>();
+            if (testResults != null) {
+                for (TestResult testResult: testResults)
+                    if (!testCasesById.containsKey(testResult.getId()))
+                        unmatchedTestResults.putIfAbsent(testResult.getId(), testResult);
+            }
+        }
+
+        return aPosterioriCoverageMeter;
     }
 
     public CoverageMeter getAPosteriorCoverageMeter(int maxTestSuiteSize) {
         CoverageMeter aPosterioriCoverageMeter = new CoverageMeter(new CoverageGatherer(coverageGatherer.getSpec()));
 
         if(testResults != null) {
-            List<String> tcIds = testSuite.stream().map(TestCase::getId).collect(Collectors.toList());
-            List<String> trIds = testResults.stream().map(TestResult::getId).collect(Collectors.toList());
+            Set<String> tcIds = testSuite.stream().map(TestCase::getId).collect(Collectors.toSet());
+            Set<String> trIds = testResults.stream().map(TestResult::getId).collect(Collectors.toSet());
             List<TestCase> orderedTestSuite = new ArrayList<>(testSuite).stream()
                     .filter(tc -> trIds.contains(tc.getId()))
                     .sorted(Comparator.comparing(TestCase::getId))
@@ -256,10 +289,10 @@ public class CoverageMeter {
                 Collection<TestCase> testSuiteFragment = orderedTestSuite.subList(i*maxTestSuiteSize, upperLimit);
                 Collection<TestResult> testResultsFragment = orderedTestResults.subList(i*maxTestSuiteSize, upperLimit);
 
-                List<String> invalidResponseResultsIds = new ArrayList<>(testResultsFragment).stream()
+                Set<String> invalidResponseResultsIds = testResultsFragment.stream()
                         .filter(testResult -> Integer.parseInt(testResult.getStatusCode()) >= 400)
                         .map(TestResult::getId)
-                        .collect(Collectors.toList());
+                        .collect(Collectors.toSet());
 
                 aPosterioriCoverageMeter.setCoveredOutputElements(testResultsFragment, testSuiteFragment);
                 testSuiteFragment = testSuiteFragment.stream()
@@ -275,6 +308,15 @@ public class CoverageMeter {
         return aPosterioriCoverageMeter;
     }
 
+    // Add a test case and its result to an a posteriori coverage meter
+    private void addAPosterioriTest(TestCase testCase, TestResult testResult) {
+        testSuite.add(testCase);
+        testResults.add(testResult);
+        setCoveredOutputElements(Collections.singletonList(testResult), Collections.singletonList(testCase));
+        if (Integer.parseInt(testResult.getStatusCode()) < 400)
+            setCoveredInputElements(Collections.singletonList(testCase));
+    }
+
     /**
      * Set 'coveredElements' field of every input CoverageCriterion
      * @param testSuite
@@ -308,8 +350,14 @@ public class CoverageMeter {
     }
 
     private void setCoveredOutputElements(Collection<TestResult> testResults, Collection<TestCase> testSuite) {
+        // Index the test cases by ID, so that each test result is matched with its test case in constant time
+        Map<String, TestCase> testCasesById = new HashMap<>();
+        for (TestCase testCase: testSuite)
+            testCasesById.putIfAbsent(testCase.getId(), testCase);
+
         // Traverse all test results and, for each one, modify the coverage criteria it affects, by adding new covered elements
         for (TestResult testResult: testResults) {
+            TestCase testCase = findTestCase(testResult.getId(), testCasesById);
 
             String statusCodeClass = null;
             if(testResult.getStatusCode().charAt(0) == '4') {
@@ -319,16 +367,16 @@ public class CoverageMeter {
             }
 
             if (statusCodeClass != null)
-                updateCriterion(STATUS_CODE_CLASS, findTestCase(testResult.getId(), testSuite).getPath() + "->" + findTestCase(testResult.getId(), testSuite).getMethod().toString(), statusCodeClass, coverageGatherer);
-            updateCriterion(STATUS_CODE, findTestCase(testResult.getId(), testSuite).getPath() + "->" + findTestCase(testResult.getId(), testSuite).getMethod().toString(), testResult.getStatusCode(), coverageGatherer);
-            updateCriterion(OUTPUT_CONTENT_TYPE, findTestCase(testResult.getId(), testSuite).getPath() + "->" + findTestCase(testResult.getId(), testSuite).getMethod().toString(), outputContentTypeTranslator(testResult.getOutputFormat()), coverageGatherer);
+                updateCriterion(STATUS_CODE_CLASS, testCase.getPath() + "->" + testCase.getMethod().toString(), statusCodeClass, coverageGatherer);
+            updateCriterion(STATUS_CODE, testCase.getPath() + "->" + testCase.getMethod().toString(), testResult.getStatusCode(), coverageGatherer);
+            updateCriterion(OUTPUT_CONTENT_TYPE, testCase.getPath() + "->" + testCase.getMethod().toString(), outputContentTypeTranslator(testResult.getOutputFormat()), coverageGatherer);
 
             // Response body properties criteria
             ObjectMapper objectMapper = new ObjectMapper();
             try {
                 JsonNode jsonResponse = objectMapper.readTree(testResult.getResponseBody());
-                String baseRootPath = findTestCase(testResult.getId(), testSuite).getPath() +
-                        "->" + findTestCase(testResult.getId(), testSuite).getMethod().toString() +
+                String baseRootPath = testCase.getPath() +
+                        "->" + testCase.getMethod().toString() +
                         "->" + testResult.getStatusCode() + "->"; // note the final arrow, since new elements will be added to the rootPath
                 iterateOverJsonNode(jsonResponse, baseRootPath, coverageGatherer, null, null, null);
             } catch (IOException e) {
@@ -437,28 +485,21 @@ public class CoverageMeter {
      *                {@code "sold"} for a parameter value
      */
     private static void updateCriterion(CriterionType type, String rootPath, String element, CoverageGatherer covGath) {
-        // Find unique criterion by type and rootPath
-        CoverageCriterion criterion = covGath.getCoverageCriteria().stream()
-                .filter(c -> c.getType() == type && c.getRootPath().equals(rootPath))
-                .findFirst()
-                .orElse(null);
-
-        if (criterion != null) { // if the criterion exists
-            criterion.coverElement(element); // add element to the already covered elements of the criterion
-        }
+        // Find unique criterion by type and rootPath (indexed) and add element to its already covered elements
+        covGath.coverElement(type, rootPath, element);
     }
 
     /**
      * Given a test case ID (or test result ID), return the test case
      * @param id ID of the test case
-     * @param testSuite collection of test cases where to look for the ID
+     * @param testCasesById test cases where to look for the ID, indexed by ID
      * @return Test case matching the ID passed in
      */
-    private TestCase findTestCase(String id, Collection<TestCase> testSuite) {
-        return testSuite.stream()
-                .filter(tc -> Objects.equals(tc.getId(), id))
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("There is no test case with id <" + id + ">"));
+    private TestCase findTestCase(String id, Map<String, TestCase> testCasesById) {
+        TestCase testCase = testCasesById.get(id);
+        if (testCase == null)
+            throw new IllegalArgumentException("There is no test case with id <" + id + ">");
+        return testCase;
     }
 
     /**
@@ -9,10 +9,19 @@ import es.us.isa.restest.testcases.diversity.SimilarityMeter;
 import es.us.isa.restest.util.RESTestException;
 import org.javatuples.Pair;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
+ * Adaptive random test case generator: for each test case, {@code numberOfCandidates} candidates are
+ * generated, and the one most different from the test cases previously generated for the same operation
+ * is selected. The flat representations of the selected test cases are kept in an archive partitioned by
+ * operation and bounded by {@code maxArchiveSize}, and candidates are evaluated in parallel.
+ *
  * @author José Ramón Fernández
  */
 
@@ -20,33 +29,45 @@ public class ARTestCaseGenerator extends ConstraintBasedTestCaseGenerator {
 
     private Diversity diversity;
     private Integer numberOfCandidates = 100;
-    private List<TestCase> testCases;
+    private Integer maxArchiveSize = 1000;          // Maximum number of test cases kept per operation to compare candidates with (-1 for no limit)
+    private Map<String, Deque<String>> archive;     // Flat representations of the test cases generated so far, per operation
 
 
     public ARTestCaseGenerator(OpenAPISpecification spec, TestConfigurationObject conf, int nTests) {
         super(spec, conf, nTests);
-        testCases = new ArrayList<>();
+        archive = new ConcurrentHashMap<>();
     }
 
     @Override
     public TestCase generateNextTestCase(Operation testOperation, String faultyReason) throws RESTestException {
         Pair<TestCase, Double> bestResult = Pair.with(generateTestCase(testOperation, faultyReason), .0);
+        Deque<String> operationArchive = archive.computeIfAbsent(testOperation.getOperationId(), k -> new ArrayDeque<>());
 
-        if (!testCases.isEmpty()) {
+        if (!operationArchive.isEmpty()) {
+            // Candidates are generated sequentially (input generators are not thread-safe), but evaluated in parallel
+            List<TestCase> candidates = new ArrayList<>();
             for (int i = 0; i < numberOfCandidates-1; i++) {
                 TestCase tc = generateTestCase(testOperation, faultyReason);
-                if (tc != null) {
-                    Double minDistance = diversity.evaluate(testCases, tc);
-                    if (minDistance > bestResult.getValue1())
-                        bestResult = Pair.with(tc, minDistance);
-                }
+                if (tc != null)
+                    candidates.add(tc);
+            }
+
+            double[] minDistances = candidates.parallelStream()
+                    .mapToDouble(tc -> diversity.evaluate(operationArchive, tc.getFlatRepresentation()))
+                    .toArray();
+
+            for (int i = 0; i < candidates.size(); i++) {
+                if (minDistances[i] > bestResult.getValue1())
+                    bestResult = Pair.with(candidates.get(i), minDistances[i]);
             }
         }
 
         TestCase test = bestResult.getValue0();
 
         if (test != null) {
-            testCases.add(test);
+            operationArchive.addLast(test.getFlatRepresentation());
+            if (maxArchiveSize != -1 && operationArchive.size() > maxArchiveSize)
+                operationArchive.removeFirst();
             if (test.getFaulty() != null) {
                 if (test.getFaulty() && faultyReason.equals(INTER_PARAMETER_DEPENDENCY)) {
                     nFaultyTestDueToDependencyViolations++;
@@ -87,4 +108,8 @@ public class ARTestCaseGenerator extends ConstraintBasedTestCaseGenerator {
     public void setNumberOfCandidates(Integer numberOfCandidates) {
         this.numberOfCandidates = numberOfCandidates;
     }
+
+    public void setMaxArchiveSize(Integer maxArchiveSize) {
+        this.maxArchiveSize = maxArchiveSize;
+    }
 }
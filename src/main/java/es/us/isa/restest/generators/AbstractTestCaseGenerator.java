@@ -1,8 +1,14 @@
 package es.us.isa.restest.generators;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Stream;
 
+import es.us.isa.restest.configuration.pojos.GenParameter;
 import es.us.isa.restest.configuration.pojos.Generator;
 import es.us.isa.restest.inputs.stateful.BodyGenerator;
 import es.us.isa.restest.inputs.stateful.ParameterGenerator;
@@ -19,6 +25,7 @@ import es.us.isa.restest.configuration.pojos.TestConfigurationObject;
 import es.us.isa.restest.configuration.pojos.TestParameter;
 import es.us.isa.restest.inputs.ITestDataGenerator;
 import es.us.isa.restest.inputs.TestDataGeneratorFactory;
+import es.us.isa.restest.inputs.random.RandomGenerator;
 import es.us.isa.restest.inputs.perturbation.ObjectPerturbator;
 import es.us.isa.restest.specification.OpenAPISpecification;
 import es.us.isa.restest.specification.ParameterFeatures;
@@ -30,11 +37,18 @@ import static es.us.isa.restest.configuration.TestConfigurationVisitor.isArteEna
 import static es.us.isa.restest.util.SpecificationVisitor.MEDIA_TYPE_APPLICATION_JSON_REGEX;
 
 /**
- * Abstract class to be implemented by test case generators
+ * Abstract class to be implemented by test case generators.
+ * <br>
+ * Each operation has its own random stream, derived from the seed of the generator, so the test cases generated for
+ * an operation only depend on the seed, no matter the order in which operations are processed. This allows
+ * generating the test cases of several operations concurrently (see {@link #setGenerationThreads(int)}), each one in a
+ * copy of the generator. Values not drawn from these streams are not reproducible: requests solved by IDLReasoner
+ * (see {@link ConstraintBasedTestCaseGenerator}), bodies perturbed with {@link ObjectPerturbator} and values of
+ * stateful generators.
  * @author Sergio Segura
  */
 
-public abstract class AbstractTestCaseGenerator {
+public abstract class AbstractTestCaseGenerator implements Cloneable {
 
 	public static final String INDIVIDUAL_PARAMETER_CONSTRAINT = "individual_parameter_constraint";
 	private static Logger logger = LogManager.getLogger(AbstractTestCaseGenerator.class.getName());
@@ -46,10 +60,13 @@ public abstract class AbstractTestCaseGenerator {
 	// The following pairs stand for Pair<ParameterName,Type(query, path, header...)>
 	protected Map<Pair<String, String>,List<ITestDataGenerator>> nominalGenerators;	// Nominal test data generators (random, boundaryValue, fixedlist...)
 	protected Map<Pair<String, String>,List<ITestDataGenerator>> faultyGenerators;	// Faulty test data generators (random, boundaryValue, fixedlist...)
+	private final Map<String, OperationGenerators> operationGenerators = new ConcurrentHashMap<>();	// Test data generators of each operation (method + path), reused across calls to generate()
+	private final Map<String, Random> operationRandoms = new ConcurrentHashMap<>();	// Random stream of each operation (method + path), derived from the seed
 	protected AuthManager authManager;										// For if multiple API keys are used for the API
 	protected Float faultyRatio = 0f;										// Ratio (0-1) of faulty test cases to be generated on each operation. Defaults to 0.1
 	protected int numberOfTests;											// Number of test cases to be generated for each operation
 	private int maxTriesPerTestCase=100;									// Maximum number of tries for generating a random test case conforming the input OAS schema.
+	private int generationThreads = 1;										// Maximum number of operations whose test cases are generated concurrently
 
 	// Global counters
 	protected int nTotalTests;												// Number of test cases generated so far
@@ -154,22 +171,88 @@ public abstract class AbstractTestCaseGenerator {
 
 		List<TestCase> testCases = new ArrayList<>();
 
-		// Generate test cases for each path and method
+		// Paths and methods to be tested
+		List<Pair<String, HttpMethod>> operations = new ArrayList<>();
 		for(TestConfigurationFilter filter:filters) {
 
 			if (filter.getPath()==null) {
 				throw new IllegalArgumentException("Specify the path(s) to be tested");
 			}
 
-			for(HttpMethod method: filter.getMethods()) {
-				// Generate test cases for the operation
-				testCases.addAll(generate(filter.getPath(), method));
-			}
+			for(HttpMethod method: filter.getMethods())
+				operations.add(Pair.with(filter.getPath(), method));
 		}
 
+		if (generationThreads > 1 && operations.size() > 1)
+			return generateConcurrently(operations);
+
+		// Generate test cases for each path and method
+		for (Pair<String, HttpMethod> operation: operations)
+			testCases.addAll(generate(operation.getValue0(), operation.getValue1()));
+
 		return testCases;
 	}
 
+	/*
+	 * Generate the test cases of each operation in a copy of the generator, using up to generationThreads threads.
+	 * Test cases are returned in the same order as the operations, and the global counters are updated with the
+	 * ones of the copies.
+	 */
+	private Collection<TestCase> generateConcurrently(List<Pair<String, HttpMethod>> operations) throws RESTestException {
+		ExecutorService workers = Executors.newFixedThreadPool(Math.min(generationThreads, operations.size()), r -> {
+			Thread thread = new Thread(r, "test-case-generation");
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		try {
+			List<Future<Pair<AbstractTestCaseGenerator, Collection<TestCase>>>> results = new ArrayList<>();
+			for (Pair<String, HttpMethod> operation: operations) {
+				AbstractTestCaseGenerator worker = copy();
+				results.add(workers.submit(() -> Pair.with(worker, worker.generate(operation.getValue0(), operation.getValue1()))));
+			}
+
+			List<TestCase> testCases = new ArrayList<>();
+			for (Future<Pair<AbstractTestCaseGenerator, Collection<TestCase>>> result: results) {
+				Pair<AbstractTestCaseGenerator, Collection<TestCase>> workerResult = result.get();
+				testCases.addAll(workerResult.getValue1());
+				nTotalTests += workerResult.getValue0().nTotalTests;
+				nTotalFaulty += workerResult.getValue0().nTotalFaulty;
+				nTotalNominal += workerResult.getValue0().nTotalNominal;
+			}
+
+			return testCases;
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RESTestException)
+				throw (RESTestException) e.getCause();
+			if (e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+			throw new RESTestException("Error generating test cases: " + e.getCause().getMessage(), e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RESTestException("The generation of test cases was interrupted", e);
+		} finally {
+			workers.shutdownNow();
+		}
+	}
+
+	/**
+	 * Returns a copy of the generator to generate the test cases of one operation in another thread. The copy
+	 * shares the configuration, the test data generators and the random streams of the operations with this
+	 * generator, but has its own counters and current operation. Subclasses with more state that cannot be
+	 * shared between operations must override this method.
+	 * @return The copy of the generator
+	 */
+	protected AbstractTestCaseGenerator copy() {
+		try {
+			AbstractTestCaseGenerator copy = (AbstractTestCaseGenerator) clone();
+			copy.resetGenerator();
+			return copy;
+		} catch (CloneNotSupportedException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
 	/**
 	 * Generate a set of test cases for the whole configuration file (all paths, all operations)
 	 * @return Generated test cases (duplicates are possible)
@@ -238,8 +321,11 @@ public abstract class AbstractTestCaseGenerator {
 		// Get test configuration object for the operation
 		Operation testOperation = TestConfigurationVisitor.getOperation(conf, path, method.name());
 
-		// Create test data generators for each parameter
-		createGenerators(testOperation);
+		// Use the random stream of the operation
+		rand = operationRandoms.computeIfAbsent(getOperationKey(testOperation), k -> new Random(seed + 0x9E3779B97F4A7C15L * k.hashCode()));
+
+		// Get (or create) test data generators for each parameter
+		loadGenerators(testOperation);
 
 		// Update these booleans, which may differ for every operation
 		hasStatefulGenerators = hasStatefulGenerators(testOperation);
@@ -365,7 +451,7 @@ public abstract class AbstractTestCaseGenerator {
 			generationAlternatives.add("invalid_generator");
 		}
 
-		Collections.shuffle(generationAlternatives);
+		Collections.shuffle(generationAlternatives, rand);
 
 		int i = 0;
 		while (i < generationAlternatives.size() && originalTest.equals(testCase)) {
@@ -376,7 +462,7 @@ public abstract class AbstractTestCaseGenerator {
 				makeTestCaseFaultyDueToInvalidRequestBody(testCase, testOperation, bodyGenerator);
 			}
 			if (originalTest.equals(testCase)) { // Valid test case and mutate it
-				String mutationDescription = TestCaseMutation.mutate(testCase, testOperation.getOpenApiOperation());
+				String mutationDescription = TestCaseMutation.mutate(testCase, testOperation.getOpenApiOperation(), rand);
 				if (!mutationDescription.equals("")) { // A mutation has been applied
 					testCase.setFaulty(true);
 					testCase.setFaultyReason(INDIVIDUAL_PARAMETER_CONSTRAINT + ":" + mutationDescription);
@@ -475,15 +561,19 @@ public abstract class AbstractTestCaseGenerator {
 				for (Map.Entry<String, String> param: conf.getAuth().getQueryParams().entrySet())
 					test.addQueryParameter(param.getKey(), param.getValue());
 
-			// File containing all API keys
+			// File containing all API keys (all of them are taken from the same row, even if several operations are generated concurrently)
 			if (conf.getAuth().getApiKeysPath()!=null)
-				for(String authProperty : authManager.getAuthPropertyNames())
-					test.addQueryParameter(authProperty, authManager.getAuthProperty(authProperty));
+				synchronized (authManager) {
+					for(String authProperty : authManager.getAuthPropertyNames())
+						test.addQueryParameter(authProperty, authManager.getAuthProperty(authProperty));
+				}
 
 			// File containing all auth headers
 			if (conf.getAuth().getHeadersPath()!=null)
-				for(String authProperty : authManager.getAuthPropertyNames())
-					test.addHeaderParameter(authProperty, authManager.getAuthProperty(authProperty));
+				synchronized (authManager) {
+					for(String authProperty : authManager.getAuthPropertyNames())
+						test.addHeaderParameter(authProperty, authManager.getAuthProperty(authProperty));
+				}
 
 			// File containing OAuth details
 			if (conf.getAuth().getOauthPath()!=null)
@@ -519,6 +609,61 @@ public abstract class AbstractTestCaseGenerator {
 		}
 	}
 
+	/*
+	 * Set the generators of an operation, reusing the ones created in previous calls. Generators are only
+	 * created again if the configuration of the parameters of the operation has changed since then. Random
+	 * generators are seeded with the random stream of the operation.
+	 */
+	private void loadGenerators(Operation operation) {
+		String operationKey = getOperationKey(operation);
+		String fingerprint = getGeneratorsFingerprint(operation);
+		OperationGenerators generators = operationGenerators.get(operationKey);
+
+		if (generators != null && generators.fingerprint.equals(fingerprint)) {
+			this.nominalGenerators = generators.nominalGenerators;
+			this.faultyGenerators = generators.faultyGenerators;
+		} else {
+			createGenerators(operation);
+			Stream.concat(nominalGenerators.values().stream(), faultyGenerators.values().stream())
+					.flatMap(List::stream)
+					.filter(g -> g instanceof RandomGenerator)
+					.forEach(g -> ((RandomGenerator) g).setSeed(rand.nextLong()));
+			operationGenerators.put(operationKey, new OperationGenerators(fingerprint, nominalGenerators, faultyGenerators));
+		}
+	}
+
+	private static String getOperationKey(Operation operation) {
+		return operation.getMethod().toUpperCase() + operation.getTestPath();
+	}
+
+	/**
+	 * Discards the test data generators created so far, so that they are created again the next time
+	 * test cases are generated for each operation. Generators are reused across calls to {@link #generate()}
+	 * and only recreated when the test configuration changes, so this must be called when their input
+	 * changes in other ways (e.g., when the CSV files of values are updated).
+	 */
+	public void resetGenerators() {
+		operationGenerators.clear();
+	}
+
+	// Summary of the generators configured for the parameters of an operation, to detect changes in the test configuration
+	private static String getGeneratorsFingerprint(Operation operation) {
+		StringBuilder fingerprint = new StringBuilder();
+		if (operation.getTestParameters() != null) {
+			for (TestParameter param: operation.getTestParameters()) {
+				fingerprint.append(param.getName()).append('|').append(param.getIn()).append('\n');
+				for (Generator g: param.getGenerators()) {
+					fingerprint.append(g.getType()).append('|').append(g.isValid()).append('\n');
+					if (g.getGenParameters() != null) {
+						for (GenParameter genParam: g.getGenParameters())
+							fingerprint.append(genParam.getName()).append('|').append(genParam.getValues()).append('|').append(genParam.getObjectValues()).append('\n');
+					}
+				}
+			}
+		}
+		return fingerprint.toString();
+	}
+
 	// Create all generators needed for the parameters of an operation.
 	public void createGenerators(Operation operation) {
 
@@ -619,9 +764,15 @@ public abstract class AbstractTestCaseGenerator {
 		return this.seed;
 	}
 
+	/**
+	 * Sets the seed of the generator. The random streams of the operations are derived from it again, and
+	 * so are the seeds of the random test data generators created from now on.
+	 * @param seed The seed
+	 */
 	public void setSeed(long seed) {
 		this.seed = seed;
 		rand.setSeed(seed);
+		operationRandoms.clear();
 	}
 
 
@@ -634,6 +785,19 @@ public abstract class AbstractTestCaseGenerator {
 		this.maxTriesPerTestCase = maxTriesPerTestCase;
 	}
 
+	public int getGenerationThreads() {
+		return generationThreads;
+	}
+
+	/**
+	 * Sets the maximum number of operations whose test cases are generated concurrently. With more than one
+	 * thread, the test cases of each operation are generated in a copy of the generator (see {@link #copy()}).
+	 * @param generationThreads Number of threads (1 for sequential generation)
+	 */
+	public void setGenerationThreads(int generationThreads) {
+		this.generationThreads = generationThreads;
+	}
+
 	public boolean isCheckTestCases() {
 		return checkTestCases;
 	}
@@ -641,4 +805,18 @@ public abstract class AbstractTestCaseGenerator {
 	public void setCheckTestCases(boolean checkTestCases) {
 		this.checkTestCases = checkTestCases;
 	}
-}
\ No newline at end of file
+
+	// Test data generators of an operation, and the configuration they were created from
+	private static class OperationGenerators {
+
+		private final String fingerprint;
+		private final Map<Pair<String, String>,List<ITestDataGenerator>> nominalGenerators;
+		private final Map<Pair<String, String>,List<ITestDataGenerator>> faultyGenerators;
+
+		OperationGenerators(String fingerprint, Map<Pair<String, String>,List<ITestDataGenerator>> nominalGenerators, Map<Pair<String, String>,List<ITestDataGenerator>> faultyGenerators) {
+			this.fingerprint = fingerprint;
+			this.nominalGenerators = nominalGenerators;
+			this.faultyGenerators = faultyGenerators;
+		}
+	}
+}
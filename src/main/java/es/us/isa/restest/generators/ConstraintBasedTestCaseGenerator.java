@@ -2,10 +2,12 @@ package es.us.isa.restest.generators;
 
 import static es.us.isa.restest.util.IDLAdapter.idl2restestTestCase;
 import static es.us.isa.restest.util.SpecificationVisitor.hasDependencies;
+import static es.us.isa.restest.util.Timer.TestStep.TEST_CASE_GENERATION;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -28,6 +30,7 @@ import es.us.isa.restest.mutation.TestCaseMutation;
 import es.us.isa.restest.specification.OpenAPISpecification;
 import es.us.isa.restest.testcases.TestCase;
 import es.us.isa.restest.util.RESTestException;
+import es.us.isa.restest.util.Timer;
 
 /**
  * This class implements a constraint-based test case generator using IDLReasoner, a CSP-based tool for the automated analysis of inter-parameter dependencies
@@ -41,7 +44,10 @@ public class ConstraintBasedTestCaseGenerator extends AbstractTestCaseGenerator
 	private Float faultyDependencyRatio = 0.5f;												// Ratio of faulty test cases due to inter-parameter deps. Defaults to 0.5
 	private Integer reloadInputDataEvery = 100;      										// Number of requests using the same randomly generated input data
 	private Integer inputDataMaxValues = 1000;       										// Number of values used for each parameter when reloading input data
+	private Integer requestPoolSize = 20;													// Number of valid (and invalid) requests pre-solved by IDLReasoner in the background (0 to solve them on demand)
 	private Analyzer idlReasoner;															// IDLReasoner to check if requests are valid or not
+	private IDLRequestPool requestPool;														// Requests of the current operation pre-solved by IDLReasoner
+	private final Map<String, IDLRequestPool> requestPools = Collections.synchronizedMap(new HashMap<>());	// Request pools of each operation (method + path), null if the operation has no dependencies
 	
 	// Indexes
 	private int maxFaultyTestDueToDependencyViolations;											// Maximum number of faulty test cases due to dependency violations to be generated
@@ -57,30 +63,42 @@ public class ConstraintBasedTestCaseGenerator extends AbstractTestCaseGenerator
 	}
 
 	/**
-	 * Set IDLReasoner for the generation of dependency-aware valid/invalid test cases
+	 * Set IDLReasoner for the generation of dependency-aware valid/invalid test cases. The IDLReasoner
+	 * analyzer of each operation (and its pool of pre-solved requests) is created the first time the
+	 * operation is tested, and reused afterwards.
 	 * @param testOperation API operation under test
 	 */
 	public void setUpIDLReasoner(Operation testOperation) {
-		idlReasoner = null;
-		if (hasDependencies(testOperation.getOpenApiOperation())) // If the operation contains dependencies, create new IDLReasoner for that operation
-		{
-			try {
-				idlReasoner = new OASAnalyzer(spec.getPath(), testOperation.getTestPath(), testOperation.getMethod());
-			} catch (IDLException e) {
-				logger.warn("There was an error processing the dependencies of the operation {} {}: {}", testOperation.getMethod(), testOperation.getTestPath(), e.getMessage());
+		String operationKey = testOperation.getMethod().toUpperCase() + testOperation.getTestPath();
+		synchronized (requestPools) { // Analyzers are created one at a time, even if several operations are generated concurrently
+			if (!requestPools.containsKey(operationKey)) {
+				IDLRequestPool operationRequestPool = null;
+				if (hasDependencies(testOperation.getOpenApiOperation())) // If the operation contains dependencies, create new IDLReasoner for that operation
+				{
+					try {
+						operationRequestPool = new IDLRequestPool(new OASAnalyzer(spec.getPath(), testOperation.getTestPath(), testOperation.getMethod()), requestPoolSize);
+					} catch (IDLException e) {
+						logger.warn("There was an error processing the dependencies of the operation {} {}: {}", testOperation.getMethod(), testOperation.getTestPath(), e.getMessage());
+					}
+				}
+				requestPools.put(operationKey, operationRequestPool);
 			}
+
+			requestPool = requestPools.get(operationKey);
 		}
+		idlReasoner = requestPool != null ? requestPool.getAnalyzer() : null;
 	}
 
 	/**
 	 * Refresh the test data used for the generation of test cases. Test data must be fed to IDLReasoner, which in turn uses it for the generation of test cases using a CSP solver.
+	 * The data is refreshed when first used and then every {@code reloadInputDataEvery} requests of the operation.
 	 * @param testOperation API operation under test
 	 */
 	public void checkIDLReasonerData(Operation testOperation) {
-		if (idlReasoner != null && nTests%reloadInputDataEvery == 0) {
+		if (requestPool != null && requestPool.needsData(reloadInputDataEvery)) {
 			Map <String, List<String>> inputData = generateInputData(testOperation.getTestParameters()); // Update input data
 			try {
-				idlReasoner.updateData(inputData);
+				requestPool.updateData(inputData);
 			} catch (IDLException e) {
 				logger.warn("There was an error updating the data of IDLReasoner: {}", e.getMessage());
 			}
@@ -107,6 +125,10 @@ public class ConstraintBasedTestCaseGenerator extends AbstractTestCaseGenerator
 			maxFaultyTestDueToDependencyViolations = (int) ((numberOfTests * faultyRatio * faultyDependencyRatio));
 		
 		maxFaultyTestsDueToIndividualConstraints = (int) (((numberOfTests * faultyRatio) - maxFaultyTestDueToDependencyViolations));
+
+		// Do not pre-solve invalid requests if no test cases violating dependencies are generated
+		if (requestPool != null)
+			requestPool.setInvalidRequestsNeeded(maxFaultyTestDueToDependencyViolations > 0);
 		
 		nFaultyTestDueToDependencyViolations = 0;
 		nFaultyTestsDueToIndividualConstraint = 0;
@@ -115,9 +137,9 @@ public class ConstraintBasedTestCaseGenerator extends AbstractTestCaseGenerator
 		while (hasNext()) {
 			checkIDLReasonerData(testOperation);
 
-			//Timer.startCounting(TEST_CASE_GENERATION);
+			long startTime = Timer.startTiming();
 			TestCase test = generateNextTestCase(testOperation);
-			//Timer.stopCounting(TEST_CASE_GENERATION);
+			Timer.stopTiming(TEST_CASE_GENERATION, startTime);
 			
 			// Set authentication data
 			authenticateTestCase(test);
@@ -198,7 +220,7 @@ public class ConstraintBasedTestCaseGenerator extends AbstractTestCaseGenerator
 		if (idlReasoner != null) {		// The operation has inter-parameter dependencies
 			test = createTestCaseTemplate(testOperation);
 			try {
-				idl2restestTestCase(test, idlReasoner.getRandomValidRequest(), testOperation); // Generate valid test case with IDLReasoner
+				idl2restestTestCase(test, requestPool.getRandomValidRequest(), testOperation); // Generate valid test case with IDLReasoner
 			} catch (IDLException e) {
 				logger.warn("There was an error generating a valid request with IDLReasoner: {}", e.getMessage());
 				throw new RESTestException(e);
@@ -223,7 +245,7 @@ public class ConstraintBasedTestCaseGenerator extends AbstractTestCaseGenerator
 		if (idlReasoner != null) {		// The operation has inter-parameter dependencies
 			test = createTestCaseTemplate(testOperation);
 			try {
-				idl2restestTestCase(test, idlReasoner.getRandomInvalidRequest(), testOperation); // Generate invalid test case with IDLReasoner
+				idl2restestTestCase(test, requestPool.getRandomInvalidRequest(), testOperation); // Generate invalid test case with IDLReasoner
 			} catch (IDLException e) {
 				logger.warn("There was an error generating an invalid request with IDLReasoner: {}", e.getMessage());
 				throw new RESTestException(e);
@@ -295,12 +317,26 @@ public class ConstraintBasedTestCaseGenerator extends AbstractTestCaseGenerator
 		this.inputDataMaxValues = inputDataMaxValues;
 	}
 
+	/**
+	 * Returns the IDLReasoner analyzer of the last operation tested. It may be in use by a background
+	 * thread pre-solving requests, so it must only be used while holding its lock.
+	 * @return The analyzer, or null if the operation has no inter-parameter dependencies
+	 */
 	public Analyzer getIdlReasoner() {
 		return idlReasoner;
 	}
 
 	public void setIdlReasoner(Analyzer idlReasoner) {
 		this.idlReasoner = idlReasoner;
+		this.requestPool = idlReasoner != null ? new IDLRequestPool(idlReasoner, requestPoolSize) : null;
+	}
+
+	public Integer getRequestPoolSize() {
+		return requestPoolSize;
+	}
+
+	public void setRequestPoolSize(Integer requestPoolSize) {
+		this.requestPoolSize = requestPoolSize;
 	}
 
 	public int getnFaultyTestDueToDependencyViolations() {
@@ -27,7 +27,7 @@ import java.util.*;
 
 import static es.us.isa.restest.inputs.fuzzing.FuzzingDictionary.getFuzzingValues;
 import static es.us.isa.restest.inputs.fuzzing.FuzzingDictionary.getNodeFromValue;
-import static es.us.isa.restest.util.SchemaManager.generateFullyResolvedSchema;
+import static es.us.isa.restest.util.SchemaManager.getFullyResolvedSchema;
 import static es.us.isa.restest.util.SchemaManager.resolveSchema;
 import static es.us.isa.restest.util.SpecificationVisitor.MEDIA_TYPE_APPLICATION_JSON_REGEX;
 
@@ -40,7 +40,7 @@ import static es.us.isa.restest.util.SpecificationVisitor.MEDIA_TYPE_APPLICATION
 
 public class FuzzingTestCaseGenerator extends AbstractTestCaseGenerator {
 
-    private final ITestDataGenerator commonFuzzingGenerator; // Random strings to be used for all parameters
+    private RandomStringGenerator commonFuzzingGenerator;    // Random strings to be used for all parameters
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     private static Logger logger = LogManager.getLogger(FuzzingTestCaseGenerator.class.getName());
@@ -57,6 +57,9 @@ public class FuzzingTestCaseGenerator extends AbstractTestCaseGenerator {
 
         resetOperation();
 
+        // Random strings of the operation only depend on its random stream
+        commonFuzzingGenerator.setSeed(rand.nextLong());
+
         // Set up generators for each parameter
         if (testOperation.getTestParameters() != null) {
             for (TestParameter testParam : testOperation.getTestParameters()) {
@@ -65,7 +68,8 @@ public class FuzzingTestCaseGenerator extends AbstractTestCaseGenerator {
                     List<String> fuzzingList = getFuzzingValues(param.getType());
                     if (param.getEnumValues() != null)
                         fuzzingList.addAll(param.getEnumValues());
-                    ITestDataGenerator generator = new RandomInputValueIterator<>(fuzzingList);
+                    RandomInputValueIterator<String> generator = new RandomInputValueIterator<>(fuzzingList);
+                    generator.setSeed(rand.nextLong());
                     nominalGenerators.replace(Pair.with(testParam.getName(), testParam.getIn()), Arrays.asList(generator, commonFuzzingGenerator));
                 }
             }
@@ -84,6 +88,13 @@ public class FuzzingTestCaseGenerator extends AbstractTestCaseGenerator {
         return testCases;
     }
 
+    @Override
+    protected AbstractTestCaseGenerator copy() {
+        FuzzingTestCaseGenerator copy = (FuzzingTestCaseGenerator) super.copy();
+        copy.commonFuzzingGenerator = new RandomStringGenerator(10, 20, true, true, true);
+        return copy;
+    }
+
     @Override
     public TestCase generateNextTestCase(Operation testOperation) {
         TestCase tc = createTestCaseTemplate(testOperation);
@@ -111,7 +122,7 @@ public class FuzzingTestCaseGenerator extends AbstractTestCaseGenerator {
 
         if (requestBody != null) {
             JsonNode node = null;
-            Schema schema = generateFullyResolvedSchema(requestBody.getSchema(), spec.getSpecification());
+            Schema schema = getFullyResolvedSchema(requestBody.getSchema(), spec.getSpecification()); // Shared by all test cases, it must not be modified
             if ("array".equals(schema.getType()))
                 node = objectMapper.createArrayNode();
             else
@@ -144,8 +155,7 @@ public class FuzzingTestCaseGenerator extends AbstractTestCaseGenerator {
             if (requiredProperties == null && rootNode.isArray() // Array has no req. properties, but generate at least one
                     || (requiredProperties != null && requiredProperties.contains(entry.getKey())) // Req. property
                     || ((requiredProperties == null || !requiredProperties.contains(entry.getKey())) && rand.nextBoolean())) { // Optional property (50% prob.)
-                JsonNode childNode = null;
-                entry.setValue(generateFullyResolvedSchema(entry.getValue(), spec.getSpecification()));
+                JsonNode childNode = null; // The schema of the entry is already fully resolved
                 if ("object".equals(entry.getValue().getType())) {
                     childNode = objectMapper.createObjectNode();
                     generateFuzzingBody(entry.getValue(), childNode, entry.getValue().getRequired());
@@ -0,0 +1,184 @@
+package es.us.isa.restest.generators;
+
+import es.us.isa.idlreasonerchoco.analyzer.Analyzer;
+import es.us.isa.idlreasonerchoco.configuration.IDLException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of valid and invalid requests of an API operation, pre-solved with IDLReasoner in the background.
+ * Every time a request is taken from the pool, a background task solves new requests until the pool is
+ * full again, so that the generation of test cases does not wait for the CSP solver. If the pool is empty
+ * (or its capacity is 0), the request is solved when it is requested. Invalid requests are only pre-solved
+ * if they are needed (see {@link #setInvalidRequestsNeeded(boolean)}).
+ * <br>
+ * The analyzer is only used while holding its lock. When its input data is updated, the requests already
+ * solved with the previous data are discarded.
+ */
+public class IDLRequestPool {
+
+	private static ExecutorService solvers;		// Shared by all the pools
+
+	private static final Logger logger = LogManager.getLogger(IDLRequestPool.class.getName());
+
+	private final Analyzer analyzer;
+	private final int capacity;
+	private final BlockingQueue<Map<String, String>> validRequests;
+	private final BlockingQueue<Map<String, String>> invalidRequests;
+	private final AtomicBoolean refilling = new AtomicBoolean(false);
+	private final AtomicInteger requestsSinceUpdate = new AtomicInteger(0);	// Number of requests taken since the last update of the input data
+	private volatile boolean invalidRequestsNeeded = true;				// If false, invalid requests are only solved on demand
+
+	// The following fields are guarded by the lock of the analyzer
+	private boolean dataLoaded = false;
+	private boolean validRequestsFailed = false;		// Whether the analyzer failed to generate valid requests with the current data
+	private boolean invalidRequestsFailed = false;		// Whether the analyzer failed to generate invalid requests with the current data
+
+	/**
+	 * @param analyzer IDLReasoner analyzer of the operation
+	 * @param capacity Maximum number of valid (and invalid) requests kept in the pool. If 0, requests are
+	 *                 never solved in the background
+	 */
+	public IDLRequestPool(Analyzer analyzer, int capacity) {
+		this.analyzer = analyzer;
+		this.capacity = capacity;
+		this.validRequests = new ArrayBlockingQueue<>(Math.max(capacity, 1));
+		this.invalidRequests = new ArrayBlockingQueue<>(Math.max(capacity, 1));
+	}
+
+	public Analyzer getAnalyzer() {
+		return analyzer;
+	}
+
+	/**
+	 * Returns true if the input data of the analyzer has never been set, or if {@code reloadDataEvery}
+	 * requests have been taken since it was last updated.
+	 * @param reloadDataEvery Number of requests using the same input data
+	 * @return true if the input data must be updated
+	 */
+	public boolean needsData(int reloadDataEvery) {
+		synchronized (analyzer) {
+			if (!dataLoaded)
+				return true;
+		}
+		return requestsSinceUpdate.get() >= reloadDataEvery;
+	}
+
+	/**
+	 * Updates the input data of the analyzer and discards the requests solved with the previous data.
+	 * @param inputData Values of each parameter
+	 * @throws IDLException if the data could not be updated
+	 */
+	public void updateData(Map<String, List<String>> inputData) throws IDLException {
+		synchronized (analyzer) {
+			validRequests.clear();
+			invalidRequests.clear();
+			requestsSinceUpdate.set(0);
+			analyzer.updateData(inputData);
+			dataLoaded = true;
+			validRequestsFailed = false;
+			invalidRequestsFailed = false;
+		}
+		scheduleRefill();
+	}
+
+	/**
+	 * Sets whether invalid requests are expected to be taken from the pool. If not, they are not solved in
+	 * the background, so that the solver is only used for valid requests (invalid requests can still be
+	 * taken, but they are solved on demand).
+	 * @param invalidRequestsNeeded false if no invalid requests will be taken (e.g., if no faulty test cases
+	 *                              due to dependency violations are generated)
+	 */
+	public void setInvalidRequestsNeeded(boolean invalidRequestsNeeded) {
+		this.invalidRequestsNeeded = invalidRequestsNeeded;
+		if (!invalidRequestsNeeded)
+			invalidRequests.clear();
+	}
+
+	public Map<String, String> getRandomValidRequest() throws IDLException {
+		return take(true);
+	}
+
+	public Map<String, String> getRandomInvalidRequest() throws IDLException {
+		return take(false);
+	}
+
+	private Map<String, String> take(boolean valid) throws IDLException {
+		requestsSinceUpdate.incrementAndGet();
+		Map<String, String> request = (valid ? validRequests : invalidRequests).poll();
+		if (request == null) {
+			synchronized (analyzer) {
+				request = solve(valid);
+			}
+		}
+		scheduleRefill();
+		return request;
+	}
+
+	private Map<String, String> solve(boolean valid) throws IDLException {
+		return valid ? analyzer.getRandomValidRequest() : analyzer.getRandomInvalidRequest();
+	}
+
+	private void scheduleRefill() {
+		if (capacity > 0 && refilling.compareAndSet(false, true))
+			getSolvers().execute(this::refill);
+	}
+
+	// Solve requests until both queues are full (or the analyzer fails to generate more requests). Invalid requests are skipped if they are not needed
+	private void refill() {
+		try {
+			boolean produced = true;
+			while (produced) {
+				produced = refill(true) | (invalidRequestsNeeded && refill(false));
+			}
+		} finally {
+			refilling.set(false);
+		}
+	}
+
+	// Solve one request of a type, if there is room for it. Returns true if the request was added to the pool
+	private boolean refill(boolean valid) {
+		BlockingQueue<Map<String, String>> requests = valid ? validRequests : invalidRequests;
+		synchronized (analyzer) {
+			if (!dataLoaded || requests.remainingCapacity() == 0 || (valid ? validRequestsFailed : invalidRequestsFailed))
+				return false;
+
+			Map<String, String> request = null;
+			try {
+				request = solve(valid);
+			} catch (IDLException e) {
+				logger.warn("There was an error pre-solving {} request with IDLReasoner: {}", valid ? "a valid" : "an invalid", e.getMessage());
+			}
+
+			if (request == null) { // Stop solving requests of this type until the data is updated (they will be solved on demand)
+				if (valid)
+					validRequestsFailed = true;
+				else
+					invalidRequestsFailed = true;
+				return false;
+			}
+
+			return requests.offer(request);
+		}
+	}
+
+	private static synchronized ExecutorService getSolvers() {
+		if (solvers == null) {
+			solvers = Executors.newFixedThreadPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1), r -> {
+				Thread thread = new Thread(r, "idl-request-pool");
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		return solvers;
+	}
+}
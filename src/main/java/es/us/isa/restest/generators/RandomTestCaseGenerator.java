@@ -1,6 +1,7 @@
 package es.us.isa.restest.generators;
 
 import static es.us.isa.restest.util.SpecificationVisitor.hasDependencies;
+import static es.us.isa.restest.util.Timer.TestStep.TEST_CASE_GENERATION;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -11,6 +12,7 @@ import es.us.isa.restest.configuration.pojos.TestConfigurationObject;
 import es.us.isa.restest.specification.OpenAPISpecification;
 import es.us.isa.restest.testcases.TestCase;
 import es.us.isa.restest.util.RESTestException;
+import es.us.isa.restest.util.Timer;
 
 /**
  *  This class implements a simple random test case generator
@@ -38,10 +40,10 @@ public class RandomTestCaseGenerator extends AbstractTestCaseGenerator {
 		while (hasNext()) {
 
 			// Create test case with specific parameters and values
-			//Timer.startCounting(TEST_CASE_GENERATION);
+			long startTime = Timer.startTiming();
 			TestCase test = generateNextTestCase(testOperation);
 			test.setFulfillsDependencies(fulfillsDependencies);
-			//Timer.stopCounting(TEST_CASE_GENERATION);
+			Timer.stopTiming(TEST_CASE_GENERATION, startTime);
 
 			// Set authentication data (if any)
 			authenticateTestCase(test);
@@ -158,7 +158,7 @@ public class TestDataGeneratorFactory {
 				gen.setValues(param.getValues());
 				break;
 			case "csv":
-				gen.setValues(CSVManager.readValues(param.getValues().get(0)));
+				gen.setValues(CSVManager.mapValues(param.getValues().get(0)));
 				break;
 			case "minValues":
 				gen.setMinValues(Integer.parseInt(param.getValues().get(0)));
@@ -0,0 +1,258 @@
+package es.us.isa.restest.inputs.random;
+
+import dk.brics.automaton.Automaton;
+import dk.brics.automaton.RegExp;
+import dk.brics.automaton.State;
+import dk.brics.automaton.Transition;
+import es.us.isa.restest.util.PropertyManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Automaton of a regular expression, compiled to arrays to generate random strings that match it
+ * (see {@link RandomRegExpGenerator}). Regular expressions are parsed as Generex does: quoted
+ * sequences (\Q...\E) and predefined character classes (\d, \s, \w and their negations) are
+ * supported.
+ * <br>
+ * Compiled automata are immutable, so they are shared by all generators: they are cached JVM-wide
+ * by regular expression, up to the number of entries set in the global property regexp.cache.size
+ * (the least recently used ones are evicted first).
+ */
+public class CompiledRegExp {
+
+	private static final double STOP_PROBABILITY = 0.35;	// Probability of ending the string when an accept state is reached (same as Generex)
+	private static final int DEFAULT_CACHE_SIZE = 256;
+	private static final int UNREACHABLE = Integer.MAX_VALUE;
+
+	private static final Map<String, String> PREDEFINED_CHARACTER_CLASSES = new LinkedHashMap<>();
+	private static final Pattern QUOTED_PATTERN = Pattern.compile("\\\\Q(.*?)\\\\E");
+	private static final Pattern SPECIAL_CHARACTERS_PATTERN = Pattern.compile("[.^$*+?(){|\\[\\\\@]");
+
+	private static Map<String, CompiledRegExp> cache;
+
+	static {
+		PREDEFINED_CHARACTER_CLASSES.put("\\\\d", "[0-9]");
+		PREDEFINED_CHARACTER_CLASSES.put("\\\\D", "[^0-9]");
+		PREDEFINED_CHARACTER_CLASSES.put("\\\\s", "[ \t\n\f\r]");
+		PREDEFINED_CHARACTER_CLASSES.put("\\\\S", "[^ \t\n\f\r]");
+		PREDEFINED_CHARACTER_CLASSES.put("\\\\w", "[a-zA-Z_0-9]");
+		PREDEFINED_CHARACTER_CLASSES.put("\\\\W", "[^a-zA-Z_0-9]");
+	}
+
+	// States are numbered from 0 (initial state). The transitions of state s are those from firstTransition[s] to firstTransition[s+1]-1
+	private final boolean[] accept;
+	private final int[] firstTransition;
+	private final char[] transitionMin;
+	private final char[] transitionMax;
+	private final int[] transitionDest;
+	private final int[] minToAccept;												// State -> length of the shortest string to an accept state
+	private final Map<Integer, int[]> maxToAccept = new ConcurrentHashMap<>();		// Minimum length -> state -> length of the longest string to an accept state, capped at the minimum length
+
+	CompiledRegExp(Automaton automaton) {
+		// Number the states in breadth-first order, so that the arrays do not depend on the order of the sets of the automaton
+		List<State> states = new ArrayList<>();
+		Map<State, Integer> stateNumbers = new HashMap<>();
+		List<List<Transition>> stateTransitions = new ArrayList<>();
+		states.add(automaton.getInitialState());
+		stateNumbers.put(automaton.getInitialState(), 0);
+		int nTransitions = 0;
+		for (int s = 0; s < states.size(); s++) {
+			List<Transition> transitions = states.get(s).getSortedTransitions(false);
+			stateTransitions.add(transitions);
+			nTransitions += transitions.size();
+			for (Transition transition: transitions) {
+				if (!stateNumbers.containsKey(transition.getDest())) {
+					stateNumbers.put(transition.getDest(), states.size());
+					states.add(transition.getDest());
+				}
+			}
+		}
+
+		int nStates = states.size();
+		accept = new boolean[nStates];
+		firstTransition = new int[nStates + 1];
+		transitionMin = new char[nTransitions];
+		transitionMax = new char[nTransitions];
+		transitionDest = new int[nTransitions];
+		int t = 0;
+		for (int s = 0; s < nStates; s++) {
+			accept[s] = states.get(s).isAccept();
+			firstTransition[s] = t;
+			for (Transition transition: stateTransitions.get(s)) {
+				transitionMin[t] = transition.getMin();
+				transitionMax[t] = transition.getMax();
+				transitionDest[t] = stateNumbers.get(transition.getDest());
+				t++;
+			}
+		}
+		firstTransition[nStates] = t;
+		minToAccept = computeMinToAccept();
+	}
+
+	/**
+	 * Returns the compiled automaton of a regular expression, compiling it if it is not cached.
+	 * @param regExp Regular expression
+	 * @return The compiled automaton
+	 */
+	public static CompiledRegExp compile(String regExp) {
+		Map<String, CompiledRegExp> compiledRegExps = getCache();
+		CompiledRegExp compiled = compiledRegExps.get(regExp);
+		if (compiled == null) {	// Compiled outside the lock, since it may take long. Concurrent compilations of the same regexp are discarded
+			compiled = new CompiledRegExp(new RegExp(preprocess(regExp)).toAutomaton());
+			CompiledRegExp previous = compiledRegExps.putIfAbsent(regExp, compiled);
+			if (previous != null)
+				compiled = previous;
+		}
+		return compiled;
+	}
+
+	/**
+	 * Generates a random string that matches the regular expression. Characters are added by
+	 * following random transitions of the automaton, among those after which an accept state can
+	 * be reached within the maximum length (and, if possible, not before the minimum length).
+	 * @param random Random number generator
+	 * @param minLength Minimum length of the string
+	 * @param maxLength Maximum length of the string
+	 * @return The string. If the regular expression has no strings within the length bounds, the
+	 * string returned may not match it
+	 */
+	public String random(Random random, int minLength, int maxLength) {
+		int[] maxToAcceptMinLength = minLength > 1 ? getMaxToAccept(minLength) : null;
+		StringBuilder value = new StringBuilder();
+		int state = 0;
+		int length = 0;
+
+		while (true) {
+			if (accept[state] && length >= minLength && (length >= maxLength || random.nextDouble() < STOP_PROBABILITY))
+				break;
+
+			int[] lengthConstraint = maxToAcceptMinLength;
+			int candidates = countCandidates(state, length, minLength, maxLength, lengthConstraint);
+			if (candidates == 0 && lengthConstraint != null) {	// The minimum length cannot be reached
+				lengthConstraint = null;
+				candidates = countCandidates(state, length, minLength, maxLength, null);
+			}
+			if (candidates == 0)
+				break;
+
+			int t = pickCandidate(state, length, minLength, maxLength, lengthConstraint, random.nextInt(candidates));
+			value.append((char) (transitionMin[t] + random.nextInt(transitionMax[t] - transitionMin[t] + 1)));
+			state = transitionDest[t];
+			length++;
+		}
+
+		return value.toString();
+	}
+
+	private int countCandidates(int state, int length, int minLength, int maxLength, int[] maxToAcceptMinLength) {
+		int candidates = 0;
+		for (int t = firstTransition[state]; t < firstTransition[state + 1]; t++)
+			if (isCandidate(t, length, minLength, maxLength, maxToAcceptMinLength))
+				candidates++;
+		return candidates;
+	}
+
+	private int pickCandidate(int state, int length, int minLength, int maxLength, int[] maxToAcceptMinLength, int candidate) {
+		int t = firstTransition[state];
+		for (int remaining = candidate; ; t++)
+			if (isCandidate(t, length, minLength, maxLength, maxToAcceptMinLength) && remaining-- == 0)
+				return t;
+	}
+
+	private boolean isCandidate(int t, int length, int minLength, int maxLength, int[] maxToAcceptMinLength) {
+		int dest = transitionDest[t];
+		if (minToAccept[dest] == UNREACHABLE || (long) length + 1 + minToAccept[dest] > maxLength)
+			return false;
+		return maxToAcceptMinLength == null || length + 1 + maxToAcceptMinLength[dest] >= minLength;
+	}
+
+	// Breadth-first search from the accept states, following transitions backwards
+	private int[] computeMinToAccept() {
+		int nStates = accept.length;
+		List<List<Integer>> predecessors = new ArrayList<>(nStates);
+		for (int s = 0; s < nStates; s++)
+			predecessors.add(new ArrayList<>());
+		for (int s = 0; s < nStates; s++)
+			for (int t = firstTransition[s]; t < firstTransition[s + 1]; t++)
+				predecessors.get(transitionDest[t]).add(s);
+
+		int[] distances = new int[nStates];
+		Arrays.fill(distances, UNREACHABLE);
+		Deque<Integer> queue = new ArrayDeque<>();
+		for (int s = 0; s < nStates; s++) {
+			if (accept[s]) {
+				distances[s] = 0;
+				queue.add(s);
+			}
+		}
+		while (!queue.isEmpty()) {
+			int s = queue.poll();
+			for (int predecessor: predecessors.get(s)) {
+				if (distances[predecessor] == UNREACHABLE) {
+					distances[predecessor] = distances[s] + 1;
+					queue.add(predecessor);
+				}
+			}
+		}
+		return distances;
+	}
+
+	// Longest strings to an accept state, capped at the minimum length (-1 if no accept state can be reached). Computed once per minimum length
+	private int[] getMaxToAccept(int minLength) {
+		return maxToAccept.computeIfAbsent(minLength, cap -> {
+			int nStates = accept.length;
+			int[] distances = new int[nStates];
+			for (int s = 0; s < nStates; s++)
+				distances[s] = accept[s] ? 0 : -1;
+
+			boolean changed = true;
+			while (changed) {
+				changed = false;
+				for (int s = 0; s < nStates; s++) {
+					for (int t = firstTransition[s]; t < firstTransition[s + 1]; t++) {
+						int dest = transitionDest[t];
+						if (distances[dest] >= 0 && Math.min(cap, distances[dest] + 1) > distances[s]) {
+							distances[s] = Math.min(cap, distances[dest] + 1);
+							changed = true;
+						}
+					}
+				}
+			}
+			return distances;
+		});
+	}
+
+	// Same preprocessing as Generex: escape quoted sequences and replace predefined character classes
+	static String preprocess(String regExp) {
+		StringBuilder requoted = new StringBuilder(regExp);
+		Matcher matcher = QUOTED_PATTERN.matcher(requoted);
+		int from = 0;
+		while (matcher.reset(requoted).find(from)) {	// Search after the last replacement, which may contain "\Q"
+			String quoted = SPECIAL_CHARACTERS_PATTERN.matcher(matcher.group(1)).replaceAll("\\\\$0");
+			requoted.replace(matcher.start(), matcher.end(), quoted);
+			from = matcher.start() + quoted.length();
+		}
+
+		String result = requoted.toString();
+		for (Map.Entry<String, String> characterClass: PREDEFINED_CHARACTER_CLASSES.entrySet())
+			result = result.replaceAll(characterClass.getKey(), characterClass.getValue());
+		return result;
+	}
+
+	private static synchronized Map<String, CompiledRegExp> getCache() {
+		if (cache == null) {
+			String cacheSize = PropertyManager.readProperty("regexp.cache.size");
+			int maxEntries = cacheSize != null ? Integer.parseInt(cacheSize) : DEFAULT_CACHE_SIZE;
+			cache = Collections.synchronizedMap(new LinkedHashMap<String, CompiledRegExp>(16, 0.75f, true) {
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<String, CompiledRegExp> eldest) {
+					return size() > maxEntries;
+				}
+			});
+		}
+		return cache;
+	}
+}
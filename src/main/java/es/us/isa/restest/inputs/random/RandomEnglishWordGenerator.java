@@ -1,20 +1,19 @@
 package es.us.isa.restest.inputs.random;
 
-import net.sf.extjwnl.JWNLException;
-import net.sf.extjwnl.data.IndexWord;
 import net.sf.extjwnl.data.POS;
-import net.sf.extjwnl.dictionary.Dictionary;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 /**
+ * Random generator of English words, taken from the lemmas of the WordNet dictionary. The dictionary
+ * is loaded once and shared by all instances (see {@link WordNetLemmas}).
+ *
  * @author Sergio Segura
  *
  */
 public class RandomEnglishWordGenerator extends RandomGenerator {
 
 	private final String[] LINKING_WORDS = {"the","a","and","so","for","of","hence","thus","if"};
-	private Dictionary dictionary;
 	private int minWords=1;
 	private int maxWords=3;
 	private boolean generateCompounds=true;
@@ -25,14 +24,6 @@ public class RandomEnglishWordGenerator extends RandomGenerator {
 	
     public RandomEnglishWordGenerator() {
     	super();
-    	
-    	try {
-			this.dictionary = Dictionary.getDefaultResourceInstance();
-			
-		} catch (JWNLException e) {
-    		logger.error("Error instantiating JWNL ditionary");
-			logger.error("Exception: ", e);
-		}
     }
     
     public RandomEnglishWordGenerator(int minWords, int maxWords) {
@@ -50,35 +41,31 @@ public class RandomEnglishWordGenerator extends RandomGenerator {
 		int nWords=calculateNumberOfWords();
 
 		// Generate words
-		try {
-			int i=0;
-			while (i<nWords) {
-				
-				// Select word category (ex. verb, adjective or random)
-	            if(getCategory()==null)
-	            	category = POS.getAllPOS().get(rand.nextInt(0,POS.getAllPOS().size()-1));
-	            
-	            // Generate word
-	            IndexWord dictionaryEntry=dictionary.getRandomIndexWord(category);
-	            if (!generateCompounds)
-	            	while (numberOfWords(dictionaryEntry.getLemma()) > 1)
-	            		dictionaryEntry = dictionary.getRandomIndexWord(category);
-	            
-	            
-	           //System.out.println("Number of words: " + nWords + " - Generated word: " + generatedString.toString() + " (" + numberOfWords(generatedString.toString()) + ") - Current random word: " + dictionaryEntry.getLemma() + " (" + numberOfWords(dictionaryEntry.getLemma()) + ")");
-	            
-	            if ((numberOfWords(generatedString.toString()) + numberOfWords(dictionaryEntry.getLemma())) <= nWords) // Check it does not exceed the maximum number of words
-	            	if (!excludeWords(dictionaryEntry.getLemma())){		// Check the word is not in the list of excluded words
-	            		generatedString.append(dictionaryEntry.getLemma());
-		            	i+=numberOfWords(dictionaryEntry.getLemma());
-		            	if (i<nWords)
-		            		generatedString.append(" ");
-	            	}
-	         }
-        } catch (JWNLException ex) {
-			logger.error("Error generating random words");
-			logger.error("Exception: ", ex);
-        }
+		WordNetLemmas lemmas = WordNetLemmas.getInstance();
+		int i=0;
+		while (i<nWords) {
+
+			// Select word category (ex. verb, adjective or random)
+			POS wordCategory = getCategory();
+			if(wordCategory==null)
+				wordCategory = POS.getAllPOS().get(rand.nextInt(0,POS.getAllPOS().size()-1));
+
+			// Generate word
+			String[] categoryLemmas = lemmas.getLemmas(wordCategory, generateCompounds);
+			if (categoryLemmas.length == 0) {
+				logger.error("Error generating random words: there are no words of category {}", wordCategory);
+				break;
+			}
+			String lemma = categoryLemmas[rand.nextInt(0, categoryLemmas.length-1)];
+
+			if ((i + numberOfWords(lemma)) <= nWords) // Check it does not exceed the maximum number of words
+				if (!excludeWords(lemma)){		// Check the word is not in the list of excluded words
+					generatedString.append(lemma);
+					i+=numberOfWords(lemma);
+					if (i<nWords)
+						generatedString.append(" ");
+				}
+		}
         return generatedString.toString().trim();
 	}
 	
@@ -1,11 +1,15 @@
 package es.us.isa.restest.inputs.random;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.stream.Collectors;
 
-/** Random iterator for a list of input values of type &lt;T&gt;
+/** Random iterator for a list of input values of type &lt;T&gt;. When several values are
+ * returned, they are sampled without replacement in time proportional to the number of values
+ * returned, so the list of values may be arbitrarily large.
  * 
  * @author Sergio Segura
  */
@@ -29,6 +33,12 @@ public class RandomInputValueIterator<T> extends RandomGenerator{
     	this.values = values;
     }
 
+	@Override
+	public void setSeed(long seed) {
+		super.setSeed(seed);
+		random.setSeed(seed);
+	}
+
 	public Object nextValue() {
 		Object value=null;
 		
@@ -37,14 +47,17 @@ public class RandomInputValueIterator<T> extends RandomGenerator{
 				value = values.get(rand.nextInt(0, values.size()-1));
 			} else {
 				value = new ArrayList<>();
-				List<T> localValues = new ArrayList<>(values);
 				double d = random.nextDouble();
 				int numValues = 0;
+				// Partial Fisher-Yates shuffle: the i-th value is picked among positions i..n-1, and the value at position i
+				// is moved to the position picked. Only moved positions are stored, so the list is never copied
+				Map<Integer, Integer> movedPositions = new HashMap<>();
 				//while(minValues == null && d<1/2  (minValues == null || minValues > numValues) || ((maxValues == null || maxValues > numValues) && d<1/2)) {
-				while(minValues > numValues || (maxValues > numValues && d < 0.5)) {
-					Object valueToAdd = localValues.get(rand.nextInt(0, localValues.size()-1));
-					localValues.remove(valueToAdd);
-					((List)value).add(valueToAdd);
+				while((minValues > numValues || (maxValues > numValues && d < 0.5)) && numValues < values.size()) {
+					int position = rand.nextInt(numValues, values.size()-1);
+					Integer pickedPosition = movedPositions.getOrDefault(position, position);
+					movedPositions.put(position, movedPositions.getOrDefault(numValues, numValues));
+					((List)value).add(values.get(pickedPosition));
 					numValues++;
 					d = random.nextDouble();
 				}
@@ -63,7 +76,7 @@ public class RandomInputValueIterator<T> extends RandomGenerator{
 													.map(x -> x.toString())
 													.collect(Collectors.joining(separator));
 		} else
-			nextValueAsString = nextValue().toString();
+			nextValueAsString = nextValue.toString();
 		return nextValueAsString;
 	}
 	
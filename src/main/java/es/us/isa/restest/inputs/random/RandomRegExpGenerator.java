@@ -1,35 +1,39 @@
 package es.us.isa.restest.inputs.random;
 
-import com.mifmif.common.regex.Generex;
+import java.util.Random;
 
 /**
+ * Random generator of strings that match a regular expression. The automaton of the regular
+ * expression is compiled once and shared by all generators (see {@link CompiledRegExp}).
+ *
  * @author Sergio Segura
  *
  */
 public class RandomRegExpGenerator extends RandomGenerator {
 
-	private Generex generex;
+	private CompiledRegExp compiledRegExp;
+	private Random random = new Random();
 	private int minLength=-1;
 	private int maxLength=-1;
 	
     public RandomRegExpGenerator(String regExp) {
     	super();
     	
-    	generex = new Generex(regExp);
+    	compiledRegExp = CompiledRegExp.compile(regExp);
     	
     	// Generate and save seed
-    	generex.setSeed(this.seed);
+    	random.setSeed(this.seed);
     }
    
 	@Override
 	public String nextValue() {
 		String value=null;
 		if (minLength!=-1 && maxLength!=-1)
-			value = generex.random(minLength,maxLength);
+			value = compiledRegExp.random(random, minLength, maxLength);
 		else if (minLength!=-1)
-			value = generex.random(minLength);
+			value = compiledRegExp.random(random, minLength, Integer.MAX_VALUE);
 		else
-			value = generex.random();
+			value = compiledRegExp.random(random, 1, Integer.MAX_VALUE);
 		
 		return value;
 	}
@@ -55,7 +59,9 @@ public class RandomRegExpGenerator extends RandomGenerator {
 		this.maxLength = maxLength;
 	}
 
+	@Override
 	public void setSeed(long seed) {
-    	generex.setSeed(seed);
+		super.setSeed(seed);
+		random.setSeed(seed);
 	}
 }
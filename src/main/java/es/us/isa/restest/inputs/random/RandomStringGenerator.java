@@ -2,8 +2,11 @@ package es.us.isa.restest.inputs.random;
 
 import org.apache.commons.lang3.RandomStringUtils;
 
+import java.util.Random;
+
 public class RandomStringGenerator extends RandomGenerator {
 
+    private Random random = new Random();     // Characters are drawn from it, so that strings only depend on the seed
     private int minLength;
     private int maxLength;
     private boolean includeAlphabetic;
@@ -11,6 +14,7 @@ public class RandomStringGenerator extends RandomGenerator {
     private boolean includeSpecialCharacters;
 
     public RandomStringGenerator() {
+        random.setSeed(this.seed);
         minLength = 0;
         maxLength = 10;
         includeAlphabetic = true;
@@ -19,6 +23,7 @@ public class RandomStringGenerator extends RandomGenerator {
     }
 
     public RandomStringGenerator(int minLength, int maxLength, boolean includeAlphabetic, boolean includeNumbers, boolean includeSpecialCharacters) {
+        random.setSeed(this.seed);
         this.minLength = minLength;
         this.maxLength = maxLength;
         this.includeAlphabetic = includeAlphabetic;
@@ -26,6 +31,12 @@ public class RandomStringGenerator extends RandomGenerator {
         this.includeSpecialCharacters = includeSpecialCharacters;
     }
 
+    @Override
+    public void setSeed(long seed) {
+        super.setSeed(seed);
+        random.setSeed(seed);
+    }
+
     public int getMinLength() {
         return minLength;
     }
@@ -76,16 +87,16 @@ public class RandomStringGenerator extends RandomGenerator {
 
         switch(stringConf) {
             case 7:
-                generatedString = RandomStringUtils.randomAscii(stringLength);
+                generatedString = randomAscii(stringLength);
                 break;
             case 6:
-                generatedString = RandomStringUtils.randomAlphanumeric(stringLength);
+                generatedString = RandomStringUtils.random(stringLength, 0, 0, true, true, null, random);
                 break;
             case 4:
-                generatedString = RandomStringUtils.randomAlphabetic(stringLength);
+                generatedString = RandomStringUtils.random(stringLength, 0, 0, true, false, null, random);
                 break;
             case 2:
-                generatedString = RandomStringUtils.randomNumeric(stringLength);
+                generatedString = RandomStringUtils.random(stringLength, 0, 0, false, true, null, random);
                 break;
             case 0:
                 generatedString = "";
@@ -93,7 +104,7 @@ public class RandomStringGenerator extends RandomGenerator {
             case 5:
             case 3:
             case 1:
-                generatedString = completeString(RandomStringUtils.randomAscii(stringLength), stringConf);
+                generatedString = completeString(randomAscii(stringLength), stringConf);
                 break;
             default:
                 // TODO: Is the following exception being properly used?
@@ -113,7 +124,7 @@ public class RandomStringGenerator extends RandomGenerator {
 
         do {
             // Generate maximum-length ASCII string and then remove characters not permitted
-            finalString += RandomStringUtils.randomAscii(maxLength - finalString.length());
+            finalString += randomAscii(maxLength - finalString.length());
             switch (stringConf) {
                 case 5:
                     finalString = finalString.replaceAll("[0-9]", "");
@@ -131,4 +142,9 @@ public class RandomStringGenerator extends RandomGenerator {
 
         return finalString;
     }
+
+    // Same characters as RandomStringUtils.randomAscii (32 to 126)
+    private String randomAscii(int count) {
+        return RandomStringUtils.random(count, 32, 127, false, false, null, random);
+    }
 }
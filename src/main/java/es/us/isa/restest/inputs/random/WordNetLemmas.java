@@ -0,0 +1,150 @@
+package es.us.isa.restest.inputs.random;
+
+import es.us.isa.restest.util.PropertyManager;
+import net.sf.extjwnl.JWNLException;
+import net.sf.extjwnl.data.IndexWord;
+import net.sf.extjwnl.data.POS;
+import net.sf.extjwnl.dictionary.Dictionary;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+/**
+ * Lemmas of the WordNet dictionary per part of speech (POS), shared by all the instances of
+ * {@link RandomEnglishWordGenerator}. The dictionary is loaded only once per JVM, the first time
+ * the lemmas are requested, and its lemmas are kept in arrays, so that a random word is picked
+ * with a single index lookup.
+ * <br>
+ * If the global property wordnet.lemmas.cache is set, the lemmas are saved to that file in binary
+ * format, and later JVMs read them from it instead of loading the dictionary. Delete the file to
+ * load the dictionary again.
+ */
+public class WordNetLemmas {
+
+	private static final int CACHE_MAGIC = 0x574e4c4d;	// "WNLM"
+	private static final int CACHE_VERSION = 1;
+
+	private static volatile WordNetLemmas instance;
+
+	private final Map<POS, String[]> lemmas = new HashMap<>();				// POS -> all lemmas, in dictionary order
+	private final Map<POS, String[]> singleWordLemmas = new HashMap<>();	// POS -> lemmas that are not compounds
+
+	private static final Logger logger = LogManager.getLogger(WordNetLemmas.class.getName());
+
+	WordNetLemmas(Map<POS, String[]> lemmas) {
+		for (Map.Entry<POS, String[]> entry: lemmas.entrySet()) {
+			this.lemmas.put(entry.getKey(), entry.getValue());
+			this.singleWordLemmas.put(entry.getKey(), Arrays.stream(entry.getValue())
+					.filter(lemma -> lemma.trim().split("\\s+").length == 1)
+					.toArray(String[]::new));
+		}
+	}
+
+	/**
+	 * Returns the lemmas of the dictionary, reading them from the cache file or loading the
+	 * dictionary if this is the first time they are used.
+	 * @return The lemmas of the dictionary
+	 */
+	public static WordNetLemmas getInstance() {
+		if (instance == null) {
+			synchronized (WordNetLemmas.class) {
+				if (instance == null)
+					instance = load(PropertyManager.readProperty("wordnet.lemmas.cache"));
+			}
+		}
+		return instance;
+	}
+
+	/**
+	 * Returns the lemmas of a part of speech. The array returned must not be modified.
+	 * @param pos Part of speech
+	 * @param compounds If false, only lemmas of one word are returned
+	 * @return The lemmas, or an empty array if the dictionary could not be loaded
+	 */
+	public String[] getLemmas(POS pos, boolean compounds) {
+		String[] posLemmas = compounds ? lemmas.get(pos) : singleWordLemmas.get(pos);
+		return posLemmas != null ? posLemmas : new String[0];
+	}
+
+	private static WordNetLemmas load(String cachePath) {
+		File cacheFile = cachePath != null && !cachePath.isEmpty() ? new File(cachePath) : null;
+
+		if (cacheFile != null && cacheFile.isFile()) {
+			Map<POS, String[]> cachedLemmas = readCache(cacheFile);
+			if (cachedLemmas != null)
+				return new WordNetLemmas(cachedLemmas);
+		}
+
+		Map<POS, String[]> dictionaryLemmas = new HashMap<>();
+		try {
+			Dictionary dictionary = Dictionary.getDefaultResourceInstance();
+			for (POS pos: POS.getAllPOS()) {
+				List<String> posLemmas = new ArrayList<>();
+				for (Iterator<IndexWord> it = dictionary.getIndexWordIterator(pos); it.hasNext(); )
+					posLemmas.add(it.next().getLemma());
+				dictionaryLemmas.put(pos, posLemmas.toArray(new String[0]));
+			}
+		} catch (JWNLException e) {
+			logger.error("Error instantiating JWNL dictionary");
+			logger.error("Exception: ", e);
+			return new WordNetLemmas(Collections.emptyMap());
+		}
+
+		if (cacheFile != null)
+			writeCache(cacheFile, dictionaryLemmas);
+		return new WordNetLemmas(dictionaryLemmas);
+	}
+
+	// Lemmas of all POS saved in the cache file, or null if it cannot be read or it has another format
+	static Map<POS, String[]> readCache(File cacheFile) {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(cacheFile)))) {
+			if (in.readInt() != CACHE_MAGIC || in.readInt() != CACHE_VERSION)
+				return null;
+
+			Map<POS, String[]> cachedLemmas = new HashMap<>();
+			for (POS pos: POS.getAllPOS()) {
+				if (!pos.getKey().equals(in.readUTF()))
+					return null;
+				String[] posLemmas = new String[in.readInt()];
+				for (int i = 0; i < posLemmas.length; i++)
+					posLemmas[i] = in.readUTF();
+				cachedLemmas.put(pos, posLemmas);
+			}
+			return cachedLemmas;
+		} catch (IOException e) {
+			logger.warn("The WordNet lemmas could not be read from {}: {}", cacheFile, e.getMessage());
+			return null;
+		}
+	}
+
+	// Write to a temporary file first, so that other processes never read a half-written cache
+	static void writeCache(File cacheFile, Map<POS, String[]> lemmas) {
+		Path tmpPath = null;
+		try {
+			File cacheDir = cacheFile.getAbsoluteFile().getParentFile();
+			cacheDir.mkdirs();
+			tmpPath = Files.createTempFile(cacheDir.toPath(), cacheFile.getName(), ".tmp");
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmpPath)))) {
+				out.writeInt(CACHE_MAGIC);
+				out.writeInt(CACHE_VERSION);
+				for (POS pos: POS.getAllPOS()) {
+					String[] posLemmas = lemmas.getOrDefault(pos, new String[0]);
+					out.writeUTF(pos.getKey());
+					out.writeInt(posLemmas.length);
+					for (String lemma: posLemmas)
+						out.writeUTF(lemma);
+				}
+			}
+			Files.move(tmpPath, cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			logger.warn("The WordNet lemmas could not be saved to {}: {}", cacheFile, e.getMessage());
+			if (tmpPath != null)
+				tmpPath.toFile().delete();
+		}
+	}
+}
@@ -35,35 +35,27 @@ public class NLPUtils {
     private static String annotatorName = "annotators";
     private static String annotatorValue = "tokenize,ssplit,pos,lemma";
 
+    private static final int MAX_TAGGED_DESCRIPTIONS = 1000;
+
+    // The pipeline (and its models) is loaded once and shared by all threads. Annotating is thread-safe
+    private static volatile StanfordCoreNLP pipeline;
+    private static volatile Set<String> stopWords;
+
+    // Lemmas of the names and adjectives of the descriptions tagged so far (lowercase description -> lemmas), least recently used first
+    private static final Map<String, List<String>> taggedDescriptions = Collections.synchronizedMap(
+            new LinkedHashMap<String, List<String>>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, List<String>> eldest) {
+                    return size() > MAX_TAGGED_DESCRIPTIONS;
+                }
+            });
+
     // With Comparator
     public static List<String> posTagging(String description, String name){
-        String res = description.toLowerCase().trim();
-        Properties props = new Properties();
-
-        props.setProperty(annotatorName, annotatorValue);
-
-        //Build pipeline
-        StanfordCoreNLP pipeline = new StanfordCoreNLP(props);
-
-        CoreDocument document = pipeline.processToCoreDocument(res);
-
-        pipeline.annotate(document);
-
-        List<String> stopWords = getStopWords();
-
         LevenshteinDistance leven = new LevenshteinDistance();
 
-        //        FW	Foreign word
-        //        NN	Noun, singular or mass
-        //        NNS	Noun, plural
-        //        NNP	Proper noun, singular
-        //        NNPS	Proper noun, plural
-        // Return the list of names
-        return document.tokens().stream()
-                .filter(x -> (x.tag().equals("FW") || x.tag().equals("NN") ||
-                        x.tag().equals("NNS") || x.tag().equals("NNP") || x.tag().equals("NNPS") || x.tag().equals("JJ"))
-                        &&  (!stopWords.contains(x.lemma())))
-                .map(x -> x.lemma())
+        // Return the list of names, sorted by their similarity to the parameter name
+        return getNamesAndAdjectives(description).stream()
                 .filter(x -> x.charAt(0) == name.charAt(0))
                 .sorted(Comparator.comparing(x->leven.apply(name, x)))
                 .collect(Collectors.toList());
@@ -72,45 +64,64 @@ public class NLPUtils {
 
     // Without Comparator
     public static List<String> posTagging(String description){
-        String res = description.toLowerCase().trim();
-        Properties props = new Properties();
-
-        props.setProperty(annotatorName, annotatorValue);
+        // Return names
+        return new ArrayList<>(getNamesAndAdjectives(description));
+    }
 
-        //Build pipeline
-        StanfordCoreNLP pipeline = new StanfordCoreNLP(props);
+    // Lemmas of the names and adjectives of a description, excluding stopwords. Descriptions are only tagged once
+    private static List<String> getNamesAndAdjectives(String description) {
+        String res = description.toLowerCase().trim();
 
-        CoreDocument document = pipeline.processToCoreDocument(res);
+        List<String> lemmas = taggedDescriptions.get(res);
+        if (lemmas != null)
+            return lemmas;
 
-        pipeline.annotate(document);
+        CoreDocument document = getPipeline().processToCoreDocument(res);
 
-        List<String> stopWords = getStopWords();
+        Set<String> stopWords = getStopWords();
 
         //        FW	Foreign word
         //        NN	Noun, singular or mass
         //        NNS	Noun, plural
         //        NNP	Proper noun, singular
         //        NNPS	Proper noun, plural
-        // Return names
-        return document.tokens().stream()
+        //        JJ	Adjective
+        lemmas = Collections.unmodifiableList(document.tokens().stream()
                 .filter(x -> (x.tag().equals("FW") || x.tag().equals("NN") ||
                         x.tag().equals("NNS") || x.tag().equals("NNP") || x.tag().equals("NNPS") || x.tag().equals("JJ"))
                         &&  (!stopWords.contains(x.lemma())))
                 .map(x -> x.lemma())
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
 
+        taggedDescriptions.put(res, lemmas);
+        return lemmas;
     }
 
+    private static StanfordCoreNLP getPipeline() {
+        if (pipeline == null) {
+            synchronized (NLPUtils.class) {
+                if (pipeline == null)
+                    pipeline = new StanfordCoreNLP(PropertiesUtils.asProperties(annotatorName, annotatorValue));
+            }
+        }
+        return pipeline;
+    }
 
-
-    private static List<String> getStopWords(){
-        List<String> lines = Collections.emptyList();
-        try{
-            lines = Files.readAllLines(Paths.get(stopwordsPath), StandardCharsets.UTF_8);
-        }catch (IOException e){
-            log.error(e.getMessage());
+    private static Set<String> getStopWords(){
+        if (stopWords == null) {
+            synchronized (NLPUtils.class) {
+                if (stopWords == null) {
+                    List<String> lines = Collections.emptyList();
+                    try{
+                        lines = Files.readAllLines(Paths.get(stopwordsPath), StandardCharsets.UTF_8);
+                    }catch (IOException e){
+                        log.error(e.getMessage());
+                    }
+                    stopWords = new HashSet<>(lines);
+                }
+            }
         }
-        return lines;
+        return stopWords;
     }
 
 
@@ -127,13 +138,11 @@ public class NLPUtils {
         CoreMapExpressionExtractor<MatchedExpression> extractor = CoreMapExpressionExtractor
                 .createExtractorFromFiles(env, rules);
 
-        StanfordCoreNLP pipeline = new StanfordCoreNLP(PropertiesUtils.asProperties(annotatorName, annotatorValue));
-
         description = String.join(" ", posTagging(description));
 
         Annotation annotation = new Annotation(description);
 
-        pipeline.annotate(annotation);
+        getPipeline().annotate(annotation);
 
         List<CoreMap> sentences = annotation.get(CoreAnnotations.SentencesAnnotation.class);
 
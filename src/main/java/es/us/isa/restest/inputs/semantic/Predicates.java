@@ -11,7 +11,7 @@ import io.swagger.v3.oas.models.parameters.Parameter;
 import org.javatuples.Pair;
 import org.apache.jena.query.QuerySolution;
 import org.apache.jena.query.*;
-import org.apache.jena.sparql.engine.http.QueryEngineHTTP;
+import com.fasterxml.jackson.core.type.TypeReference;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -22,6 +22,7 @@ import org.apache.logging.log4j.Logger;
 import static es.us.isa.restest.inputs.semantic.ARTEInputGenerator.minSupport;
 import static es.us.isa.restest.inputs.semantic.NLPUtils.extractPredicateCandidatesFromDescription;
 import static es.us.isa.restest.inputs.semantic.NLPUtils.posTagging;
+import static es.us.isa.restest.inputs.semantic.SPARQLUtils.createQueryExecution;
 import static es.us.isa.restest.inputs.semantic.SPARQLUtils.executeSPARQLQueryCount;
 import static es.us.isa.restest.inputs.semantic.SPARQLUtils.generateQuery;
 import static es.us.isa.restest.inputs.semantic.ARTEInputGenerator.szEndpoint;
@@ -231,12 +232,29 @@ public class Predicates {
 
     public static String executePredicateSPARQLQuery(String queryString, TestParameter testParameter, List<String> predicatesToIgnore){
 
+        // Execute query (or get its results from the SPARQL cache)
+        List<String> candidatePredicates = SPARQLCache.getInstance().get(szEndpoint, queryString, new TypeReference<List<String>>() {},
+                () -> sendPredicateSPARQLQuery(queryString));
+
+        for (String szVal: candidatePredicates) {
+            Integer support = computeSupportOfPredicate(szVal, testParameter);
+
+            if(support >= minSupport && !predicatesToIgnore.contains(szVal)){
+                return szVal;
+            }
+        }
+
+        return null;
+    }
+
+    // Returns the values of the first 5 results of the query
+    private static List<String> sendPredicateSPARQLQuery(String queryString) {
+
         Query query = QueryFactory.create(queryString);
-        QueryExecution qexec = QueryExecutionFactory.sparqlService(szEndpoint, query);
-        qexec.setTimeout(10000000, 10000000);
-        ((QueryEngineHTTP)qexec).addParam("timeout", "10000000");
+        QueryExecution qexec = createQueryExecution(szEndpoint, query);
 
         // Execute query
+        List<String> res = new ArrayList<>();
         int iCount = 0;
         ResultSet rs = qexec.execSelect();
         while (rs.hasNext() && iCount<5) {
@@ -247,18 +265,12 @@ public class Predicates {
 
             while(itVars.hasNext()){
                 String sVar = itVars.next();
-                String szVal = qs.get(sVar).toString();
-
-                Integer support = computeSupportOfPredicate(szVal, testParameter);
-
-                if(support >= minSupport && !predicatesToIgnore.contains(szVal)){
-                    return szVal;
-                }
+                res.add(qs.get(sVar).toString());
             }
 
         }
 
-        return null;
+        return res;
     }
 
 
@@ -0,0 +1,324 @@
+package es.us.isa.restest.inputs.semantic;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import es.us.isa.restest.util.PropertyManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * On-disk cache of the results of the SPARQL queries sent by ARTE. Each result is saved in its own JSON file,
+ * named after the hash of the endpoint and the query. Variable names are normalized before hashing, so
+ * queries that only differ in their (randomly generated) variable names share the same entry.
+ * <br>
+ * Entries expire after a given time (TTL), and the least recently used entries are deleted when the total
+ * size of the cache exceeds a given limit. The cache can work in three modes:
+ * <ul>
+ *     <li>ONLINE: queries not found in the cache are sent to the endpoint, and their results are cached.</li>
+ *     <li>OFFLINE: queries are only answered from the cache (expired entries included), unless the endpoint
+ *     is local (localhost or 127.0.0.1). Otherwise, an {@link IllegalStateException} is thrown.</li>
+ *     <li>DISABLED: all queries are sent to the endpoint.</li>
+ * </ul>
+ */
+public class SPARQLCache {
+
+	public enum Mode { ONLINE, OFFLINE, DISABLED }
+
+	/**
+	 * Query whose results are cached.
+	 * @param <T> Type of the results
+	 * @param <E> Type of the exception thrown by the query
+	 */
+	@FunctionalInterface
+	public interface Query<T, E extends Exception> {
+		T execute() throws E;
+	}
+
+	private static final String DEFAULT_DIR = "target/sparql-cache";
+	private static final long DEFAULT_TTL = 168;				// Hours
+	private static final long DEFAULT_MAX_SIZE = 100;			// MB
+
+	private static SPARQLCache instance;
+	private static final ObjectMapper objectMapper = new ObjectMapper();
+
+	private static final Logger log = LogManager.getLogger(SPARQLCache.class);
+
+	private final Path dirPath;
+	private final long ttl;						// Milliseconds (-1 for entries that never expire)
+	private final long maxSize;					// Bytes
+	private final Mode mode;
+	private final Map<String, Long> entrySizes = new HashMap<>();		// Key -> size of its file
+	private long totalSize = 0;
+
+	SPARQLCache(String dirPath, long ttl, long maxSize, Mode mode) {
+		this.dirPath = Paths.get(dirPath);
+		this.ttl = ttl;
+		this.maxSize = maxSize;
+		this.mode = mode;
+
+		if (mode != Mode.DISABLED)
+			loadIndex();
+	}
+
+	/**
+	 * Returns the cache configured in the global properties (arte.cache.*), creating it if this is
+	 * the first time it is used.
+	 * @return The cache
+	 */
+	public static synchronized SPARQLCache getInstance() {
+		if (instance == null) {
+			String dir = PropertyManager.readProperty("arte.cache.dir");
+			String ttlHours = PropertyManager.readProperty("arte.cache.ttl");
+			String maxSizeMB = PropertyManager.readProperty("arte.cache.maxsize");
+			String mode = PropertyManager.readProperty("arte.cache.mode");
+
+			long ttl = ttlHours != null ? Long.parseLong(ttlHours) : DEFAULT_TTL;
+			instance = new SPARQLCache(dir != null ? dir : DEFAULT_DIR,
+					ttl < 0 ? -1 : ttl * 3600 * 1000,
+					(maxSizeMB != null ? Long.parseLong(maxSizeMB) : DEFAULT_MAX_SIZE) * 1024 * 1024,
+					mode != null ? Mode.valueOf(mode.toUpperCase()) : Mode.ONLINE);
+		}
+
+		return instance;
+	}
+
+	/**
+	 * Returns the results of a query, from the cache if possible. Otherwise, the query is executed and its
+	 * results are saved in the cache. Since queries that only differ in their variable names share the same
+	 * entry, the results must not refer to variables (otherwise, use
+	 * {@link #getVariableValues(String, String, Query)}).
+	 * @param endpoint SPARQL endpoint
+	 * @param query SPARQL query
+	 * @param type Type of the results, used to read them from the cache
+	 * @param execution Function that sends the query to the endpoint and processes its results
+	 * @param <T> Type of the results. They must be serializable to JSON with Jackson
+	 * @param <E> Type of the exception thrown by the query
+	 * @return The results of the query
+	 * @throws E if the query fails
+	 * @throws IllegalStateException if the cache is offline and the query results are not cached
+	 */
+	public <T, E extends Exception> T get(String endpoint, String query, TypeReference<T> type, Query<T, E> execution) throws E {
+		if (mode == Mode.DISABLED)
+			return execution.execute();
+
+		String key = getKey(endpoint, query);
+		JsonNode entry = readEntry(key);
+		if (entry != null && (mode == Mode.OFFLINE || !isExpired(entry))) {
+			try {
+				return objectMapper.convertValue(entry.get("result"), type);
+			} catch (IllegalArgumentException e) {
+				log.warn("The cached results of a SPARQL query could not be read: {}", e.getMessage());
+			}
+		}
+
+		if (mode == Mode.OFFLINE && !isLocal(endpoint))
+			throw new IllegalStateException("The results of the following SPARQL query are not cached, and ARTE is in offline mode: " + query);
+
+		T result = execution.execute();
+		writeEntry(key, endpoint, query, result);
+		return result;
+	}
+
+	/**
+	 * Returns the values of the variables of a query, from the cache if possible (see
+	 * {@link #get(String, String, TypeReference, Query)}). The values are cached by normalized variable
+	 * name, so that queries that only differ in their variable names share the same entry, and they are
+	 * returned by the variable names of the query.
+	 * @param endpoint SPARQL endpoint
+	 * @param query SPARQL query
+	 * @param execution Function that sends the query to the endpoint and returns the values of each
+	 *                  variable (variable name without '?' -> values)
+	 * @param <E> Type of the exception thrown by the query
+	 * @return The values of each variable of the query
+	 * @throws E if the query fails
+	 * @throws IllegalStateException if the cache is offline and the query results are not cached
+	 */
+	public <E extends Exception> Map<String, Set<String>> getVariableValues(String endpoint, String query, Query<Map<String, Set<String>>, E> execution) throws E {
+		Map<String, String> normalizedVariables = new HashMap<>();
+		normalizeVariables(query, normalizedVariables);
+		Map<String, String> originalVariables = new HashMap<>();
+		normalizedVariables.forEach((original, normalized) -> originalVariables.put(normalized, original));
+
+		Map<String, Set<String>> normalizedValues = get(endpoint, query, new TypeReference<Map<String, Set<String>>>() {},
+				() -> renameVariables(execution.execute(), normalizedVariables));
+		return renameVariables(normalizedValues, originalVariables);
+	}
+
+	private static Map<String, Set<String>> renameVariables(Map<String, Set<String>> values, Map<String, String> newNames) {
+		Map<String, Set<String>> renamed = new HashMap<>();
+		for (Map.Entry<String, Set<String>> entry: values.entrySet())
+			renamed.put(newNames.getOrDefault(entry.getKey(), entry.getKey()), entry.getValue());
+		return renamed;
+	}
+
+	/**
+	 * Normalizes the names of the variables of a query (?name or $name, outside literals and IRIs) as
+	 * ?v0, ?v1, etc., in order of appearance.
+	 * @param query SPARQL query
+	 * @return The normalized query
+	 */
+	static String normalizeVariables(String query) {
+		return normalizeVariables(query, new HashMap<>());
+	}
+
+	/**
+	 * Normalizes the names of the variables of a query (see {@link #normalizeVariables(String)}).
+	 * @param query SPARQL query
+	 * @param variables Map where the normalized name of each variable is put (original name without '?' or
+	 *                  '$' -> normalized name without '?', e.g., "city" -> "v0")
+	 * @return The normalized query
+	 */
+	static String normalizeVariables(String query, Map<String, String> variables) {
+		StringBuilder normalized = new StringBuilder(query.length());
+		int i = 0;
+		while (i < query.length()) {
+			char c = query.charAt(i);
+			if (c == '"' || c == '\'') {					// Literal: copy it verbatim
+				int end = i + 1;
+				while (end < query.length() && query.charAt(end) != c)
+					end += query.charAt(end) == '\\' ? 2 : 1;
+				end = Math.min(end + 1, query.length());
+				normalized.append(query, i, end);
+				i = end;
+			} else if (c == '<' && query.indexOf('>', i) > i && query.substring(i + 1, query.indexOf('>', i)).matches("[^\\s<>\"{}|^`]*")) {	// IRI
+				int end = query.indexOf('>', i) + 1;
+				normalized.append(query, i, end);
+				i = end;
+			} else if ((c == '?' || c == '$') && i + 1 < query.length() && isVariableChar(query.charAt(i + 1))) {
+				int end = i + 1;
+				while (end < query.length() && isVariableChar(query.charAt(end)))
+					end++;
+				String variable = query.substring(i + 1, end);
+				normalized.append('?').append(variables.computeIfAbsent(variable, v -> "v" + variables.size()));
+				i = end;
+			} else {
+				normalized.append(c);
+				i++;
+			}
+		}
+		return normalized.toString();
+	}
+
+	private static boolean isVariableChar(char c) {
+		return Character.isLetterOrDigit(c) || c == '_';
+	}
+
+	private static boolean isLocal(String endpoint) {
+		try {
+			String host = new URI(endpoint).getHost();
+			return "localhost".equals(host) || "127.0.0.1".equals(host);
+		} catch (Exception e) {
+			return false;
+		}
+	}
+
+	private boolean isExpired(JsonNode entry) {
+		return ttl >= 0 && System.currentTimeMillis() - entry.get("created").asLong() > ttl;
+	}
+
+	private static String getKey(String endpoint, String query) {
+		try {
+			byte[] hash = MessageDigest.getInstance("SHA-256").digest((endpoint + '\n' + normalizeVariables(query)).getBytes(StandardCharsets.UTF_8));
+			StringBuilder key = new StringBuilder();
+			for (byte b: hash)
+				key.append(String.format("%02x", b));
+			return key.toString();
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private synchronized JsonNode readEntry(String key) {
+		if (!entrySizes.containsKey(key))
+			return null;
+
+		File entryFile = dirPath.resolve(key + ".json").toFile();
+		try {
+			JsonNode entry = objectMapper.readTree(entryFile);
+			entryFile.setLastModified(System.currentTimeMillis());		// Used to find the least recently used entries
+			return entry;
+		} catch (IOException e) {
+			log.warn("The cached results of a SPARQL query could not be read from {}: {}", entryFile, e.getMessage());
+			removeEntry(key);
+			return null;
+		}
+	}
+
+	private synchronized void writeEntry(String key, String endpoint, String query, Object result) {
+		ObjectNode entry = objectMapper.createObjectNode();
+		entry.put("endpoint", endpoint);
+		entry.put("query", query);
+		entry.put("created", System.currentTimeMillis());
+		entry.set("result", objectMapper.valueToTree(result));
+
+		try {
+			Files.createDirectories(dirPath);
+			Path entryPath = dirPath.resolve(key + ".json");
+			Path tmpPath = dirPath.resolve(key + ".json.tmp");
+			Files.write(tmpPath, objectMapper.writeValueAsBytes(entry));
+			Files.move(tmpPath, entryPath, StandardCopyOption.REPLACE_EXISTING);
+
+			Long oldSize = entrySizes.put(key, Files.size(entryPath));
+			totalSize += entrySizes.get(key) - (oldSize != null ? oldSize : 0);
+		} catch (IOException e) {
+			log.warn("The results of a SPARQL query could not be cached in {}: {}", dirPath, e.getMessage());
+			return;
+		}
+
+		evict();
+	}
+
+	// Delete the least recently used entries until the cache fits in its maximum size
+	private void evict() {
+		if (totalSize <= maxSize)
+			return;
+
+		File[] entryFiles = dirPath.toFile().listFiles((dir, name) -> name.endsWith(".json"));
+		if (entryFiles == null)
+			return;
+
+		Arrays.sort(entryFiles, Comparator.comparingLong(File::lastModified));
+		for (int i = 0; i < entryFiles.length && totalSize > maxSize; i++)
+			removeEntry(entryFiles[i].getName().replace(".json", ""));
+	}
+
+	private void removeEntry(String key) {
+		Long size = entrySizes.remove(key);
+		if (size != null)
+			totalSize -= size;
+		try {
+			Files.deleteIfExists(dirPath.resolve(key + ".json"));
+		} catch (IOException e) {
+			log.warn("The cached results of a SPARQL query could not be deleted: {}", e.getMessage());
+		}
+	}
+
+	private void loadIndex() {
+		File[] entryFiles = dirPath.toFile().listFiles((dir, name) -> name.endsWith(".json"));
+		if (entryFiles == null)
+			return;
+
+		for (File entryFile: entryFiles) {
+			entrySizes.put(entryFile.getName().replace(".json", ""), entryFile.length());
+			totalSize += entryFile.length();
+		}
+	}
+}
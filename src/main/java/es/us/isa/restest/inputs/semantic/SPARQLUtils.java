@@ -2,6 +2,8 @@ package es.us.isa.restest.inputs.semantic;
 
 import es.us.isa.restest.inputs.semantic.objects.SemanticParameter;
 import es.us.isa.restest.configuration.pojos.TestParameter;
+import es.us.isa.restest.util.PropertyManager;
+import com.fasterxml.jackson.core.type.TypeReference;
 import org.javatuples.Pair;
 import org.apache.jena.query.*;
 import org.apache.jena.rdf.model.RDFNode;
@@ -26,6 +28,7 @@ public class SPARQLUtils {
     }
 
     private static final Logger log = LogManager.getLogger(SPARQLUtils.class);
+    private static final String DEFAULT_TIMEOUT = "10000000";
 
 
 
@@ -115,23 +118,27 @@ public class SPARQLUtils {
         return result;
     }
 
-    // Execute a Query
+    // Execute a Query (or get its results from the SPARQL cache)
     // Returns Map<ParameterName, Set<ParameterValue>>
     public static Map<String, Set<String>> executeSPARQLQuery(Pair<String, Map<String, String>> szQuery, String szEndpoint)
             throws URISyntaxException
+    {
+        Map<String, Set<String>> res = SPARQLCache.getInstance().getVariableValues(szEndpoint, szQuery.getValue0(),
+                () -> sendSPARQLQuery(szQuery.getValue0(), szEndpoint));
+        return renameParameters(res, szQuery.getValue1());
+    }
+
+    // Returns Map<VariableName, Set<ParameterValue>>
+    private static Map<String, Set<String>> sendSPARQLQuery(String szQuery, String szEndpoint)
+            throws URISyntaxException
     {
         Map<String, Set<String>> res = new HashMap<>();
 
         // Create a Query with the given String
-        Query query = QueryFactory.create(szQuery.getValue0());
+        Query query = QueryFactory.create(szQuery);
 
         // Create the Execution Factory using the given Endpoint
-        QueryExecution qexec = QueryExecutionFactory.sparqlService(
-                szEndpoint, query);
-
-        // Set Timeout
-        qexec.setTimeout(10000000, 10000000);
-        ((QueryEngineHTTP)qexec).addParam("timeout", "10000000");
+        QueryExecution qexec = createQueryExecution(szEndpoint, query);
 
         // Execute Query
         ResultSet rs = qexec.execSelect();
@@ -184,8 +191,11 @@ public class SPARQLUtils {
 
         }
 
+        return res;
+    }
 
-        Map<String, String> parameterNamesMap = szQuery.getValue1();
+    // Replace the (randomly generated) variable names with the original parameter names
+    private static Map<String, Set<String>> renameParameters(Map<String, Set<String>> res, Map<String, String> parameterNamesMap) {
         Map<String, String> newKeys = new HashMap<>();
         for(String key: res.keySet()) {
             if (!parameterNamesMap.containsKey(key)){
@@ -299,17 +309,17 @@ public class SPARQLUtils {
 
 
     public static Integer executeSPARQLQueryCount(String szQuery, String szEndpoint){
+        return SPARQLCache.getInstance().get(szEndpoint, szQuery, new TypeReference<Integer>() {},
+                () -> sendSPARQLQueryCount(szQuery, szEndpoint));
+    }
+
+    private static Integer sendSPARQLQueryCount(String szQuery, String szEndpoint){
 
         // Create a Query with the given String
         Query query = QueryFactory.create(szQuery);
 
         // Create the Execution Factory using the given Endpoint
-        QueryExecution qexec = QueryExecutionFactory.sparqlService(
-                szEndpoint, query);
-
-        // Set Timeout
-        qexec.setTimeout(10000000, 10000000);
-        ((QueryEngineHTTP)qexec).addParam("timeout", "10000000");
+        QueryExecution qexec = createQueryExecution(szEndpoint, query);
 
         // Execute Query
         Integer res = 0;
@@ -321,6 +331,20 @@ public class SPARQLUtils {
         return res;
     }
 
+    // Create the execution of a query against the endpoint, with the timeout set in the property arte.timeout (milliseconds)
+    static QueryExecution createQueryExecution(String szEndpoint, Query query) {
+        QueryExecution qexec = QueryExecutionFactory.sparqlService(szEndpoint, query);
+
+        // Set Timeout
+        String timeout = PropertyManager.readProperty("arte.timeout");
+        if (timeout == null)
+            timeout = DEFAULT_TIMEOUT;
+        qexec.setTimeout(Long.parseLong(timeout), Long.parseLong(timeout));
+        ((QueryEngineHTTP)qexec).addParam("timeout", timeout);
+
+        return qexec;
+    }
+
     private static String generateRandomString(List<String> allParameters){
         String res = getAlphaNumericString();
         if(allParameters.contains(res)){
@@ -8,8 +8,6 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import es.us.isa.restest.inputs.ITestDataGenerator;
 import es.us.isa.restest.mutation.SchemaMutation;
 import es.us.isa.restest.specification.OpenAPISpecification;
-import es.us.isa.restest.util.FileManager;
-import es.us.isa.restest.util.JSONManager;
 import es.us.isa.restest.util.RESTestException;
 import es.us.isa.restest.util.SchemaManager;
 import io.swagger.v3.oas.models.Operation;
@@ -25,7 +23,6 @@ import java.util.*;
 
 import static es.us.isa.restest.inputs.fuzzing.FuzzingDictionary.getNodeFuzzingValue;
 import static es.us.isa.restest.inputs.stateful.DataMatching.getParameterValue;
-import static es.us.isa.restest.util.FileManager.checkIfExists;
 import static es.us.isa.restest.util.SchemaManager.resolveSchema;
 import static es.us.isa.restest.util.SpecificationVisitor.MEDIA_TYPE_APPLICATION_JSON_REGEX;
 
@@ -54,9 +51,9 @@ public class BodyGenerator implements ITestDataGenerator {
     @Override
     public JsonNode nextValue() {
         JsonNode body = null;
-        String jsonPath = this.dataDirPath + "/stateful_data.json";
+        StatefulDataStore store = StatefulDataStore.getInstance(this.dataDirPath);
 
-        if (!checkIfExists(jsonPath) && defaultValue != null) {
+        if (store.isEmpty() && defaultValue != null) {
             try {
                 return objectMapper.readTree(defaultValue);
             } catch (Exception e) {
@@ -64,7 +61,6 @@ public class BodyGenerator implements ITestDataGenerator {
             }
         }
 
-        ObjectNode dictNode = operationPath != null && FileManager.checkIfExists(jsonPath)? (ObjectNode) JSONManager.readJSON(jsonPath) : objectMapper.createObjectNode();
         Map.Entry<String, MediaType> mediaTypeEntry = openApiOperation.getRequestBody().getContent().entrySet()
                 .stream().filter(x -> x.getKey().matches(MEDIA_TYPE_APPLICATION_JSON_REGEX)).findFirst().orElse(null);
         MediaType requestBody = null;
@@ -78,21 +74,24 @@ public class BodyGenerator implements ITestDataGenerator {
                 rootNode = objectMapper.createArrayNode();
             else
                 rootNode = objectMapper.createObjectNode();
-            try {
-                generateStatefulObjectNode(dictNode, mutatedSchema, rootNode, "", new ArrayList<>(), true);
-            } catch (RESTestException e) {
-                logger.warn("There isn't enough data to generate a valid request body for {} operation.", operationMethod+operationPath);
-                logger.warn("RESTest will use the default request body specified in the testConf.");
-            }
-            if (rootNode != null) {
-                body = rootNode;
-            }
+            JsonNode finalRootNode = rootNode;
+            store.readIndex(storeIndex -> {
+                StatefulDataIndex dictIndex = operationPath != null ? storeIndex : new StatefulDataIndex(objectMapper.createObjectNode());
+                try {
+                    generateStatefulObjectNode(dictIndex, mutatedSchema, finalRootNode, "", new ArrayList<>(), true);
+                } catch (RESTestException e) {
+                    logger.warn("There isn't enough data to generate a valid request body for {} operation.", operationMethod+operationPath);
+                    logger.warn("RESTest will use the default request body specified in the testConf.");
+                }
+                return null;
+            });
+            body = rootNode;
         }
 
         return body;
     }
 
-    private void generateStatefulObjectNode(ObjectNode dictNode, Schema<?> schema, JsonNode rootNode, String prefix, List<String> requiredProperties, boolean firstLevel) throws RESTestException {
+    private void generateStatefulObjectNode(StatefulDataIndex dictIndex, Schema<?> schema, JsonNode rootNode, String prefix, List<String> requiredProperties, boolean firstLevel) throws RESTestException {
         if (schema.get$ref() != null) {
             schema = spec.getSpecification().getComponents().getSchemas().get(schema.get$ref().substring(schema.get$ref().lastIndexOf('/') + 1));
         }
@@ -111,18 +110,18 @@ public class BodyGenerator implements ITestDataGenerator {
                     for (Map.Entry<String, Schema> entry : schema.getProperties().entrySet()) {
                         String paramName = entry.getKey().replace(".", DOT_CONVERSION);
                         String newPrefix = "".equals(prefix) ? prefix + paramName : prefix + '.' + paramName;
-                        generateStatefulObjectNode(dictNode, entry.getValue(), childNode, newPrefix, schema.getRequired(), false);
+                        generateStatefulObjectNode(dictIndex, entry.getValue(), childNode, newPrefix, schema.getRequired(), false);
                     }
                 }
 
             } else if (schema.getType().equals("array")) {
                 childNode = "".equals(prefix) && firstLevel ? rootNode : objectMapper.createArrayNode();
                 if (schema instanceof ArraySchema && ((ArraySchema) schema).getItems() != null) {
-                    generateStatefulObjectNode(dictNode, ((ArraySchema) schema).getItems(), childNode, prefix, schema.getRequired(), false);
+                    generateStatefulObjectNode(dictIndex, ((ArraySchema) schema).getItems(), childNode, prefix, schema.getRequired(), false);
                 }
             } else {
                 String resolvedPrefix = prefix.replace("-duplicated", "").replace(DOT_CONVERSION, ".");
-                childNode = getParameterValue(dictNode, operationMethod, operationPath, resolvedPrefix);
+                childNode = getParameterValue(dictIndex, operationMethod, operationPath, resolvedPrefix);
                 if (childNode == null) {
                     childNode = createNodeFromExample(schema, resolvedPrefix);
                 }
@@ -6,103 +6,113 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import edu.stanford.nlp.process.Morphology;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 
 /**
  * Utility class used by BodyGenerator and ParameterGenerator. Given a dictionary
  * of values and a parameter name, it extracts from the dictionary a potentially
- * valid value for that parameter.
+ * valid value for that parameter. Lookups are made on a {@link StatefulDataIndex}
+ * of the dictionary, so their cost does not depend on the number of parameters stored.
  */
 public class DataMatching {
 
-    private static final Morphology m = new Morphology();
+    private static final Morphology m = new Morphology();                                   // Not thread-safe, use stem()
+    private static final Map<String, String> processedNames = new ConcurrentHashMap<>();     // Parameter name -> processed name
+    private static final Map<String, String> idParameterNames = new ConcurrentHashMap<>();   // Operation path and "id" parameter name -> resource ID name
 
+    /**
+     * Same as {@link #getParameterValue(StatefulDataIndex, String, String, String)}, indexing the
+     * dictionary first. Use the index of the {@link StatefulDataStore} when reading from a store.
+     */
     public static JsonNode getParameterValue(ObjectNode dict, String operationMethod, String operationPath, String paramName) {
+        return getParameterValue(new StatefulDataIndex(dict), operationMethod, operationPath, paramName);
+    }
+
+    public static JsonNode getParameterValue(StatefulDataIndex index, String operationMethod, String operationPath, String paramName) {
         JsonNode paramValue = null;
-        ObjectNode operationDict = (ObjectNode) dict.get(operationMethod + operationPath);
+        String operationKey = operationMethod + operationPath;
 
         if ("id".equalsIgnoreCase(paramName)) {
-            paramValue = getParameterValue(dict, operationMethod, operationPath, getIdParameterName(paramName, operationPath));
+            paramValue = getParameterValue(index, operationMethod, operationPath, getIdParameterName(paramName, operationPath));
             if (paramValue != null)
                 return paramValue;
         }
 
         // 1st option: Original operation, same parameter name
-        paramValue = getValueFromOperationDict(operationDict, paramName);
+        paramValue = getRandomValue(index.getValues(operationKey, paramName));
 
         // 2nd option: Other operations, same parameter name
-        if (paramValue == null) {
-            Iterator<JsonNode> dictIterator = dict.iterator();
-            while (dictIterator.hasNext() && paramValue == null) {
-                paramValue = getValueFromOperationDict((ObjectNode) dictIterator.next(), paramName);
-            }
-        }
+        if (paramValue == null)
+            paramValue = getRandomValue(index.getValues(paramName));
 
         // 3rd option: Original operation, similar parameter name
+        String processedParamName = null;
         if (paramValue == null) {
-            List<JsonNode> paramValues = getValuesOfSimilarParameterNames(operationDict, paramName);
-            if (!paramValues.isEmpty())
-                paramValue = paramValues.get(ThreadLocalRandom.current().nextInt(paramValues.size()));
+            processedParamName = processParameterName(paramName);
+            paramValue = getRandomValue(index.getValuesOfSimilarNames(operationKey, processedParamName));
         }
 
         // 4th option: Other operations, similar parameter name
-        if (paramValue == null) {
-            List<JsonNode> paramValues = new ArrayList<>();
-            Iterator<JsonNode> dictIterator = dict.iterator();
-            while (dictIterator.hasNext())
-                paramValues.addAll(getValuesOfSimilarParameterNames((ObjectNode) dictIterator.next(), paramName));
-            if (!paramValues.isEmpty())
-                paramValue = paramValues.get(ThreadLocalRandom.current().nextInt(paramValues.size()));
-        }
+        if (paramValue == null)
+            paramValue = getRandomValue(index.getValuesOfSimilarNames(processedParamName));
 
         // 5th option: Repeat whole process with sub-property name (e.g., "data.comment.id" -> "comment.id")
         if (paramValue == null && paramName.contains("."))
-            paramValue = getParameterValue(dict, operationMethod, operationPath, paramName.substring(paramName.indexOf('.')+1));
+            paramValue = getParameterValue(index, operationMethod, operationPath, paramName.substring(paramName.indexOf('.')+1));
 
         return paramValue;
     }
 
-    private static JsonNode getValueFromOperationDict(ObjectNode operationDict, String paramName) {
-        JsonNode paramValue = null;
-        if (operationDict != null) {
-            ArrayNode paramDict = ((ArrayNode) operationDict.get(paramName));
-            if (paramDict != null) {
-                paramValue = paramDict.get(ThreadLocalRandom.current().nextInt(paramDict.size()));
-            }
-        }
-        return paramValue;
+    private static JsonNode getRandomValue(ArrayNode values) {
+        if (values == null || values.size() == 0)
+            return null;
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
     }
 
-    private static List<JsonNode> getValuesOfSimilarParameterNames(ObjectNode operationDict, String paramName) {
-        List<JsonNode> validValues = new ArrayList<>();
-
-        if (operationDict != null) {
-            String processedParamName = processParameterName(paramName);
-
-            operationDict.fields().forEachRemaining(f -> {
-                String processedFieldName = processParameterName(f.getKey());
-                if (processedParamName.matches(".*" + processedFieldName + "$")
-                        || processedFieldName.matches(".*" + processedParamName + "$"))
-                    f.getValue().elements().forEachRemaining(validValues::add);
-            });
+    // Random value among all the values of all the parameters, without copying them
+    private static JsonNode getRandomValue(List<ArrayNode> valueLists) {
+        int size = 0;
+        for (ArrayNode values: valueLists)
+            size += values.size();
+        if (size == 0)
+            return null;
+
+        int valueIndex = ThreadLocalRandom.current().nextInt(size);
+        for (ArrayNode values: valueLists) {
+            if (valueIndex < values.size())
+                return values.get(valueIndex);
+            valueIndex -= values.size();
         }
-
-        return validValues;
+        return null;
     }
 
-    private static String processParameterName(String paramName) {
-        return Arrays.stream(paramName.toLowerCase().split("[^a-z\\d]"))
-                .map(m::stem)
+    /**
+     * Processes a parameter name so that similar names can be compared: the name is lowercased, split
+     * by non-alphanumeric characters, and the stems of all words are joined (e.g., "comment.ids" -&gt; "commentid").
+     * Results are cached, since the same names are processed many times.
+     */
+    static String processParameterName(String paramName) {
+        return processedNames.computeIfAbsent(paramName, name -> Arrays.stream(name.toLowerCase().split("[^a-z\\d]"))
+                .map(DataMatching::stem)
                 .filter(Objects::nonNull)
-                .collect(Collectors.joining());
+                .collect(Collectors.joining()));
     }
 
     private static String getIdParameterName(String paramName, String operationPath) {
-        String lastResourceOperationPath = operationPath.replaceAll("(/\\{[^/]*\\})+$", "");
-        return m.stem(lastResourceOperationPath
-                .substring(lastResourceOperationPath.lastIndexOf('/') + 1)
-                .replaceAll("^([gG]et|[sS]et|[pP]ost|[pP]ut|[dD]elete|[pP]atch|[oO]btain|[rR]etrieve|[cC]reate|[uU]pdate|[rR]emove)([A-Z])", "$2"))
-                + ("ID".equals(paramName) ? "ID" : "Id");
+        return idParameterNames.computeIfAbsent(operationPath + ' ' + paramName, k -> {
+            String lastResourceOperationPath = operationPath.replaceAll("(/\\{[^/]*\\})+$", "");
+            return stem(lastResourceOperationPath
+                    .substring(lastResourceOperationPath.lastIndexOf('/') + 1)
+                    .replaceAll("^([gG]et|[sS]et|[pP]ost|[pP]ut|[dD]elete|[pP]atch|[oO]btain|[rR]etrieve|[cC]reate|[uU]pdate|[rR]emove)([A-Z])", "$2"))
+                    + ("ID".equals(paramName) ? "ID" : "Id");
+        });
+    }
+
+    private static String stem(String word) {
+        synchronized (m) {
+            return m.stem(word);
+        }
     }
 }
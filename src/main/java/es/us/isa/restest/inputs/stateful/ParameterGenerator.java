@@ -2,7 +2,6 @@ package es.us.isa.restest.inputs.stateful;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import es.us.isa.restest.inputs.ITestDataGenerator;
 import es.us.isa.restest.specification.OpenAPISpecification;
 import org.apache.logging.log4j.LogManager;
@@ -13,8 +12,6 @@ import java.util.*;
 
 import static es.us.isa.restest.inputs.fuzzing.FuzzingDictionary.getNodeFuzzingValue;
 import static es.us.isa.restest.inputs.stateful.DataMatching.getParameterValue;
-import static es.us.isa.restest.util.FileManager.checkIfExists;
-import static es.us.isa.restest.util.JSONManager.readJSON;
 
 
 public class ParameterGenerator implements ITestDataGenerator {
@@ -42,14 +39,12 @@ public class ParameterGenerator implements ITestDataGenerator {
     @Override
     public JsonNode nextValue() {
         JsonNode valueNode = null;
-        String jsonPath = dataDirPath + "/stateful_data.json";
 
-        if (operationPath != null && checkIfExists(jsonPath)) {
-            ObjectNode dict = (ObjectNode) readJSON(jsonPath);
-            valueNode = getParameterValue(dict, operationMethod,
+        if (operationPath != null) {
+            valueNode = StatefulDataStore.getInstance(dataDirPath).readIndex(index -> getParameterValue(index, operationMethod,
                     altOperationPath != null ? altOperationPath : operationPath,
                     altParameterName != null ? altParameterName : parameterName
-            );
+            ));
         }
 
         if (valueNode == null)
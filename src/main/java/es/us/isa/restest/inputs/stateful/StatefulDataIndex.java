@@ -0,0 +1,125 @@
+package es.us.isa.restest.inputs.stateful;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.*;
+
+import static es.us.isa.restest.inputs.stateful.DataMatching.processParameterName;
+
+/**
+ * Index of the parameter names of a stateful dictionary (operation -&gt; parameter -&gt; values), used by
+ * {@link DataMatching} to find the values of a parameter without traversing the whole dictionary.
+ * <br>
+ * Parameter names are processed (split and stemmed) only once, when they are added to the index, and
+ * they are indexed by every suffix of their processed name. This way, the names similar to a given one
+ * (i.e., those that end with it, or in which it ends) are found with one lookup per character of the
+ * name, regardless of the number of parameters stored.
+ * <br>
+ * The index keeps references to the arrays of values of the dictionary, so values added to an existing
+ * parameter do not need to be indexed. New parameters must be added with {@link #addParameter(String, String, ArrayNode)}.
+ * This class is not thread-safe: {@link StatefulDataStore} updates it under its write lock.
+ */
+public class StatefulDataIndex {
+
+    private final ObjectNode dict;
+    private final Map<String, List<ArrayNode>> valuesByName = new HashMap<>();   // Parameter name -> values in each operation, in insertion order
+    private final Map<String, NameIndex> operationIndexes = new HashMap<>();     // Operation -> index of its parameters
+    private final NameIndex globalIndex = new NameIndex();                       // Parameters of all operations
+
+    /**
+     * Builds the index of all parameters of a dictionary.
+     * @param dict Dictionary with the same structure as the file stateful_data.json
+     */
+    public StatefulDataIndex(ObjectNode dict) {
+        this.dict = dict;
+        dict.fields().forEachRemaining(operation ->
+                operation.getValue().fields().forEachRemaining(parameter -> {
+                    if (parameter.getValue().isArray())
+                        addParameter(operation.getKey(), parameter.getKey(), (ArrayNode) parameter.getValue());
+                }));
+    }
+
+    /**
+     * Adds a new parameter of an operation to the index.
+     * @param operationKey Operation method and path (e.g., "GET/comments/{id}")
+     * @param paramName Parameter name, as stored in the dictionary (e.g., "data.comment.id")
+     * @param values Array of values of the parameter in the dictionary
+     */
+    void addParameter(String operationKey, String paramName, ArrayNode values) {
+        String processedName = processParameterName(paramName);
+        valuesByName.computeIfAbsent(paramName, k -> new ArrayList<>(1)).add(values);
+        operationIndexes.computeIfAbsent(operationKey, k -> new NameIndex()).add(processedName, values);
+        globalIndex.add(processedName, values);
+    }
+
+    void clear() {
+        valuesByName.clear();
+        operationIndexes.clear();
+        globalIndex.clear();
+    }
+
+    /**
+     * Returns the values of a parameter of an operation, or null if the operation has no parameter with that name.
+     */
+    public ArrayNode getValues(String operationKey, String paramName) {
+        JsonNode operationDict = dict.get(operationKey);
+        JsonNode values = operationDict != null ? operationDict.get(paramName) : null;
+        return values != null && values.isArray() ? (ArrayNode) values : null;
+    }
+
+    /**
+     * Returns the values of the first operation with a parameter of the given name, or null if there is none.
+     */
+    public ArrayNode getValues(String paramName) {
+        List<ArrayNode> values = valuesByName.get(paramName);
+        return values != null ? values.get(0) : null;
+    }
+
+    /**
+     * Returns the values of the parameters of an operation whose processed name is similar to the given one.
+     * @param operationKey Operation method and path
+     * @param processedName Processed parameter name (see {@link DataMatching#processParameterName(String)})
+     * @return List of arrays of values, one per similar parameter
+     */
+    public List<ArrayNode> getValuesOfSimilarNames(String operationKey, String processedName) {
+        NameIndex operationIndex = operationIndexes.get(operationKey);
+        return operationIndex != null ? operationIndex.getSimilar(processedName) : Collections.emptyList();
+    }
+
+    /**
+     * Returns the values of the parameters of all operations whose processed name is similar to the given one.
+     * @param processedName Processed parameter name (see {@link DataMatching#processParameterName(String)})
+     * @return List of arrays of values, one per similar parameter
+     */
+    public List<ArrayNode> getValuesOfSimilarNames(String processedName) {
+        return globalIndex.getSimilar(processedName);
+    }
+
+    // Processed names, and all their suffixes, to the values of the parameters with those names
+    private static class NameIndex {
+
+        private final Map<String, List<ArrayNode>> byName = new HashMap<>();
+        private final Map<String, List<ArrayNode>> bySuffix = new HashMap<>();
+
+        void add(String processedName, ArrayNode values) {
+            byName.computeIfAbsent(processedName, k -> new ArrayList<>(1)).add(values);
+            for (int i = 0; i <= processedName.length(); i++)
+                bySuffix.computeIfAbsent(processedName.substring(i), k -> new ArrayList<>(1)).add(values);
+        }
+
+        // Names that end with the given one (including itself), plus names in which the given one ends
+        List<ArrayNode> getSimilar(String processedName) {
+            List<ArrayNode> similar = new ArrayList<>(bySuffix.getOrDefault(processedName, Collections.emptyList()));
+            for (int i = 1; i <= processedName.length(); i++)
+                similar.addAll(byName.getOrDefault(processedName.substring(i), Collections.emptyList()));
+            return similar;
+        }
+
+        void clear() {
+            byName.clear();
+            bySuffix.clear();
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package es.us.isa.restest.inputs.stateful;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import es.us.isa.restest.util.PropertyManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * In-memory store of the values returned by the API under test, used for stateful testing. There is one
+ * store per data directory, shared by all threads of the process: {@link es.us.isa.restest.testcases.restassured.filters.StatefulFilter}
+ * adds values to it, and {@link BodyGenerator} and {@link ParameterGenerator} read them.
+ * <br>
+ * Values are kept with the same structure as the file stateful_data.json (operation -&gt; parameter -&gt;
+ * list of values). Duplicated values are detected with a hash set, and the number of values per parameter
+ * is bounded: once the capacity is reached, new values replace random old ones. The store is loaded from
+ * stateful_data.json when first used, and written back to it periodically and when the JVM shuts down,
+ * instead of once per response. Parameter names are indexed as they are added (see {@link StatefulDataIndex}),
+ * so that {@link DataMatching} does not need to traverse all the values stored.
+ */
+public class StatefulDataStore {
+
+    public static final String STATEFUL_DATA_FILE = "stateful_data.json";
+    private static final int DEFAULT_CAPACITY = 1000;
+    private static final int DEFAULT_SNAPSHOT_INTERVAL = 60;            // Seconds
+
+    private static final Map<String, StatefulDataStore> stores = new ConcurrentHashMap<>();
+    private static ScheduledExecutorService snapshotScheduler;
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static final Logger logger = LogManager.getLogger(StatefulDataStore.class.getName());
+
+    private final Path jsonPath;
+    private final int capacity;                                             // Maximum number of values per operation and parameter
+    private final ObjectNode dict = objectMapper.createObjectNode();        // Operation -> parameter -> values
+    private final Map<String, Map<String, Set<JsonNode>>> valueSets = new HashMap<>(); // Same values as dict, for deduplication
+    private final StatefulDataIndex index = new StatefulDataIndex(dict);     // Parameter names of dict
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean dirty = new AtomicBoolean(false);           // Whether there are values not saved to the JSON file yet
+
+    StatefulDataStore(String dataDirPath, int capacity) {
+        this.jsonPath = Paths.get(dataDirPath + '/' + STATEFUL_DATA_FILE);
+        this.capacity = capacity;
+        load();
+    }
+
+    /**
+     * Returns the store of a data directory, loading it from its stateful_data.json file if this is
+     * the first time it is used.
+     * @param dataDirPath Directory of the stateful_data.json file (usually, the directory of the specification)
+     * @return The store
+     */
+    public static StatefulDataStore getInstance(String dataDirPath) {
+        String key = Paths.get(dataDirPath + '/' + STATEFUL_DATA_FILE).toAbsolutePath().normalize().toString();
+        return stores.computeIfAbsent(key, k -> {
+            startSnapshots();
+            return new StatefulDataStore(dataDirPath, PropertyManager.readIntProperty("data.stateful.capacity", DEFAULT_CAPACITY));
+        });
+    }
+
+    /**
+     * Saves all stores with unsaved values to their stateful_data.json files.
+     */
+    public static void snapshotAll() {
+        stores.values().forEach(StatefulDataStore::snapshot);
+    }
+
+    /**
+     * Adds all values of a JSON response body to the store. Nested properties are flattened using dots
+     * (e.g., "object1.prop1"), and values of array items are added to the property of the array.
+     * @param operationKey Operation method and path (e.g., "GET/comments/{id}")
+     * @param bodyNode The response body
+     */
+    public void addValues(String operationKey, JsonNode bodyNode) {
+        lock.writeLock().lock();
+        try {
+            ObjectNode operationDict = dict.has(operationKey) ? (ObjectNode) dict.get(operationKey) : dict.putObject(operationKey);
+            Map<String, Set<JsonNode>> operationValueSets = valueSets.computeIfAbsent(operationKey, k -> new HashMap<>());
+            addValues(operationKey, operationDict, operationValueSets, bodyNode, "");
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addValues(String operationKey, ObjectNode operationDict, Map<String, Set<JsonNode>> operationValueSets, JsonNode bodyNode, String prefix) {
+        if (bodyNode.isObject()) {
+            for (Iterator<Map.Entry<String, JsonNode>> it = bodyNode.fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> entry = it.next();
+                String newPrefix = "".equals(prefix)? entry.getKey() : prefix + '.' + entry.getKey();
+                addValues(operationKey, operationDict, operationValueSets, entry.getValue(), newPrefix);
+            }
+        } else if (bodyNode.isArray()) {
+            for (Iterator<JsonNode> it = bodyNode.elements(); it.hasNext(); ) {
+                addValues(operationKey, operationDict, operationValueSets, it.next(), prefix);
+            }
+        } else if (bodyNode.isValueNode()) {
+            ArrayNode values = (ArrayNode) operationDict.get(prefix);
+            if (values == null) {
+                values = operationDict.putArray(prefix);
+                index.addParameter(operationKey, prefix, values);
+            }
+            Set<JsonNode> valueSet = operationValueSets.computeIfAbsent(prefix, k -> new HashSet<>());
+            if (valueSet.add(bodyNode)) {
+                if (values.size() < capacity) {
+                    values.add(bodyNode);
+                } else { // Replace a random value
+                    int index = ThreadLocalRandom.current().nextInt(values.size());
+                    valueSet.remove(values.get(index));
+                    values.set(index, bodyNode);
+                }
+                dirty.set(true);
+            }
+        }
+    }
+
+    /**
+     * Reads the store. The dictionary passed to the reader has the same structure as the file
+     * stateful_data.json. It must not be modified, and only its (immutable) value nodes may be
+     * used after the reader returns.
+     * @param reader Function that extracts a result from the dictionary
+     * @param <T> Type of the result
+     * @return The result of the reader
+     */
+    public <T> T read(Function<ObjectNode, T> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.apply(dict);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reads the store through the index of its parameter names, e.g., to look for values with {@link DataMatching}.
+     * As with {@link #read(Function)}, only the value nodes may be used after the reader returns.
+     * @param reader Function that extracts a result from the index
+     * @param <T> Type of the result
+     * @return The result of the reader
+     */
+    public <T> T readIndex(Function<StatefulDataIndex, T> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.apply(index);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isEmpty() {
+        lock.readLock().lock();
+        try {
+            return dict.size() == 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Removes all values from the store. The JSON file is not modified until the next snapshot.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            dict.removeAll();
+            valueSets.clear();
+            index.clear();
+            dirty.set(true);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Writes the store to its stateful_data.json file, if there are values not saved yet.
+     */
+    public void snapshot() {
+        if (!dirty.getAndSet(false))
+            return;
+
+        byte[] content;
+        lock.readLock().lock();
+        try {
+            content = objectMapper.writeValueAsBytes(dict);
+        } catch (IOException e) {
+            dirty.set(true);
+            logger.warn("The stateful data could not be serialized: {}", e.getMessage());
+            return;
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // Write to a temporary file first, so that the JSON file is never left half-written
+        try {
+            Path tmpPath = jsonPath.resolveSibling(STATEFUL_DATA_FILE + ".tmp");
+            Files.write(tmpPath, content);
+            Files.move(tmpPath, jsonPath, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            dirty.set(true);
+            logger.warn("The stateful data could not be saved to {}: {}", jsonPath, e.getMessage());
+        }
+    }
+
+    private void load() {
+        File jsonFile = jsonPath.toFile();
+        if (!jsonFile.exists())
+            return;
+
+        try {
+            JsonNode fileDict = objectMapper.readTree(jsonFile);
+            for (Iterator<Map.Entry<String, JsonNode>> operations = fileDict.fields(); operations.hasNext(); ) {
+                Map.Entry<String, JsonNode> operation = operations.next();
+                ObjectNode operationDict = dict.putObject(operation.getKey());
+                Map<String, Set<JsonNode>> operationValueSets = valueSets.computeIfAbsent(operation.getKey(), k -> new HashMap<>());
+                for (Iterator<Map.Entry<String, JsonNode>> parameters = operation.getValue().fields(); parameters.hasNext(); ) {
+                    Map.Entry<String, JsonNode> parameter = parameters.next();
+                    for (JsonNode value: parameter.getValue())
+                        addValues(operation.getKey(), operationDict, operationValueSets, value, parameter.getKey());
+                }
+            }
+            dirty.set(false);
+        } catch (IOException e) {
+            logger.warn("The stateful data could not be read from {}: {}", jsonPath, e.getMessage());
+        }
+    }
+
+    // Start the periodic snapshots and register the shutdown snapshot (only once)
+    private static synchronized void startSnapshots() {
+        if (snapshotScheduler != null)
+            return;
+
+        snapshotScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "stateful-data-snapshots");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long interval = PropertyManager.readIntProperty("data.stateful.snapshot.interval", DEFAULT_SNAPSHOT_INTERVAL);
+        if (interval > 0)
+            snapshotScheduler.scheduleWithFixedDelay(StatefulDataStore::snapshotAll, interval, interval, TimeUnit.SECONDS);
+
+        Runtime.getRuntime().addShutdownHook(new Thread(StatefulDataStore::snapshotAll));
+    }
+}
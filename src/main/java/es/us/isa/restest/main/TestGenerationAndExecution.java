@@ -12,6 +12,8 @@ import es.us.isa.restest.reporting.AllureReportManager;
 import es.us.isa.restest.reporting.StatsReportManager;
 import es.us.isa.restest.runners.RESTestRunner;
 import es.us.isa.restest.specification.OpenAPISpecification;
+import es.us.isa.restest.testcases.executors.IExecutor;
+import es.us.isa.restest.testcases.executors.RESTAssuredExecutor;
 import es.us.isa.restest.testcases.writers.IWriter;
 import es.us.isa.restest.testcases.writers.RESTAssuredWriter;
 import es.us.isa.restest.util.*;
@@ -24,6 +26,10 @@ import java.io.File;
 import java.io.PrintStream;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import static es.us.isa.restest.configuration.TestConfigurationIO.loadConfiguration;
@@ -61,17 +67,27 @@ public class TestGenerationAndExecution {
 	private static Boolean logToFile;									// If 'true', log messages will be printed to external files
 	private static boolean executeTestCases;							// If 'false', test cases will be generated but not executed
 	private static boolean allureReports;								// If 'true', Allure reports will be generated
+	private static int allureReportEvery = 1;							// Allure reports are generated every N iterations (0 to generate them only at the end)
+	private static boolean allureReportAsync;							// If 'true', Allure reports are generated in the background
 	private static boolean checkTestCases;								// If 'true', test cases will be checked with OASValidator before executing them
+	private static boolean inProcessExecution;							// If 'true', test cases will be executed in-process, without writing and compiling test classes
+	private static boolean writeTestClass = true;						// If 'false' (and inProcessExecution is 'true'), test classes will not be written
+	private static int concurrency = 1;									// Maximum number of test cases executed concurrently
+	private static boolean pipelined;									// If 'true', the next iteration is generated while the current one is being executed
+	private static int generationThreads = 1;							// Maximum number of operations whose test cases are generated concurrently
+	private static Long seed;											// Seed of the test case generator (random if null)
 	private static String proxy;										// Proxy to use for all requests in format host:port
 
 	// For Constraint-based testing and AR Testing:
 	private static Float faultyDependencyRatio; 						// Percentage of faulty test cases due to dependencies to generate.
 	private static Integer reloadInputDataEvery; 						// Number of requests using the same randomly generated input data
 	private static Integer inputDataMaxValues; 							// Number of values used for each parameter when reloading input data
+	private static Integer requestPoolSize;								// Number of valid (and invalid) requests per operation pre-solved by IDLReasoner in the background
 
 	// For AR Testing only:
 	private static String similarityMetric;								// The algorithm to measure the similarity between test cases
 	private static Integer numberCandidates;							// Number of candidate test cases per AR iteration
+	private static Integer maxArchiveSize;								// Maximum number of test cases per operation that candidates are compared with (-1 for no limit)
 
 	// ARTE
 	private static Boolean learnRegex;									// Set to 'true' if you want RESTest to automatically generate Regular expressions that filter the semantically generated input data
@@ -125,35 +141,138 @@ public class TestGenerationAndExecution {
 
 		runner.setExecuteTestCases(executeTestCases);
 		runner.setAllureReport(allureReports);
+		runner.setConcurrency(concurrency);
+
+		IExecutor executor = null;
+		if (inProcessExecution) {
+			executor = createExecutor(); // In-process test case executor
+			runner.setExecutor(executor);
+			runner.setWriteTestClass(writeTestClass);
+		}
+
 
 
+		// Regular expressions learned in an iteration are used to generate the next one, so it cannot be generated in advance
+		if (pipelined && Boolean.TRUE.equals(learnRegex)) {
+			logger.warn("Pipelined execution is not compatible with learnRegex. Iterations will be run sequentially");
+			pipelined = false;
+		}
+
+		// Likewise, stateful generators (and the stateful filter) use the responses of an iteration to generate the next one
+		boolean statefulFilter = ((RESTAssuredWriter) writer).isStatefulFilter() || (executor != null && ((RESTAssuredExecutor) executor).isStatefulFilter());
+		if (pipelined && statefulFilter) {
+			logger.warn("Pipelined execution is not compatible with stateful generators. Iterations will be run sequentially");
+			pipelined = false;
+		}
 
 		// Main loop
 		int iteration = 1;
-		while (totalNumTestCases == -1 || runner.getNumTestCases() < totalNumTestCases) {
+		long startTime = System.currentTimeMillis();
+		if (pipelined) {
+			iteration = runPipelined(runner, writer, executor, startTime);
+		} else {
+			while (totalNumTestCases == -1 || runner.getNumTestCases() < totalNumTestCases) {
+
+				// Introduce optional delay
+				if (iteration != 1 && timeDelay != -1)
+					delay(timeDelay);
+
+				// Generate unique test class name to avoid the same class being loaded everytime
+				String id = IDGenerator.generateTimeId();
+				String className = testClassName + "_" + id;
+				((RESTAssuredWriter) writer).setClassName(className);
+				((RESTAssuredWriter) writer).setTestId(id);
+				if (executor != null) {
+					((RESTAssuredExecutor) executor).setClassName(className);
+					((RESTAssuredExecutor) executor).setTestId(id);
+				}
+				runner.setTestClassName(className);
+				runner.setTestId(id);
+
+				// Test case generation + execution + test report generation
+				runner.run();
+
+				logger.info("Iteration {}. {} test cases generated.", iteration, runner.getNumTestCases());
+				logThroughput(runner.getNumTestCases(), startTime);
+				iteration++;
+			}
+		}
 
-			// Introduce optional delay
-			if (iteration != 1 && timeDelay != -1)
-				delay(timeDelay);
+		runner.finishReports();
 
-			// Generate unique test class name to avoid the same class being loaded everytime
-			String id = IDGenerator.generateTimeId();
-			String className = testClassName + "_" + id;
-			((RESTAssuredWriter) writer).setClassName(className);
-			((RESTAssuredWriter) writer).setTestId(id);
-			runner.setTestClassName(className);
-			runner.setTestId(id);
+		Timer.stopCounting(ALL);
 
-			// Test case generation + execution + test report generation
-			runner.run();
+		generateTimeReport(iteration-1);
+	}
 
-			logger.info("Iteration {}. {} test cases generated.", iteration, runner.getNumTestCases());
-			iteration++;
+	// Main loop in which the test suite of the next iteration is generated (and compiled) while the current one is being executed
+	private static int runPipelined(RESTestRunner runner, IWriter writer, IExecutor executor, long startTime) throws RESTestException {
+		ExecutorService preparer = Executors.newSingleThreadExecutor();
+		int iteration = 1;
+		int numExecutedTestCases = 0;
+
+		try {
+			Future<RESTestRunner.TestSuite> nextTestSuite = preparer.submit(() -> prepareTestSuite(runner, writer));
+			while (nextTestSuite != null) {
+				RESTestRunner.TestSuite testSuite = getTestSuite(nextTestSuite);
+
+				// Start preparing the next iteration. The stop condition is the same as in the sequential loop, since test cases are counted once generated
+				nextTestSuite = null;
+				if (totalNumTestCases == -1 || runner.getNumTestCases() < totalNumTestCases)
+					nextTestSuite = preparer.submit(() -> prepareTestSuite(runner, writer));
+
+				// Introduce optional delay
+				if (iteration != 1 && timeDelay != -1)
+					delay(timeDelay);
+
+				if (executor != null) {
+					((RESTAssuredExecutor) executor).setClassName(testSuite.getTestClassName());
+					((RESTAssuredExecutor) executor).setTestId(testSuite.getTestId());
+				}
+
+				// Test execution + test report generation
+				runner.execute(testSuite);
+				numExecutedTestCases += testSuite.getTestCases().size();
+
+				logger.info("Iteration {}. {} test cases generated.", iteration, numExecutedTestCases);
+				logThroughput(numExecutedTestCases, startTime);
+				iteration++;
+			}
+		} finally {
+			preparer.shutdownNow();
 		}
 
-		Timer.stopCounting(ALL);
+		return iteration;
+	}
 
-		generateTimeReport(iteration-1);
+	// Generate (and compile, if needed) a test suite with a unique test class name. Only called from the preparer thread
+	private static RESTestRunner.TestSuite prepareTestSuite(RESTestRunner runner, IWriter writer) throws RESTestException {
+		String id = IDGenerator.generateTimeId();
+		String className = testClassName + "_" + id;
+		((RESTAssuredWriter) writer).setClassName(className);
+		((RESTAssuredWriter) writer).setTestId(id);
+		return runner.prepare(id, className);
+	}
+
+	// Wait for a test suite to be prepared
+	private static RESTestRunner.TestSuite getTestSuite(Future<RESTestRunner.TestSuite> testSuite) throws RESTestException {
+		try {
+			return testSuite.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RESTestException("Interrupted while generating test cases", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RESTestException)
+				throw (RESTestException) e.getCause();
+			throw new RESTestException("Error generating test cases", e.getCause());
+		}
+	}
+
+	// Log the number of test cases generated and executed per hour
+	private static void logThroughput(int numTestCases, long startTime) {
+		long elapsedTime = System.currentTimeMillis() - startTime;
+		if (elapsedTime > 0)
+			logger.info("Throughput: {} test cases/hour", Math.round(numTestCases * 3600000.0 / elapsedTime));
 	}
 
 	// Create a test case generator
@@ -192,6 +311,8 @@ public class TestGenerationAndExecution {
 			((ConstraintBasedTestCaseGenerator) gen).setFaultyDependencyRatio(faultyDependencyRatio);
 			((ConstraintBasedTestCaseGenerator) gen).setInputDataMaxValues(inputDataMaxValues);
 			((ConstraintBasedTestCaseGenerator) gen).setReloadInputDataEvery(reloadInputDataEvery);
+			if (requestPoolSize != null)
+				((ConstraintBasedTestCaseGenerator) gen).setRequestPoolSize(requestPoolSize);
 			gen.setFaultyRatio(faultyRatio);
 			break;
 		case "ART":
@@ -199,8 +320,12 @@ public class TestGenerationAndExecution {
 			((ARTestCaseGenerator) gen).setFaultyDependencyRatio(faultyDependencyRatio);
 			((ARTestCaseGenerator) gen).setInputDataMaxValues(inputDataMaxValues);
 			((ARTestCaseGenerator) gen).setReloadInputDataEvery(reloadInputDataEvery);
+			if (requestPoolSize != null)
+				((ARTestCaseGenerator) gen).setRequestPoolSize(requestPoolSize);
 			((ARTestCaseGenerator) gen).setDiversity(similarityMetric);
 			((ARTestCaseGenerator) gen).setNumberOfCandidates(numberCandidates);
+			if (maxArchiveSize != null)
+				((ARTestCaseGenerator) gen).setMaxArchiveSize(maxArchiveSize);
 			gen.setFaultyRatio(faultyRatio);
 			break;
 		default:
@@ -208,6 +333,9 @@ public class TestGenerationAndExecution {
 		}
 
 		gen.setCheckTestCases(checkTestCases);
+		gen.setGenerationThreads(generationThreads);
+		if (seed != null)
+			gen.setSeed(seed);
 
 		return gen;
 	}
@@ -226,6 +354,21 @@ public class TestGenerationAndExecution {
 		return writer;
 	}
 
+	// Create an in-process executor for RESTAssured
+	private static IExecutor createExecutor() {
+		String basePath = spec.getSpecification().getServers().get(0).getUrl();
+		RESTAssuredExecutor executor = new RESTAssuredExecutor(OAISpecPath, confPath, testClassName, packageName,
+				basePath, logToFile);
+		executor.setLogging(true);
+		executor.setAllureReport(true);
+		executor.setEnableStats(enableCSVStats);
+		executor.setEnableOutputCoverage(enableOutputCoverage);
+		executor.setAPIName(experimentName);
+		executor.setProxy(proxy);
+		executor.setConcurrency(concurrency);
+		return executor;
+	}
+
 	// Create an Allure report manager
 	private static AllureReportManager createAllureReportManager() {
 		AllureReportManager arm = null;
@@ -245,6 +388,8 @@ public class TestGenerationAndExecution {
 			arm = new AllureReportManager(allureResultsDir, allureReportDir, authProperties);
 			arm.setEnvironmentProperties(propertiesFilePath);
 			arm.setHistoryTrend(true);
+			arm.setReportEvery(allureReportEvery);
+			arm.setAsyncReports(allureReportAsync);
 		}
 		return arm;
 	}
@@ -276,6 +421,7 @@ public class TestGenerationAndExecution {
 		String timePath = readParameterValue("data.tests.dir") + "/" + experimentName + "/" + readParameterValue("data.tests.time");
 		try {
 			Timer.exportToCSV(timePath, iterations);
+			Timer.exportHistogramsToCSV(readParameterValue("data.tests.dir") + "/" + experimentName + "/" + readParameterValue("data.tests.time.histograms"));
 		} catch (RuntimeException e) {
 			logger.error("The time report cannot be generated. Stack trace:");
 			logger.error(e.getMessage());
@@ -333,6 +479,16 @@ public class TestGenerationAndExecution {
 		}
 		logger.info("Allure reports: {}", allureReports);
 
+		if (readParameterValue("allure.report.every") != null) {
+			allureReportEvery = Integer.parseInt(readParameterValue("allure.report.every"));
+		}
+		logger.info("Allure reports every {} iterations", allureReportEvery);
+
+		if (readParameterValue("allure.report.async") != null) {
+			allureReportAsync = Boolean.parseBoolean(readParameterValue("allure.report.async"));
+		}
+		logger.info("Asynchronous Allure reports: {}", allureReportAsync);
+
 		if (readParameterValue("proxy") != null) {
 			proxy = readParameterValue("proxy");
 			if ("null".equals(proxy) || proxy.split(":").length != 2)
@@ -343,7 +499,31 @@ public class TestGenerationAndExecution {
 		if (readParameterValue("testcases.check") != null)
 			checkTestCases = Boolean.parseBoolean(readParameterValue("testcases.check"));
 		logger.info("Check test cases: {}", checkTestCases);
+
+		if (readParameterValue("experiment.inprocess") != null)
+			inProcessExecution = Boolean.parseBoolean(readParameterValue("experiment.inprocess"));
+		logger.info("In-process execution: {}", inProcessExecution);
+
+		if (readParameterValue("testclass.write") != null)
+			writeTestClass = Boolean.parseBoolean(readParameterValue("testclass.write"));
+		logger.info("Write test classes: {}", writeTestClass);
+
+		if (readParameterValue("experiment.concurrency") != null)
+			concurrency = Integer.parseInt(readParameterValue("experiment.concurrency"));
+		logger.info("Concurrency: {}", concurrency);
+
+		if (readParameterValue("experiment.pipeline") != null)
+			pipelined = Boolean.parseBoolean(readParameterValue("experiment.pipeline"));
+		logger.info("Pipelined execution: {}", pipelined);
 		
+		if (readParameterValue("generation.threads") != null)
+			generationThreads = Integer.parseInt(readParameterValue("generation.threads"));
+		logger.info("Generation threads: {}", generationThreads);
+
+		if (readParameterValue("generation.seed") != null)
+			seed = Long.parseLong(readParameterValue("generation.seed"));
+		logger.info("Generation seed: {}", seed);
+
 		testClassName = readParameterValue("testclass.name");
 		logger.info("Test class name: {}", testClassName);
 
@@ -367,6 +547,10 @@ public class TestGenerationAndExecution {
 			inputDataMaxValues = Integer.parseInt(readParameterValue("inputdatamaxvalues"));
 		logger.info("Max input test data (CBT): {}", inputDataMaxValues);
 
+		if (readParameterValue("idl.request.pool.size") != null)
+			requestPoolSize = Integer.parseInt(readParameterValue("idl.request.pool.size"));
+		logger.info("Pre-solved request pool size (CBT): {}", requestPoolSize);
+
 		if (readParameterValue("coverage.input") != null)
 			enableInputCoverage = Boolean.parseBoolean(readParameterValue("coverage.input"));
 		logger.info("Input coverage: {}", enableInputCoverage);
@@ -391,6 +575,10 @@ public class TestGenerationAndExecution {
 			numberCandidates = Integer.parseInt(readParameterValue("art.number.candidates"));
 		logger.info("Number of candidates: {}", numberCandidates);
 
+		if (readParameterValue("art.archive.size") != null)
+			maxArchiveSize = Integer.parseInt(readParameterValue("art.archive.size"));
+		logger.info("Maximum archive size per operation: {}", maxArchiveSize);
+
 		if (readParameterValue("faulty.ratio") != null)
 			faultyRatio = Float.parseFloat(readParameterValue("faulty.ratio"));
 		logger.info("Faulty ratio: {}", faultyRatio);
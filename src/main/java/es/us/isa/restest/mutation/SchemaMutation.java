@@ -2,14 +2,14 @@ package es.us.isa.restest.mutation;
 
 import es.us.isa.restest.mutation.pipelines.DropSelectTypePipeline;
 import es.us.isa.restest.mutation.rules.DuplicateRule;
-import es.us.isa.restest.util.SchemaManager;
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.media.Schema;
 
 import java.security.SecureRandom;
 import java.util.Random;
 
-import static es.us.isa.restest.util.SchemaManager.generateFullyResolvedSchema;
+import static es.us.isa.restest.util.SchemaManager.copySchema;
+import static es.us.isa.restest.util.SchemaManager.getFullyResolvedSchema;
 
 public class SchemaMutation {
 
@@ -25,7 +25,7 @@ public class SchemaMutation {
 
     public Schema mutate() {
         MutationPipeline mutation = MutationPipeline.values()[random.nextInt(MutationPipeline.values().length)];
-        Schema mutatedSchema = generateFullyResolvedSchema(schema, spec);
+        Schema mutatedSchema = copySchema(getFullyResolvedSchema(schema, spec)); // The schema is only resolved once, and mutated in a copy
         switch (mutation) {
             case DUPLICATE:
                 DuplicateRule.getInstance().apply(mutatedSchema, true, spec);
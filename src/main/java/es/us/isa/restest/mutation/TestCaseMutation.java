@@ -1,8 +1,11 @@
 package es.us.isa.restest.mutation;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 import es.us.isa.restest.mutation.operators.invalidvalue.InvalidParameterValue;
 import es.us.isa.restest.mutation.operators.RemoveRequiredParameter;
@@ -36,20 +39,32 @@ public class TestCaseMutation {
      * @return a string indicating the mutation operator applied, empty if none.
      */
 	public static String mutate(TestCase testCase, Operation specOperation) {
+		return mutate(testCase, specOperation, ThreadLocalRandom.current());
+	}
+
+	/**
+	 * Same as {@link #mutate(TestCase, Operation)}, but all random choices are taken from {@code random}, so
+	 * that the mutation only depends on its seed.
+	 * @param testCase Original valid test case (it is modified if the mutation is applied).
+	 * @param specOperation OpenAPI operation related to the test case.
+	 * @param random Random number generator.
+	 * @return a string indicating the mutation operator applied, empty if none.
+	 */
+	public static String mutate(TestCase testCase, Operation specOperation, Random random) {
 		String mutationApplied = "";
 
 		// Shuffle list of operators
-		List<String> operators = Arrays.asList(mutationOperators);
-		Collections.shuffle(operators);
+		List<String> operators = new ArrayList<>(Arrays.asList(mutationOperators));
+		Collections.shuffle(operators, random);
 		
 		int index = 0;
 		while (index<operators.size() && mutationApplied.equals("")) {
 			switch(operators.get(index)) {
 				case INVALID_VALUE:
-					mutationApplied = InvalidParameterValue.mutate(testCase, specOperation);
+					mutationApplied = InvalidParameterValue.mutate(testCase, specOperation, random);
 					break;
 				case REMOVE_REQUIRED_PARAMETER:
-					mutationApplied = RemoveRequiredParameter.mutate(testCase, specOperation);
+					mutationApplied = RemoveRequiredParameter.mutate(testCase, specOperation, random);
 					break;
 				default:
 			}
@@ -5,6 +5,7 @@ import es.us.isa.restest.testcases.TestCase;
 import io.swagger.v3.oas.models.Operation;
 
 import java.util.List;
+import java.util.Random;
 import java.util.concurrent.ThreadLocalRandom;
 
 import static es.us.isa.restest.util.SpecificationVisitor.getRequiredNotPathParametersFeatures;
@@ -26,6 +27,13 @@ public class RemoveRequiredParameter extends AbstractMutationOperator {
      * @return True if the mutation was applied, false otherwise.
      */
     public static String mutate(TestCase tc, Operation specOperation) {
+        return mutate(tc, specOperation, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Same as {@link #mutate(TestCase, Operation)}, but the parameter is selected with {@code random}.
+     */
+    public static String mutate(TestCase tc, Operation specOperation, Random random) {
         List<ParameterFeatures> candidateParameters = getRequiredNotPathParametersFeatures(specOperation); // Path parameters cannot be removed
         
         // No required parameters. Mutation not applicable
@@ -33,7 +41,7 @@ public class RemoveRequiredParameter extends AbstractMutationOperator {
         	return "";
         
         // Remove random required parameter
-        ParameterFeatures selectedParam = candidateParameters.get(ThreadLocalRandom.current().nextInt(0, candidateParameters.size()));
+        ParameterFeatures selectedParam = candidateParameters.get(random.nextInt(candidateParameters.size()));
         tc.removeParameter(selectedParam);
         return "Removed required parameter " + selectedParam.getName();
     }
@@ -5,9 +5,11 @@ import es.us.isa.restest.specification.ParameterFeatures;
 import es.us.isa.restest.testcases.TestCase;
 import org.apache.commons.lang3.RandomStringUtils;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 import java.util.concurrent.ThreadLocalRandom;
 
 import static es.us.isa.restest.mutation.operators.invalidvalue.InvalidParameterValue.INTEGER_TYPE;
@@ -33,38 +35,46 @@ public abstract class AbstractToInvalidOperator extends AbstractMutationOperator
     protected static final String VIOLATE_MIN_LENGTH_CONSTRAINT = "VIOLATE_MIN_LENGTH_CONSTRAINT";
 
     public static String mutate(TestCase tc, ParameterFeatures param, String[] mutations) {
+        return mutate(tc, param, mutations, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Same as {@link #mutate(TestCase, ParameterFeatures, String[])}, but all random choices (mutation and
+     * new value) are taken from {@code random}, so that the mutation only depends on its seed.
+     */
+    public static String mutate(TestCase tc, ParameterFeatures param, String[] mutations, Random random) {
         String mutationApplied = "";
 
-        // Shuffle list of mutations
-        List<String> mutationsList = Arrays.asList(mutations);
-        Collections.shuffle(mutationsList);
+        // Shuffle list of mutations (a copy, since the array is shared by all test cases)
+        List<String> mutationsList = new ArrayList<>(Arrays.asList(mutations));
+        Collections.shuffle(mutationsList, random);
 
         int index = 0;
         while (index<mutationsList.size() && mutationApplied.equals("")) {
             switch (mutationsList.get(index)) {
                 case REPLACE_WITH_INT:
-                    String randomInt = Integer.toString(ThreadLocalRandom.current().nextInt(1000, 10001));
+                    String randomInt = Integer.toString(1000 + random.nextInt(9001));
                     if (param.getEnumValues() == null || !param.getEnumValues().contains(randomInt)) {
                         mutationApplied = getMutationMessage(mutationsList.get(index), param, tc, randomInt);
                         tc.addParameter(param, randomInt);
                     }
                     break;
                 case REPLACE_WITH_BOOL:
-                    String randomBoolean = Boolean.toString(ThreadLocalRandom.current().nextBoolean());
+                    String randomBoolean = Boolean.toString(random.nextBoolean());
                     if (param.getEnumValues() == null || !param.getEnumValues().contains(randomBoolean)) {
                         mutationApplied = getMutationMessage(mutationsList.get(index), param, tc, randomBoolean);
                         tc.addParameter(param, randomBoolean);
                     }
                     break;
                 case REPLACE_WITH_STRING:
-                    String randomString = RandomStringUtils.randomAlphabetic(10, 20);
+                    String randomString = randomAlphabetic(10 + random.nextInt(10), random);
                     if (param.getEnumValues() == null || !param.getEnumValues().contains(randomString)) {
                         mutationApplied = getMutationMessage(mutationsList.get(index), param, tc, randomString);
                         tc.addParameter(param, randomString);
                     }
                     break;
                 case REPLACE_WITH_NUMBER:
-                    String randomNumber = Double.toString(ThreadLocalRandom.current().nextDouble(1000, 10001));
+                    String randomNumber = Double.toString(1000 + random.nextDouble() * 9001);
                     if (param.getEnumValues() == null || !param.getEnumValues().contains(randomNumber)) {
                         mutationApplied = getMutationMessage(mutationsList.get(index), param, tc, randomNumber);
                         tc.addParameter(param, randomNumber);
@@ -74,36 +84,36 @@ public abstract class AbstractToInvalidOperator extends AbstractMutationOperator
                     if (param.getMax() != null) {
                         mutationApplied = getMutationMessage(mutationsList.get(index), param, tc, null);
                         if (param.getType().equals(NUMBER_TYPE))
-                            tc.addParameter(param, Double.toString(param.getMax().doubleValue() + ThreadLocalRandom.current().nextDouble(1, 10)));
+                            tc.addParameter(param, Double.toString(param.getMax().doubleValue() + (1 + random.nextDouble() * 9)));
                         else if (param.getType().equals(INTEGER_TYPE))
-                            tc.addParameter(param, Integer.toString(param.getMax().intValue() + ThreadLocalRandom.current().nextInt(1, 10)));
+                            tc.addParameter(param, Integer.toString(param.getMax().intValue() + (1 + random.nextInt(9))));
                     }
                     break;
                 case VIOLATE_MIN_CONSTRAINT:
                     if (param.getMin() != null) {
                         mutationApplied = getMutationMessage(mutationsList.get(index), param, tc, null);
                         if (param.getType().equals(NUMBER_TYPE))
-                            tc.addParameter(param, Double.toString(param.getMin().doubleValue() - ThreadLocalRandom.current().nextDouble(1, 10)));
+                            tc.addParameter(param, Double.toString(param.getMin().doubleValue() - (1 + random.nextDouble() * 9)));
                         else if (param.getType().equals(INTEGER_TYPE))
-                            tc.addParameter(param, Integer.toString(param.getMin().intValue() - ThreadLocalRandom.current().nextInt(1, 10)));
+                            tc.addParameter(param, Integer.toString(param.getMin().intValue() - (1 + random.nextInt(9))));
                     }
                     break;
                 case VIOLATE_FORMAT_CONSTRAINT:
                     if (param.getFormat() != null || param.getPattern() != null) {
                         mutationApplied = getMutationMessage(mutationsList.get(index), param, tc, null);
-                        tc.addParameter(param, RandomStringUtils.randomAlphabetic(10, 20));
+                        tc.addParameter(param, randomAlphabetic(10 + random.nextInt(10), random));
                     }
                     break;
                 case VIOLATE_MAX_LENGTH_CONSTRAINT:
                     if (param.getMaxLength() != null) {
                         mutationApplied = getMutationMessage(mutationsList.get(index), param, tc, null);
-                        tc.addParameter(param, RandomStringUtils.randomAlphabetic(param.getMaxLength() + ThreadLocalRandom.current().nextInt(1, 11)));
+                        tc.addParameter(param, randomAlphabetic(param.getMaxLength() + 1 + random.nextInt(10), random));
                     }
                     break;
                 case VIOLATE_MIN_LENGTH_CONSTRAINT:
                     if (param.getMinLength() != null && param.getMinLength() > 1) {
                         mutationApplied = getMutationMessage(mutationsList.get(index), param, tc, null);
-                        tc.addParameter(param, RandomStringUtils.randomAlphabetic(param.getMinLength() - 1));
+                        tc.addParameter(param, randomAlphabetic(param.getMinLength() - 1, random));
                     }
                     break;
                 default:
@@ -115,6 +125,10 @@ public abstract class AbstractToInvalidOperator extends AbstractMutationOperator
         return mutationApplied;
     }
 
+    private static String randomAlphabetic(int count, Random random) {
+        return RandomStringUtils.random(count, 0, 0, true, false, null, random);
+    }
+
     private static String getMutationMessage(String mutation, ParameterFeatures param, TestCase tc, String newValue) {
         switch (mutation) {
             case REPLACE_WITH_INT:
@@ -8,6 +8,7 @@ import org.apache.commons.lang3.RandomStringUtils;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 import java.util.concurrent.ThreadLocalRandom;
 
 /**
@@ -27,4 +28,8 @@ public class BooleanToInvalid extends AbstractToInvalidOperator {
     public static String mutate(TestCase tc, ParameterFeatures param) {
         return mutate(tc, param, mutations);
     }
+
+    public static String mutate(TestCase tc, ParameterFeatures param, Random random) {
+        return mutate(tc, param, mutations, random);
+    }
 }
@@ -6,6 +6,7 @@ import es.us.isa.restest.testcases.TestCase;
 import io.swagger.v3.oas.models.Operation;
 
 import java.util.List;
+import java.util.Random;
 import java.util.concurrent.ThreadLocalRandom;
 
 import static es.us.isa.restest.util.SpecificationVisitor.getParametersFeaturesSubjectToInvalidValueChange;
@@ -32,23 +33,30 @@ public class InvalidParameterValue extends AbstractMutationOperator {
      * @return Description of the mutation applied, "" if none applied.
      */
     public static String mutate(TestCase tc, Operation specOperation) {
+        return mutate(tc, specOperation, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Same as {@link #mutate(TestCase, Operation)}, but all random choices are taken from {@code random}.
+     */
+    public static String mutate(TestCase tc, Operation specOperation, Random random) {
         List<ParameterFeatures> candidateParameters = getParametersFeaturesSubjectToInvalidValueChange(specOperation); // Parameters that can be mutated to create a faulty test case
         
         if (candidateParameters.isEmpty())
         	return "";
         	
-        ParameterFeatures selectedParam = candidateParameters.get(ThreadLocalRandom.current().nextInt(0, candidateParameters.size())); // Select one randomly
+        ParameterFeatures selectedParam = candidateParameters.get(random.nextInt(candidateParameters.size())); // Select one randomly
 
         if (selectedParam.getEnumValues() != null) // Value of enum range
-            return EnumToInvalid.mutate(tc, selectedParam);
+            return EnumToInvalid.mutate(tc, selectedParam, random);
         else if (selectedParam.getType().equals(BOOLEAN_TYPE)) // Boolean
-            return BooleanToInvalid.mutate(tc, selectedParam);
+            return BooleanToInvalid.mutate(tc, selectedParam, random);
         else if (selectedParam.getType().equals(INTEGER_TYPE)) // Integer
-            return IntegerToInvalid.mutate(tc, selectedParam);
+            return IntegerToInvalid.mutate(tc, selectedParam, random);
         else if (selectedParam.getType().equals(NUMBER_TYPE)) // Number
-            return NumberToInvalid.mutate(tc, selectedParam);
+            return NumberToInvalid.mutate(tc, selectedParam, random);
         else if (selectedParam.getType().equals(STRING_TYPE)) // String
-            return StringToInvalid.mutate(tc, selectedParam);
+            return StringToInvalid.mutate(tc, selectedParam, random);
 
         return "";
         
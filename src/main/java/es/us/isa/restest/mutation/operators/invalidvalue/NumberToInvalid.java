@@ -8,6 +8,7 @@ import org.apache.commons.lang3.RandomStringUtils;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 import java.util.concurrent.ThreadLocalRandom;
 
 import static es.us.isa.restest.mutation.operators.invalidvalue.InvalidParameterValue.INTEGER_TYPE;
@@ -31,4 +32,8 @@ public class NumberToInvalid extends AbstractToInvalidOperator {
     public static String mutate(TestCase tc, ParameterFeatures param) {
         return mutate(tc, param, mutations);
     }
+
+    public static String mutate(TestCase tc, ParameterFeatures param, Random random) {
+        return mutate(tc, param, mutations, random);
+    }
 }
@@ -6,7 +6,7 @@ import io.swagger.v3.oas.models.media.Schema;
 import java.util.ArrayList;
 import java.util.List;
 
-import static es.us.isa.restest.util.SchemaManager.generateFullyResolvedSchema;
+import static es.us.isa.restest.util.SchemaManager.copySchema;
 
 public class DuplicateRule extends SingleRule {
 
@@ -28,7 +28,7 @@ public class DuplicateRule extends SingleRule {
         List<String> propertyNames = new ArrayList<>(schema.getProperties().keySet());
         if (propertyNames.size() > 0) {
             String duplicatedProperty = propertyNames.get(random.nextInt(propertyNames.size()));
-            Schema duplicatedSchema = generateFullyResolvedSchema(schema.getProperties().get(duplicatedProperty), spec);
+            Schema duplicatedSchema = copySchema(schema.getProperties().get(duplicatedProperty)); // The schema is already resolved
             schema.getProperties().put(duplicatedProperty + "-duplicated", duplicatedSchema);
         }
     }
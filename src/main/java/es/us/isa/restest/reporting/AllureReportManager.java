@@ -3,7 +3,13 @@ package es.us.isa.restest.reporting;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import es.us.isa.restest.inputs.random.RandomObjectGenerator;
 import es.us.isa.restest.util.AllureAuthManager;
@@ -14,7 +20,14 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 /**
- * Class for managing the generation of test reports with Allure
+ * Class for managing the generation of test reports with Allure.
+ * <br>
+ * Reports requested with {@link #requestReport()} can be generated every N requests instead of every
+ * iteration, and in a background thread, so that the next iteration does not wait for them. Since each
+ * report includes all the results so far, a request made while another report is waiting to be generated
+ * is merged with it. {@link #finishReports()} must be called at the end, so that the last results are
+ * included in the report. It is also called when the JVM exits (e.g., when testing is stopped in
+ * continuous mode), so that those results are not lost.
  * 
  * @author Sergio Segura
  */
@@ -26,6 +39,17 @@ public class AllureReportManager {
 	private String allureCommand;
 	private Boolean historyTrend = false;					// If true, it show history information by copying the 'history' directory from previous report
 	private Boolean loadCategories = true;					// If true, it uses the custom categories defined in the properties file located in src/main/resources
+	private int reportEvery = 1;							// A report is generated every N requests (0 to generate it only when finishing)
+	private boolean asyncReports = false;					// If true, reports are generated in a background thread
+
+	private int pendingRequests = 0;						// Requests since the last report was generated (or scheduled)
+	private ExecutorService reportExecutor;					// Generates the reports in the background (only if asyncReports)
+	private Future<?> lastReport;							// Last report scheduled in the background
+	private final Object reportLock = new Object();			// Held while generating a report
+	private final AtomicBoolean reportQueued = new AtomicBoolean(false);	// Whether a report is scheduled and has not started yet
+	private boolean shutdownHookRegistered = false;			// Whether finishReports() is called when the JVM exits
+	private final Map<String, Long> filteredResults = new HashMap<>();		// Files of the results directory already passed through the confidentiality filter
+	private final Map<String, Long> filteredAttachments = new HashMap<>();	// Same, for the attachments of the report
 
 	private static final Logger logger = LogManager.getLogger(AllureReportManager.class.getName());
 	
@@ -46,7 +70,80 @@ public class AllureReportManager {
 			allureCommand = PropertyManager.readProperty("allure.command.unix");
 	}
 	
+	/**
+	 * Requests a report of the results so far. The report is generated every {@code reportEvery} requests,
+	 * either immediately or in the background (see {@link #setAsyncReports(boolean)}).
+	 */
+	public synchronized void requestReport() {
+		if (!shutdownHookRegistered) {
+			Runtime.getRuntime().addShutdownHook(new Thread(this::finishReports, "allure-report-shutdown"));
+			shutdownHookRegistered = true;
+		}
+
+		pendingRequests++;
+		if (reportEvery <= 0 || pendingRequests < reportEvery)
+			return;
+		pendingRequests = 0;
+
+		if (!asyncReports) {
+			generateReport();
+		} else if (reportQueued.compareAndSet(false, true)) { // Otherwise, the report already queued will include these results
+			lastReport = getReportExecutor().submit(() -> {
+				reportQueued.set(false);
+				generateReport();
+			});
+		}
+	}
+
+	/**
+	 * Generates the report of the last results (if they have not been reported yet), and waits for the
+	 * reports generated in the background to finish.
+	 */
+	public synchronized void finishReports() {
+		if (pendingRequests > 0) {
+			pendingRequests = 0;
+			if (lastReport != null)
+				waitForReport();
+			generateReport();
+		} else if (lastReport != null) {
+			waitForReport();
+		}
+		lastReport = null;
+	}
+
+	private void waitForReport() {
+		try {
+			lastReport.get();
+		} catch (InterruptedException e) {
+			logger.error("Interrupted while waiting for the test report");
+			Thread.currentThread().interrupt();
+		} catch (Exception e) {
+			logger.error("Error generating test report");
+			logger.error("Exception: ", e);
+		}
+	}
+
+	private ExecutorService getReportExecutor() {
+		if (reportExecutor == null) {
+			reportExecutor = Executors.newSingleThreadExecutor(r -> {
+				Thread thread = new Thread(r, "allure-report");
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		return reportExecutor;
+	}
+
+	/**
+	 * Generates the report of the results so far, and waits for it. Only one report is generated at a time.
+	 */
 	public void generateReport() {
+		synchronized (reportLock) {
+			doGenerateReport();
+		}
+	}
+
+	private void doGenerateReport() {
 		
 		// If history trend is enabled, we must copy the "history" directory from the current report to the allure results directory
 		if (historyTrend)
@@ -56,13 +153,13 @@ public class AllureReportManager {
 		if (loadCategories)
 			copyCategoryFile();
 		
-		// Generate report
+		// Generate report. Only the files that are new or have changed since the last report are censored
 		Runtime rt = Runtime.getRuntime();
 		try {
+			AllureAuthManager.confidentialityFilter(authProperties, resultsDirPath, filteredResults);
 			Process proc = rt.exec(allureCommand + " generate -c " + resultsDirPath  + " -o " + reportDirPath);
 			proc.waitFor();
-			AllureAuthManager.confidentialityFilter(authProperties, resultsDirPath);
-			AllureAuthManager.confidentialityFilter(authProperties, reportDirPath + "/data/attachments");
+			AllureAuthManager.confidentialityFilter(authProperties, reportDirPath + "/data/attachments", filteredAttachments);
 		} catch (IOException e) {
 			logger.error("Error generating report");
 			logger.error("Exception: ", e);
@@ -130,6 +227,22 @@ public class AllureReportManager {
 		this.historyTrend = historyTrend;
 	}
 	
+	public int getReportEvery() {
+		return reportEvery;
+	}
+
+	public synchronized void setReportEvery(int reportEvery) {
+		this.reportEvery = reportEvery;
+	}
+
+	public boolean isAsyncReports() {
+		return asyncReports;
+	}
+
+	public synchronized void setAsyncReports(boolean asyncReports) {
+		this.asyncReports = asyncReports;
+	}
+
 	public Boolean loadCategories() {
 		return loadCategories;
 	}
@@ -107,15 +107,19 @@ public class StatsReportManager {
         // Get TestResults
         String csvTrPath = testDataDir + "/" + PropertyManager.readProperty("data.tests.testresults.file") + "_" + testId + ".csv";
         List<TestResult> trs = TestManager.getTestResults(csvTrPath);
+        Map<String, TestResult> trsById = new HashMap<>();
+        for (TestResult tr: trs)
+            trsById.putIfAbsent(tr.getId(), tr);
 
         // Iterate the test cases of an operation
         for(TestCase testCase: testCases) {
             // The results are only considered if the testCase is not faulty
             if (Boolean.TRUE.equals(!testCase.getFaulty())) {
                 // Obtain response code of the given testCase
-                String responseCode = trs.stream().filter(tr -> tr.getId().equals(testCase.getId()))
-                        .findFirst()
-                        .orElseThrow(() -> new NullPointerException("Associated test result not found")).getStatusCode();
+                TestResult testResult = trsById.get(testCase.getId());
+                if (testResult == null)
+                    throw new NullPointerException("Associated test result not found");
+                String responseCode = testResult.getStatusCode();
 
                 // Add parameter value to valid or invalid values depending on the response code, ONLY if this is a SemanticOperation
                 if (semanticOperations.stream().anyMatch(so -> so.getOperationId().equals(testCase.getOperationId())))
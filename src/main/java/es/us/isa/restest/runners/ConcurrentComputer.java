@@ -0,0 +1,63 @@
+package es.us.isa.restest.runners;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.runner.Computer;
+import org.junit.runner.Runner;
+import org.junit.runners.ParentRunner;
+import org.junit.runners.model.RunnerBuilder;
+import org.junit.runners.model.RunnerScheduler;
+
+/**
+ * JUnit computer that runs the test methods of a test class on a bounded pool of threads, so that up to
+ * {@code concurrency} requests are in flight at the same time.
+ */
+public class ConcurrentComputer extends Computer {
+
+	private final int concurrency;		// Maximum number of test methods run at the same time
+
+	private static final Logger logger = LogManager.getLogger(ConcurrentComputer.class.getName());
+
+	public ConcurrentComputer(int concurrency) {
+		this.concurrency = concurrency;
+	}
+
+	@Override
+	protected Runner getRunner(RunnerBuilder builder, Class<?> testClass) throws Throwable {
+		Runner runner = super.getRunner(builder, testClass);
+		if (runner instanceof ParentRunner)
+			((ParentRunner<?>) runner).setScheduler(new BoundedScheduler(concurrency));
+		return runner;
+	}
+
+	private static class BoundedScheduler implements RunnerScheduler {
+
+		private final ExecutorService pool;
+
+		BoundedScheduler(int concurrency) {
+			this.pool = Executors.newFixedThreadPool(concurrency);
+		}
+
+		@Override
+		public void schedule(Runnable childStatement) {
+			pool.submit(childStatement);
+		}
+
+		@Override
+		public void finished() {
+			pool.shutdown();
+			try {
+				pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+			} catch (InterruptedException e) {
+				logger.error("Test execution interrupted");
+				logger.error("Exception: ", e);
+				pool.shutdownNow();
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+}
@@ -14,12 +14,18 @@ import es.us.isa.restest.generators.AbstractTestCaseGenerator;
 import es.us.isa.restest.reporting.AllureReportManager;
 import es.us.isa.restest.reporting.StatsReportManager;
 import es.us.isa.restest.testcases.TestCase;
+import es.us.isa.restest.testcases.executors.IExecutor;
 import es.us.isa.restest.testcases.writers.IWriter;
+import es.us.isa.restest.testcases.writers.RESTAssuredWriter;
 
 import static es.us.isa.restest.util.Timer.TestStep.*;
 
 /**
- * This class implements a basic test workflow: test generation -&gt; test writing -&gt; class compilation and loading -&gt; test execution -&gt; test report generation -&gt; test coverage report generation
+ * This class implements a basic test workflow: test generation -&gt; test writing -&gt; class compilation and loading -&gt; test execution -&gt; test report generation -&gt; test coverage report generation.
+ * If an executor is set, test cases are executed in-process instead, and test writing is optional: test generation -&gt; test execution -&gt; test report generation -&gt; test coverage report generation
+ * <br>
+ * The workflow is split in two stages, {@link #prepare(String, String)} (generation, writing, compilation) and {@link #execute(TestSuite)}
+ * (execution and reporting), so that the next iteration can be prepared while the current one is being executed.
  * @author Sergio Segura
  *
  */
@@ -31,11 +37,14 @@ public class RESTestRunner {
 	private String packageName;							// Package name
 	private AbstractTestCaseGenerator generator;   		// Test case generator
 	protected IWriter writer;							// RESTAssured writer
+	protected IExecutor executor;						// In-process executor. If null, test classes are written, compiled and run with JUnit
+	private boolean writeTestClass = true;				// Whether to write the test class when tests are executed in-process
+	private int concurrency = 1;						// Maximum number of test cases executed concurrently
 	protected AllureReportManager allureReportManager;	// Allure report manager
 	protected StatsReportManager statsReportManager;	// Stats report manager
 	private boolean executeTestCases = true;			// Whether to execute test cases
 	private boolean allureReports = true;				// Whether to actually generate reports or not (folder "allure-reports")
-	private int numTestCases = 0;						// Number of test cases generated so far
+	private volatile int numTestCases = 0;				// Number of test cases generated so far
 
 	private boolean learnRegex;
 	private boolean secondPredicateSearch;
@@ -61,29 +70,66 @@ public class RESTestRunner {
 	}
 	  
 	public void run() throws RESTestException {
+		execute(prepare(testId, testClassName));
+	}
+
+	/**
+	 * Generates the test cases of an iteration and, if they are going to be run with JUnit, writes, compiles
+	 * and loads the test class. It does not modify the state used by {@link #execute(TestSuite)}, so the next
+	 * iteration can be prepared while the previous one is being executed.
+	 * @param testId ID of the test suite
+	 * @param testClassName Name of the test class (the writer must be configured accordingly)
+	 * @return The test suite, ready to be executed
+	 * @throws RESTestException if the test cases cannot be generated
+	 */
+	public TestSuite prepare(String testId, String testClassName) throws RESTestException {
 
 		// Test generation and writing (RESTAssured)
-		testGeneration();
+		Collection<TestCase> testCases = testGeneration(testClassName);
+
+		// Test class compilation and loading (only if tests are run with JUnit)
+		Class<?> testClass = null;
+		if (executeTestCases && executor == null)
+			testClass = getTestClass(testClassName);
+
+		return new TestSuite(testId, testClassName, testCases, testClass);
+	}
+
+	/**
+	 * Executes a test suite previously prepared with {@link #prepare(String, String)}, and generates the test
+	 * and coverage reports.
+	 * @param testSuite The test suite
+	 * @throws RESTestException if the test results cannot be processed
+	 */
+	public void execute(TestSuite testSuite) throws RESTestException {
+
+		// Pass test cases to the statistic report manager (CSV writing, coverage)
+		statsReportManager.setTestCases(testSuite.getTestCases());
 
 		if(executeTestCases) {
 			// Test execution
 			logger.info("Running tests");
 			System.setProperty("allure.results.directory", allureReportManager.getResultsDirPath());
-			testExecution(getTestClass());
+			if (executor != null)
+				testExecution(testSuite.getTestCases());
+			else
+				testExecution(testSuite.getTestClass());
 		}
 
-		generateReports();
+		generateReports(testSuite.getTestId());
 
 		if(learnRegex){
-			statsReportManager.learn(testId, spec, confPath);
+			statsReportManager.learn(testSuite.getTestId(), spec, confPath);
+			// The CSV files of values may have been filtered with the learned regexes
+			generator.resetGenerators();
 		}
 	}
 
-	protected void generateReports() {
+	protected void generateReports(String testId) {
 		if(executeTestCases && allureReports) {
-			// Generate test report
+			// Generate test report (depending on the configuration of the report manager, it may be generated later or in the background)
 			logger.info("Generating test report");
-			allureReportManager.generateReport();
+			allureReportManager.requestReport();
 		}
 
 		// Generate coverage report
@@ -91,15 +137,31 @@ public class RESTestRunner {
 		statsReportManager.generateReport(testId, executeTestCases);
 	}
 
-	protected Class<?> getTestClass() {
+	/**
+	 * Generates the test report of the results not reported yet, and waits for the reports being
+	 * generated in the background. Must be called after the last iteration.
+	 */
+	public void finishReports() {
+		if(executeTestCases && allureReports && allureReportManager != null) {
+			logger.info("Generating final test report");
+			allureReportManager.finishReports();
+		}
+	}
+
+	protected Class<?> getTestClass(String testClassName) {
 		// Load test class
 		String filePath = targetDir + "/" + testClassName + ".java";
 		String className = packageName + "." + testClassName;
 		logger.info("Compiling and loading test class {}.java", className);
+
+		// Compile the source code kept by the writer, instead of reading it back from disk
+		if (writer instanceof RESTAssuredWriter && ((RESTAssuredWriter) writer).getTestClassSource() != null)
+			return ClassLoader.compileAndLoad(className, ((RESTAssuredWriter) writer).getTestClassSource());
+
 		return ClassLoader.loadClass(filePath, className);
 	}
 
-	private void testGeneration() throws RESTestException {
+	private Collection<TestCase> testGeneration(String testClassName) throws RESTestException {
 	    
 		// Generate test cases
 		logger.info("Generating tests");
@@ -108,14 +170,14 @@ public class RESTestRunner {
 		Timer.stopCounting(TEST_SUITE_GENERATION);
         this.numTestCases += testCases.size();
 
-        // Pass test cases to the statistic report manager (CSV writing, coverage)
-        statsReportManager.setTestCases(testCases);
-        
-        // Write test cases
-        String filePath = targetDir + "/" + testClassName + ".java";
-        logger.info("Writing {} test cases to test class {}", testCases.size(), filePath);
-        writer.write(testCases);
+        // Write test cases (only required if they are not executed in-process)
+        if (executor == null || writeTestClass) {
+            String filePath = targetDir + "/" + testClassName + ".java";
+            logger.info("Writing {} test cases to test class {}", testCases.size(), filePath);
+            writer.write(testCases);
+        }
 
+        return testCases;
 	}
 
 	protected void testExecution(Class<?> testClass)  {
@@ -124,12 +186,23 @@ public class RESTestRunner {
 		//junit.addListener(new TextListener(System.out));
 		junit.addListener(new io.qameta.allure.junit4.AllureJunit4());
 		Timer.startCounting(TEST_SUITE_EXECUTION);
-		Result result = junit.run(testClass);
+		Result result = concurrency > 1 ? junit.run(new ConcurrentComputer(concurrency), testClass) : junit.run(testClass);
 		Timer.stopCounting(TEST_SUITE_EXECUTION);
 		int successfulTests = result.getRunCount() - result.getFailureCount() - result.getIgnoreCount();
 		logger.info("{} tests run in {} seconds. Successful: {}, Failures: {}, Ignored: {}", result.getRunCount(), result.getRunTime()/1000, successfulTests, result.getFailureCount(), result.getIgnoreCount());
 
 	}
+
+	protected void testExecution(Collection<TestCase> testCases) {
+
+		long startTime = System.currentTimeMillis();
+		Timer.startCounting(TEST_SUITE_EXECUTION);
+		int failures = executor.execute(testCases);
+		Timer.stopCounting(TEST_SUITE_EXECUTION);
+		long runTime = System.currentTimeMillis() - startTime;
+		logger.info("{} tests run in {} seconds. Successful: {}, Failures: {}, Ignored: {}", testCases.size(), runTime/1000, testCases.size() - failures, failures, 0);
+
+	}
 	
 	public String getTargetDir() {
 		return targetDir;
@@ -166,4 +239,62 @@ public class RESTestRunner {
 	public void setAllureReport(boolean allureReports) {
 		this.allureReports = allureReports;
 	}
+
+	public IExecutor getExecutor() {
+		return executor;
+	}
+
+	public void setExecutor(IExecutor executor) {
+		this.executor = executor;
+	}
+
+	public boolean isWriteTestClass() {
+		return writeTestClass;
+	}
+
+	public void setWriteTestClass(boolean writeTestClass) {
+		this.writeTestClass = writeTestClass;
+	}
+
+	/**
+	 * Test cases generated in one iteration, together with the test class compiled from them (if any).
+	 */
+	public static class TestSuite {
+
+		private final String testId;
+		private final String testClassName;
+		private final Collection<TestCase> testCases;
+		private final Class<?> testClass;
+
+		public TestSuite(String testId, String testClassName, Collection<TestCase> testCases, Class<?> testClass) {
+			this.testId = testId;
+			this.testClassName = testClassName;
+			this.testCases = testCases;
+			this.testClass = testClass;
+		}
+
+		public String getTestId() {
+			return testId;
+		}
+
+		public String getTestClassName() {
+			return testClassName;
+		}
+
+		public Collection<TestCase> getTestCases() {
+			return testCases;
+		}
+
+		public Class<?> getTestClass() {
+			return testClass;
+		}
+	}
+
+	public int getConcurrency() {
+		return concurrency;
+	}
+
+	public void setConcurrency(int concurrency) {
+		this.concurrency = concurrency;
+	}
 }
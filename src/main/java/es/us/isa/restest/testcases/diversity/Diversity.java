@@ -2,6 +2,7 @@ package es.us.isa.restest.testcases.diversity;
 
 import es.us.isa.restest.testcases.TestCase;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -47,11 +48,28 @@ public class Diversity {
 
     public Double evaluate(List<TestCase> testCases, TestCase testCase) {
         double maxSimilarity = 0;
+        String flatRepresentation = testCase.getFlatRepresentation();
         for (TestCase testCase_i: testCases) {
             if (testCase_i.getOperationId().equals(testCase.getOperationId()))
-                maxSimilarity = Math.max(maxSimilarity, similarityMeter.apply(testCase.getFlatRepresentation(), testCase_i.getFlatRepresentation()));
+                maxSimilarity = Math.max(maxSimilarity, similarityMeter.apply(flatRepresentation, testCase_i.getFlatRepresentation()));
         }
         return 1 - maxSimilarity;
     }
 
+    /**
+     * Same as {@link #evaluate(List, TestCase)}, but using the flat representations (see
+     * {@link TestCase#getFlatRepresentation()}) of the test cases, previously computed. All test
+     * cases must belong to the same operation. This method is thread-safe.
+     *
+     * @param flatRepresentations Flat representations of the test cases of an operation
+     * @param flatRepresentation Flat representation of the test case to evaluate
+     * @return Diversity of the test case with respect to the most similar one (1 - maxSimilarity)
+     */
+    public Double evaluate(Collection<String> flatRepresentations, String flatRepresentation) {
+        double maxSimilarity = 0;
+        for (String flatRepresentation_i: flatRepresentations)
+            maxSimilarity = Math.max(maxSimilarity, similarityMeter.apply(flatRepresentation, flatRepresentation_i));
+        return 1 - maxSimilarity;
+    }
+
 }
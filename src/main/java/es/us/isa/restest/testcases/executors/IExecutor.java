@@ -0,0 +1,21 @@
+package es.us.isa.restest.testcases.executors;
+
+import java.util.Collection;
+
+import es.us.isa.restest.testcases.TestCase;
+
+/**
+ * This interface defines a test executor. The classes that implement this interface should send domain-independent
+ * test cases directly to the API under test, without writing, compiling and loading them as source code first.
+ */
+public interface IExecutor {
+
+	/**
+	 * Executes a collection of domain-independent test cases against the API under test, applying the same oracles
+	 * as the test classes generated by the corresponding writer.
+	 * @param testCases The collection of domain-independent test cases to be executed
+	 * @return The number of test cases that failed
+	 */
+	int execute(Collection<TestCase> testCases);
+
+}
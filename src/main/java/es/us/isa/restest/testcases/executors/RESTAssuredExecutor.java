@@ -0,0 +1,414 @@
+package es.us.isa.restest.testcases.executors;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.atlassian.oai.validator.OpenApiInteractionValidator;
+
+import es.us.isa.restest.configuration.pojos.TestConfigurationObject;
+import es.us.isa.restest.specification.OpenAPISpecification;
+import es.us.isa.restest.testcases.TestCase;
+import es.us.isa.restest.testcases.restassured.filters.CSVFilter;
+import es.us.isa.restest.testcases.restassured.filters.LatencyFilter;
+import es.us.isa.restest.testcases.restassured.filters.NominalOrFaultyTestCaseFilter;
+import es.us.isa.restest.testcases.restassured.filters.ResponseValidationFilter;
+import es.us.isa.restest.testcases.restassured.filters.StatefulFilter;
+import es.us.isa.restest.testcases.restassured.filters.StatusCode5XXFilter;
+import es.us.isa.restest.util.OASAPIValidator;
+import es.us.isa.restest.util.PropertyManager;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.restassured.AllureRestAssured;
+import io.restassured.RestAssured;
+import io.restassured.filter.log.RequestLoggingFilter;
+import io.restassured.filter.log.ResponseLoggingFilter;
+import io.restassured.http.Method;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import io.swagger.v3.oas.models.PathItem.HttpMethod;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.io.IoBuilder;
+
+import static es.us.isa.restest.configuration.TestConfigurationIO.loadConfiguration;
+import static es.us.isa.restest.configuration.TestConfigurationVisitor.hasStatefulGenerators;
+import static es.us.isa.restest.util.FileManager.checkIfExists;
+import static io.qameta.allure.util.ResultsUtils.*;
+
+/** This class defines a test executor for the REST Assured framework. It sends the test cases directly to the API
+ * under test, with the same filters (oracles, CSV exporting, stateful data, Allure attachments) used by the classes
+ * generated by the {@link es.us.isa.restest.testcases.writers.RESTAssuredWriter RESTAssuredWriter}, but skipping
+ * the generation, compilation and loading of Java source code.
+ * <br>
+ * Up to {@code concurrency} test cases are executed at the same time. Each request
+ * carries its own filter instances, hence its own test result ID and faulty data.
+ */
+public class RESTAssuredExecutor implements IExecutor {
+
+	private boolean logging = false;				// Log requests and responses
+	private boolean allureReport = false;			// Generate request and response attachment for allure reports
+	private boolean enableStats = false;			// If true, export test results data to CSV
+	private boolean enableOutputCoverage = false;	// If true, export output coverage data to CSV
+
+	private String specPath;						// Path to OAS specification file
+	private OpenAPISpecification spec;				// OpenAPI spec
+	private TestConfigurationObject testConf;		// testConf
+	private String className;						// Test class name (only used for naming the tests in the Allure reports)
+	private String testId;							// Test suite ID
+	private String packageName;						// Package name (only used for naming the tests in the Allure reports)
+	private String baseURI;							// API base URI
+	private boolean logToFile;						// If 'true', REST-Assured requests and responses will be logged into external files
+	private boolean statefulFilter;					// If 'true', stateful filter will be used
+	private String proxy;							// Proxy to use for all requests in format host:port
+	private int concurrency = 1;					// Maximum number of test cases executed concurrently
+	private boolean asyncValidation = Boolean.parseBoolean(PropertyManager.readProperty("response.validation.async"));	// If 'true', responses are validated in a pool of worker threads
+
+	private String APIName;							// API name (necessary for folder name of exported data)
+
+	private static final LatencyFilter latencyFilter = new LatencyFilter();	// Records the latency of each request per operation
+
+	private static final Logger logger = LogManager.getLogger(RESTAssuredExecutor.class.getName());
+
+	public RESTAssuredExecutor(String specPath, String testConfPath, String className, String packageName, String baseURI, Boolean logToFile) {
+		this.specPath = specPath;
+		this.spec = new OpenAPISpecification(specPath);
+		this.testConf = loadConfiguration(testConfPath, spec);
+		this.className = className;
+		this.packageName = packageName;
+		this.baseURI = baseURI;
+		this.logToFile = logToFile;
+		this.statefulFilter = hasStatefulGenerators(testConf);
+	}
+
+	/* (non-Javadoc)
+	 * @see es.us.isa.restest.testcases.executors.IExecutor#execute(java.util.Collection)
+	 */
+	@Override
+	public int execute(Collection<TestCase> testCases) {
+
+		setUpProxy();
+
+		// Objects shared by all test cases. Filters holding test case data are created for each request
+		OpenApiInteractionValidator validator = OASAPIValidator.getValidator(specPath);
+		AllureRestAssured allureFilter = allureReport ? new AllureRestAssured() : null;
+		RequestLoggingFilter requestLoggingFilter = null;
+		ResponseLoggingFilter responseLoggingFilter = null;
+
+		if (logToFile) {
+			PrintStream logStream = IoBuilder.forLogger(logger).buildPrintStream();
+			requestLoggingFilter = RequestLoggingFilter.logRequestTo(logStream);
+			responseLoggingFilter = new ResponseLoggingFilter(logStream);
+		}
+
+		List<Callable<CompletableFuture<Boolean>>> tasks = new ArrayList<>();
+		for (TestCase t: testCases) {
+			RequestLoggingFilter reqLogFilter = requestLoggingFilter;
+			ResponseLoggingFilter resLogFilter = responseLoggingFilter;
+			tasks.add(() -> executeTestCase(t, validator, allureFilter, reqLogFilter, resLogFilter));
+		}
+
+		int nFailures = 0;
+		ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Math.min(concurrency, tasks.size())));
+		try {
+			for (Future<CompletableFuture<Boolean>> passed: pool.invokeAll(tasks)) {
+				if (!passed.get().get()) // Wait for the asynchronous validation of the response, if any
+					nFailures++;
+			}
+		} catch (InterruptedException e) {
+			logger.error("Test execution interrupted");
+			logger.error("Exception: ", e);
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			logger.error("Error executing test case");
+			logger.error("Exception: ", e);
+		} finally {
+			pool.shutdownNow();
+		}
+
+		return nFailures;
+	}
+
+	// Execute a single test case. Returns true if the test case passed, false otherwise. The result is only
+	// known after the response is validated, which may be done asynchronously
+	private CompletableFuture<Boolean> executeTestCase(TestCase t, OpenApiInteractionValidator validator, AllureRestAssured allureFilter, RequestLoggingFilter requestLoggingFilter, ResponseLoggingFilter responseLoggingFilter) {
+
+		String uuid = UUID.randomUUID().toString();
+		startAllureTestCase(uuid, t);
+		Status status = Status.PASSED;
+		RuntimeException failure = null;
+		ResponseValidationFilter validationFilter = enableStats || enableOutputCoverage ? new ResponseValidationFilter(validator, APIName, testId, t.getId()) : new ResponseValidationFilter(validator);
+		validationFilter.setAsync(asyncValidation);
+
+		try {
+			RequestSpecification request = createRequest(t);
+
+			// Filters
+			if (logToFile)
+				request.filter(requestLoggingFilter).filter(responseLoggingFilter);
+			if (allureFilter != null)
+				request.filter(allureFilter);
+			if (enableStats || enableOutputCoverage) {
+				request.filter(new StatusCode5XXFilter(APIName, testId, t.getId(), t.getFaulty(), t.getFulfillsDependencies(), t.getFaultyReason()))
+						.filter(new NominalOrFaultyTestCaseFilter(APIName, testId, t.getId(), t.getFaulty(), t.getFulfillsDependencies(), t.getFaultyReason()))
+						.filter(validationFilter)
+						.filter(new CSVFilter(APIName, testId, t.getId()));
+			} else {
+				request.filter(new StatusCode5XXFilter(t.getFaulty(), t.getFulfillsDependencies(), t.getFaultyReason()))
+						.filter(new NominalOrFaultyTestCaseFilter(t.getFaulty(), t.getFulfillsDependencies(), t.getFaultyReason()))
+						.filter(validationFilter);
+			}
+			if (statefulFilter && t.getMethod().equals(HttpMethod.GET))
+				request.filter(new StatefulFilter(specPath.substring(0, specPath.lastIndexOf('/')), t.getMethod().toString(), t.getPath()));
+			request.filter(latencyFilter);
+
+			// HTTP request
+			Response response = request
+					.when()
+					.request(Method.valueOf(t.getMethod().name()), t.getPath());
+
+			if (logging && !logToFile)
+				response.then().log().all();
+			else
+				response.then();
+
+			logger.debug("Test {} passed.", t.getId());
+		} catch (RuntimeException ex) {
+			logger.error("Test {} failed: {}", t.getId(), ex.getMessage());
+			status = Status.FAILED;
+			failure = ex;
+		}
+
+		CompletableFuture<String> pendingValidation = validationFilter.getPendingValidation();
+		if (failure != null || pendingValidation == null) {
+			stopAllureTestCase(uuid, status, failure);
+			return CompletableFuture.completedFuture(failure == null);
+		}
+
+		// The test case is reported once its response is validated
+		return pendingValidation.handle((errors, ex) -> {
+			RuntimeException validationFailure = null;
+			if (ex != null)
+				validationFailure = new RuntimeException("Error validating the response: " + ex.getMessage(), ex);
+			else if (errors != null)
+				validationFailure = new RuntimeException(errors);
+
+			if (validationFailure != null)
+				logger.error("Test {} failed: {}", t.getId(), validationFailure.getMessage());
+			stopAllureTestCase(uuid, validationFailure == null ? Status.PASSED : Status.FAILED, validationFailure);
+			return validationFailure == null;
+		});
+	}
+
+	private RequestSpecification createRequest(TestCase t) {
+		RequestSpecification request = RestAssured
+				.given()
+				.baseUri(baseURI);
+
+		if (logging && !logToFile)
+			request.log().all();
+
+		// Header parameters
+		for (Entry<String,String> param: t.getHeaderParameters().entrySet())
+			request.header(param.getKey(), param.getValue());
+
+		// Query parameters
+		for (Entry<String,String> param: t.getQueryParameters().entrySet())
+			request.queryParam(param.getKey(), param.getValue());
+
+		// Path parameters
+		for (Entry<String,String> param: t.getPathParameters().entrySet())
+			request.pathParam(param.getKey(), param.getValue().replace("{", ""));
+			// TODO: Once REST-Assured fixes the bug, stop removing "{" chars from path parameters
+
+		// Form-data parameters
+		if (t.getFormParameters().entrySet().stream().anyMatch(x -> checkIfExists(x.getValue())))
+			request.contentType("multipart/form-data");
+		else if (!t.getFormParameters().isEmpty())
+			request.contentType("application/x-www-form-urlencoded");
+
+		for (Entry<String,String> param: t.getFormParameters().entrySet()) {
+			if (checkIfExists(param.getValue()))
+				request.multiPart(param.getKey(), new File(param.getValue()));
+			else
+				request.formParam(param.getKey(), param.getValue());
+		}
+
+		// Body parameter
+		if ((t.getFormParameters() == null || t.getFormParameters().size() == 0) &&
+				(t.getMethod().equals(HttpMethod.POST) || t.getMethod().equals(HttpMethod.PUT)
+				|| t.getMethod().equals(HttpMethod.PATCH) ||
+				(t.getBodyParameter() != null && t.getMethod().equals(HttpMethod.DELETE))))
+			request.contentType(t.getInputFormat());
+		if (t.getBodyParameter() != null)
+			request.body(t.getBodyParameter());
+
+		return request;
+	}
+
+	// Register the test case in the Allure lifecycle, the same way the AllureJunit4 listener does for generated classes
+	private void startAllureTestCase(String uuid, TestCase t) {
+		if (!allureReport)
+			return;
+
+		String testClassName = packageName != null ? packageName + "." + className : className;
+		String fullName = testClassName + "." + t.getId();
+
+		io.qameta.allure.model.TestResult result = new io.qameta.allure.model.TestResult();
+		result.setUuid(uuid);
+		result.setHistoryId(md5(fullName));
+		result.setFullName(fullName);
+		result.setName(t.getId());
+		result.getLabels().addAll(Arrays.asList(
+				createPackageLabel(packageName),
+				createTestClassLabel(testClassName),
+				createTestMethodLabel(t.getId()),
+				createSuiteLabel(testClassName),
+				createHostLabel(),
+				createThreadLabel(),
+				createFrameworkLabel("restest"),
+				createLanguageLabel("java")
+		));
+
+		AllureLifecycle lifecycle = Allure.getLifecycle();
+		lifecycle.scheduleTestCase(result);
+		lifecycle.startTestCase(uuid);
+	}
+
+	private void stopAllureTestCase(String uuid, Status status, RuntimeException failure) {
+		if (!allureReport)
+			return;
+
+		AllureLifecycle lifecycle = Allure.getLifecycle();
+		lifecycle.updateTestCase(uuid, result -> {
+			result.setStatus(status);
+			if (failure != null)
+				result.setStatusDetails(getStatusDetails(failure).orElse(null));
+		});
+		lifecycle.stopTestCase(uuid);
+		lifecycle.writeTestCase(uuid);
+	}
+
+	private void setUpProxy() {
+		if (proxy != null) {
+			System.setProperty("http.proxyHost", proxy.split(":")[0]);
+			System.setProperty("http.proxyPort", proxy.split(":")[1]);
+			System.setProperty("http.nonProxyHosts", "localhost|127.0.0.1");
+			System.setProperty("https.proxyHost", proxy.split(":")[0]);
+			System.setProperty("https.proxyPort", proxy.split(":")[1]);
+			System.setProperty("https.nonProxyHosts", "localhost|127.0.0.1");
+		}
+	}
+
+	public boolean isLogging() {
+		return logging;
+	}
+
+	public void setLogging(boolean logging) {
+		this.logging = logging;
+	}
+
+	public boolean allureReport() {
+		return allureReport;
+	}
+
+	public void setAllureReport(boolean ar) {
+		this.allureReport = ar;
+	}
+
+	public boolean getEnableStats() {
+		return enableStats;
+	}
+
+	public void setEnableStats(boolean enableStats) {
+		this.enableStats = enableStats;
+	}
+
+	public boolean isEnableOutputCoverage() {
+		return enableOutputCoverage;
+	}
+
+	public void setEnableOutputCoverage(boolean enableOutputCoverage) {
+		this.enableOutputCoverage = enableOutputCoverage;
+	}
+
+	public String getSpecPath() {
+		return specPath;
+	}
+
+	public void setSpecPath(String specPath) {
+		this.specPath = specPath;
+	}
+
+	public String getClassName() {
+		return className;
+	}
+
+	public void setClassName(String className) {
+		this.className = className;
+	}
+
+	public String getPackageName() {
+		return packageName;
+	}
+
+	public void setPackageName(String packageName) {
+		this.packageName = packageName;
+	}
+
+	public String getBaseURI() {
+		return baseURI;
+	}
+
+	public void setBaseURI(String baseURI) {
+		this.baseURI = baseURI;
+	}
+
+	public String getAPIName() {
+		return APIName;
+	}
+
+	public void setAPIName(String APIName) {
+		this.APIName = APIName;
+	}
+
+	public void setTestId(String testId) {
+		this.testId = testId;
+	}
+
+	public boolean isStatefulFilter() {
+		return statefulFilter;
+	}
+
+	public void setStatefulFilter(boolean statefulFilter) {
+		this.statefulFilter = statefulFilter;
+	}
+
+	public String getProxy() {
+		return proxy;
+	}
+
+	public void setProxy(String proxy) {
+		this.proxy = proxy;
+	}
+
+	public int getConcurrency() {
+		return concurrency;
+	}
+
+	public void setConcurrency(int concurrency) {
+		this.concurrency = concurrency;
+	}
+}
@@ -16,12 +16,17 @@ public class CSVFilter extends RESTestFilter implements OrderedFilter {
         super(APIName, testId);
     }
 
+    public CSVFilter(String APIName, String testId, String testResultId) {
+        super(APIName, testId, testResultId);
+    }
+
     @Override
     public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec, FilterContext ctx) {
         Response response = ctx.next(requestSpec, responseSpec);
 
-        // Export output data after receiving API response
-        exportTestResultToCSV(response, true, "none");
+        // Export output data after receiving API response (unless it is exported when its asynchronous validation finishes)
+        if (!ctx.hasValue(ResponseValidationFilter.PENDING_VALIDATION))
+            exportTestResultToCSV(response, true, "none");
 
         return response;
     }
@@ -0,0 +1,30 @@
+package es.us.isa.restest.testcases.restassured.filters;
+
+import es.us.isa.restest.util.Timer;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * REST-Assured filter to record the latency of each request in the histogram of its
+ * operation (see {@link Timer#recordOperationLatency(String, long)}). It holds no test
+ * case data, so a single instance can be shared by all requests.
+ */
+public class LatencyFilter implements OrderedFilter {
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec, FilterContext ctx) {
+        long startTime = System.nanoTime();
+        Response response = ctx.next(requestSpec, responseSpec);
+        Timer.recordOperationLatency(requestSpec.getMethod() + " " + requestSpec.getUserDefinedPath(), System.nanoTime() - startTime);
+
+        return response;
+    }
+
+    @Override
+    public int getOrder() {
+        return Integer.MAX_VALUE; // Lowest priority of all filters. It must be added after the rest, so that it runs right before sending the request and right after receiving the response
+    }
+}
@@ -28,6 +28,10 @@ public class NominalOrFaultyTestCaseFilter extends RESTestFilter implements Orde
         super(testCaseIsFaulty, dependenciesFulfilled, faultyReason);
     }
 
+    public NominalOrFaultyTestCaseFilter(String APIName, String testId, String testResultId, Boolean testCaseIsFaulty, Boolean dependenciesFulfilled, String faultyReason) {
+        super(APIName, testId, testResultId, testCaseIsFaulty, dependenciesFulfilled, faultyReason);
+    }
+
     @Override
     public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec, FilterContext ctx) {
         Response response = ctx.next(requestSpec, responseSpec);
@@ -9,6 +9,11 @@ import io.restassured.response.Response;
  * This class implements a method to export a REST-Assured response to a TestResult
  * in CSV. Such method must be called before throwing the exception corresponding
  * to the oracle being violated.
+ * <br>
+ * Filters hold the data of the test case they are attached to (test result ID,
+ * faulty data, etc.). In order to execute several test cases concurrently, each
+ * request must use its own filter instances, instead of sharing a single instance
+ * whose data is updated before each request.
  */
 public class RESTestFilter {
 
@@ -42,10 +47,24 @@ public class RESTestFilter {
         this.APIName = APIName;
     }
 
+    public RESTestFilter(String APIName, String testId, String testResultId) {
+        this(APIName, testId);
+        this.testResultId = testResultId;
+    }
+
+    public RESTestFilter(String APIName, String testId, String testResultId, Boolean testCaseIsFaulty, Boolean dependenciesFulfilled, String faultyReason) {
+        this(testCaseIsFaulty, dependenciesFulfilled, faultyReason);
+        this.APIName = APIName;
+        this.testId = testId;
+        this.testResultId = testResultId;
+    }
+
     protected void exportTestResultToCSV(Response response, Boolean passed, String failReason) {
         String testDataFile = PropertyManager.readProperty("data.tests.dir") + "/" + APIName + "/" + PropertyManager.readProperty("data.tests.testresults.file") + "_" + testId + ".csv";
         TestResult tr = new TestResult(testResultId, Integer.toString(response.statusCode()), response.asString(), response.contentType(), passed, failReason);
-        tr.exportToCSV(testDataFile);
+        synchronized (RESTestFilter.class) { // Concurrent test cases export their results to the same CSV
+            tr.exportToCSV(testDataFile);
+        }
     }
 
     protected void saveTestResultAndThrowException(Response response, String message) {
@@ -5,6 +5,7 @@ import com.atlassian.oai.validator.model.Request;
 import com.atlassian.oai.validator.report.ValidationReport;
 import com.atlassian.oai.validator.restassured.RestAssuredRequest;
 import com.atlassian.oai.validator.restassured.RestAssuredResponse;
+import es.us.isa.restest.util.OASAPIValidator;
 import es.us.isa.restest.util.PropertyManager;
 import io.restassured.filter.FilterContext;
 import io.restassured.filter.OrderedFilter;
@@ -12,6 +13,10 @@ import io.restassured.response.Response;
 import io.restassured.specification.FilterableRequestSpecification;
 import io.restassured.specification.FilterableResponseSpecification;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import static com.atlassian.oai.validator.util.StringUtils.requireNonEmpty;
@@ -23,6 +28,11 @@ import static com.atlassian.oai.validator.util.StringUtils.requireNonEmpty;
  * to the API in order to create faulty test cases. Request body validation errors
  * (e.g. omitting a required property) will be whitelisted, while other errors will
  * be emitted as warnings.
+ * <br>
+ * Only the responses selected by the {@link ResponseValidationPolicy} are validated. In asynchronous
+ * mode, responses are validated in a pool of worker threads, so that the request thread does not wait
+ * for the validation. The result of the validation is then obtained with {@link #getPendingValidation()},
+ * and it is exported to CSV by this filter instead of the {@link CSVFilter}.
  *
  * @author Alberto Martin-Lopez
  */
@@ -31,43 +41,133 @@ public class ResponseValidationFilter extends RESTestFilter implements OrderedFi
     private final Boolean enabled = Boolean.parseBoolean(PropertyManager.readProperty("response.body.analysis"));
     private final Boolean limit = Boolean.parseBoolean(PropertyManager.readProperty("response.body.limit"));
     private final Long bodySizeLimit = Long.parseLong(PropertyManager.readProperty("response.body.size"));
+    private final ResponseValidationPolicy policy = ResponseValidationPolicy.getInstance();
+    private boolean async = false;
+    private CompletableFuture<String> pendingValidation;   // Errors found by the asynchronous validation (null if the response is valid)
+
+    static final String PENDING_VALIDATION = "restest.pendingValidation";   // Filter context value, set if the response is being validated asynchronously
+    private static final Pattern ITEM_INDEX = Pattern.compile("/\\d+(/|')");
+    private static ExecutorService validationWorkers;       // Shared by all the filters
 
     public ResponseValidationFilter(final String specUrlOrDefinition) {
         requireNonEmpty(specUrlOrDefinition, "A spec is required");
 
-        this.validator = OpenApiInteractionValidator.createFor(specUrlOrDefinition).build();
+        this.validator = OASAPIValidator.getValidator(specUrlOrDefinition);
+    }
+
+    /**
+     * Creates a filter that reuses an already built validator (e.g., one obtained from
+     * {@link OASAPIValidator#getValidator(String)}). OpenApiInteractionValidator instances
+     * are thread-safe.
+     */
+    public ResponseValidationFilter(final OpenApiInteractionValidator validator) {
+        this.validator = validator;
+    }
+
+    public ResponseValidationFilter(final OpenApiInteractionValidator validator, String APIName, String testId, String testResultId) {
+        super(APIName, testId, testResultId);
+        this.validator = validator;
+    }
+
+    public OpenApiInteractionValidator getValidator() {
+        return validator;
+    }
+
+    public boolean isAsync() {
+        return async;
+    }
+
+    /**
+     * @param async If true, responses are validated asynchronously. The result of the validation must be
+     *              obtained with {@link #getPendingValidation()}
+     */
+    public void setAsync(boolean async) {
+        this.async = async;
+    }
+
+    /**
+     * Returns the asynchronous validation of the last response, which completes with the errors found
+     * (or null if the response is valid), or null if the response is not being validated asynchronously.
+     * @return The pending validation
+     */
+    public CompletableFuture<String> getPendingValidation() {
+        return pendingValidation;
     }
 
     @Override
     public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec, FilterContext ctx) {
         final Response response = ctx.next(requestSpec, responseSpec);
-        final Request restAssuredRequest = RestAssuredRequest.of(requestSpec);
 
-        if (enabled && (!limit || response.getBody().asString().length() < bodySizeLimit))
-            filterValidation(response, restAssuredRequest.getPath(), restAssuredRequest.getMethod().toString());
+        if (enabled && policy.shouldValidate(requestSpec.getMethod(), requestSpec.getUserDefinedPath(), response.getStatusCode()) && !exceedsSizeLimit(response)) {
+            final Request restAssuredRequest = RestAssuredRequest.of(requestSpec);
+            if (async) {
+                response.getBody().asByteArray(); // Read the body in the request thread
+                ctx.setValue(PENDING_VALIDATION, true);
+                pendingValidation = CompletableFuture.supplyAsync(() -> {
+                    String errors = validate(response, restAssuredRequest.getPath(), restAssuredRequest.getMethod().toString());
+                    if (APIName != null && testResultId != null)
+                        exportTestResultToCSV(response, errors == null, errors == null ? "none" : errors);
+                    return errors;
+                }, getValidationWorkers());
+            } else
+                filterValidation(response, restAssuredRequest.getPath(), restAssuredRequest.getMethod().toString());
+        }
 
         return response;
     }
 
+    // The size of the body is taken from the Content-Length header, if present, to avoid reading the body
+    private boolean exceedsSizeLimit(Response response) {
+        if (!limit)
+            return false;
+
+        String contentLength = response.getHeader("Content-Length");
+        if (contentLength != null) {
+            try {
+                return Long.parseLong(contentLength) >= bodySizeLimit;
+            } catch (NumberFormatException e) {
+                // Read the body
+            }
+        }
+        return response.getBody().asString().length() >= bodySizeLimit;
+    }
+
     // If OAS validation error is found, throw exception
     public void filterValidation(Response response, String path, String method) {
-        final ValidationReport validationReport = validator.validateResponse(path, Request.Method.valueOf(method), RestAssuredResponse.of(response));
-        if (validationReport.hasErrors()) {
-            String errors = "OAS disconformity: " + getMessagesSummary(validationReport);
+        String errors = validate(response, path, method);
+        if (errors != null) {
             if (APIName != null && testResultId != null)
                 exportTestResultToCSV(response, false, errors);
             throw new RuntimeException(errors);
         }
     }
 
+    // Returns the errors found, or null if the response is valid
+    private String validate(Response response, String path, String method) {
+        final ValidationReport validationReport = validator.validateResponse(path, Request.Method.valueOf(method), RestAssuredResponse.of(response));
+        return validationReport.hasErrors() ? "OAS disconformity: " + getMessagesSummary(validationReport) : null;
+    }
+
     private String getMessagesSummary(ValidationReport validationReport) {
         return validationReport.getMessages().stream()
-                .map(m -> m.getMessage().replaceAll("/\\d+(/|')", "/[item]$1").replace(',', ';'))
+                .map(m -> ITEM_INDEX.matcher(m.getMessage()).replaceAll("/[item]$1").replace(',', ';'))
                 .distinct()
                 .sorted()
                 .collect(Collectors.joining(" --- "));
     }
 
+    private static synchronized ExecutorService getValidationWorkers() {
+        if (validationWorkers == null) {
+            String threads = PropertyManager.readProperty("response.validation.async.threads");
+            validationWorkers = Executors.newFixedThreadPool(threads != null ? Integer.parseInt(threads) : Runtime.getRuntime().availableProcessors(), r -> {
+                Thread thread = new Thread(r, "response-validation");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return validationWorkers;
+    }
+
     @Override
     public int getOrder() {
         return Integer.MAX_VALUE-3; // Fourth lowest priority of all filters, so it runs fourth-to-last before sending the request and fourth after sending it
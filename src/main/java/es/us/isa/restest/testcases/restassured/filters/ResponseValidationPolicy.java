@@ -0,0 +1,80 @@
+package es.us.isa.restest.testcases.restassured.filters;
+
+import es.us.isa.restest.util.PropertyManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Decides which responses are validated against the OAS by {@link ResponseValidationFilter}:
+ * <ul>
+ *     <li>ALWAYS: all responses.</li>
+ *     <li>FIRST_N: the first N responses of each operation and status code.</li>
+ *     <li>PERCENTAGE: a random sample with the given percentage of the responses.</li>
+ * </ul>
+ * Responses that are not validated are considered valid. There is one instance per process, configured
+ * in the global properties (response.validation.*).
+ */
+public class ResponseValidationPolicy {
+
+    public enum Mode { ALWAYS, FIRST_N, PERCENTAGE }
+
+    private static final int DEFAULT_FIRST_N = 100;
+    private static final double DEFAULT_PERCENTAGE = 10;
+
+    private static ResponseValidationPolicy instance;
+
+    private final Mode mode;
+    private final int firstN;
+    private final double percentage;
+    private final Map<String, AtomicInteger> validations = new ConcurrentHashMap<>();  // Operation and status code -> responses validated
+
+    ResponseValidationPolicy(Mode mode, int firstN, double percentage) {
+        this.mode = mode;
+        this.firstN = firstN;
+        this.percentage = percentage;
+    }
+
+    /**
+     * Returns the policy configured in the global properties, creating it if this is the first time it is used.
+     * @return The validation policy
+     */
+    public static synchronized ResponseValidationPolicy getInstance() {
+        if (instance == null) {
+            String mode = PropertyManager.readProperty("response.validation.policy");
+            String firstN = PropertyManager.readProperty("response.validation.first.n");
+            String percentage = PropertyManager.readProperty("response.validation.percentage");
+
+            instance = new ResponseValidationPolicy(mode != null ? Mode.valueOf(mode.toUpperCase()) : Mode.ALWAYS,
+                    firstN != null ? Integer.parseInt(firstN) : DEFAULT_FIRST_N,
+                    percentage != null ? Double.parseDouble(percentage) : DEFAULT_PERCENTAGE);
+        }
+
+        return instance;
+    }
+
+    /**
+     * Returns true if a response must be validated. With the FIRST_N policy, the response is counted.
+     * @param method HTTP method of the operation
+     * @param path Path of the operation, as defined in the OAS (e.g., "/pets/{petId}")
+     * @param statusCode Status code of the response
+     * @return true if the response must be validated
+     */
+    public boolean shouldValidate(String method, String path, int statusCode) {
+        switch (mode) {
+            case FIRST_N:
+                AtomicInteger validated = validations.computeIfAbsent(method + " " + path + " " + statusCode, k -> new AtomicInteger());
+                return validated.get() < firstN && validated.incrementAndGet() <= firstN;
+            case PERCENTAGE:
+                return ThreadLocalRandom.current().nextDouble() * 100 < percentage;
+            default:
+                return true;
+        }
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+}
@@ -21,6 +21,10 @@ public class StatusCode5XXFilter extends RESTestFilter implements OrderedFilter
         super(testCaseIsFaulty, dependenciesFulfilled, faultyReason);
     }
 
+    public StatusCode5XXFilter(String APIName, String testId, String testResultId, Boolean testCaseIsFaulty, Boolean dependenciesFulfilled, String faultyReason) {
+        super(APIName, testId, testResultId, testCaseIsFaulty, dependenciesFulfilled, faultyReason);
+    }
+
     @Override
     public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec, FilterContext ctx) {
         Response response = ctx.next(requestSpec, responseSpec);
@@ -45,6 +45,7 @@ public class RESTAssuredWriter implements IWriter {
 	private String proxy;							// Proxy to use for all requests in format host:port
 
 	private String APIName;							// API name (necessary for folder name of exported data)
+	private String testClassSource;					// Source code of the last test class written, kept for in-memory compilation
 
 	private static final Logger logger = LogManager.getLogger(RESTAssuredWriter.class.getName());
 	
@@ -91,6 +92,7 @@ public class RESTAssuredWriter implements IWriter {
 		contentFile += "}\n";
 		
 		//Save to file
+		testClassSource = contentFile;
 		saveToFile(targetDirJava,className,contentFile);
 		
 		/* Test Compile
@@ -111,12 +113,15 @@ public class RESTAssuredWriter implements IWriter {
 				+  "import org.junit.FixMethodOrder;\n"
 				+  "import static org.junit.Assert.fail;\n"
 				+  "import com.fasterxml.jackson.databind.ObjectMapper;\n"
+				+  "import com.atlassian.oai.validator.OpenApiInteractionValidator;\n"
 				+  "import static org.junit.Assert.assertTrue;\n"
 				+  "import org.junit.runners.MethodSorters;\n"
 		        +  "import io.qameta.allure.restassured.AllureRestAssured;\n"
 				+  "import es.us.isa.restest.testcases.restassured.filters.StatusCode5XXFilter;\n"
 				+  "import es.us.isa.restest.testcases.restassured.filters.NominalOrFaultyTestCaseFilter;\n"
 				+  "import es.us.isa.restest.testcases.restassured.filters.StatefulFilter;\n"
+				+  "import es.us.isa.restest.testcases.restassured.filters.LatencyFilter;\n"
+				+  "import es.us.isa.restest.util.OASAPIValidator;\n"
 				+  "import java.io.File;\n";
 		
 		// OAIValidation (Optional)
@@ -164,12 +169,11 @@ public class RESTAssuredWriter implements IWriter {
 		String content = "";
 		
 //		if (OAIValidation)
+		// Filters are created for each test (see generateFiltersInitialization), so that tests can be executed concurrently.
+		// Only the OAS validator, which is thread-safe and expensive to build, is shared among them (and among test classes)
 		content += "\tprivate static final String OAI_JSON_URL = \"" + specPath + "\";\n"
-				+  "\tprivate static final StatusCode5XXFilter statusCode5XXFilter = new StatusCode5XXFilter();\n"
-				+  "\tprivate static final NominalOrFaultyTestCaseFilter nominalOrFaultyTestCaseFilter = new NominalOrFaultyTestCaseFilter();\n"
-				+  "\tprivate static final ResponseValidationFilter validationFilter = new ResponseValidationFilter(OAI_JSON_URL);\n";
-		if (statefulFilter)
-			content += "\tprivate static final StatefulFilter statefulFilter = new StatefulFilter(\"" + specPath.substring(0, specPath.lastIndexOf('/')) + "\");\n";
+				+  "\tprivate static final OpenApiInteractionValidator validator = OASAPIValidator.getValidator(OAI_JSON_URL);\n"
+				+  "\tprivate static final LatencyFilter latencyFilter = new LatencyFilter();\n";
 
 		if (logToFile) {
 			content +=  "\tprivate static RequestLoggingFilter requestLoggingFilter;\n"
@@ -183,8 +187,7 @@ public class RESTAssuredWriter implements IWriter {
 
 		if (enableStats || enableOutputCoverage) { // This is only needed to export output data to the proper folder
 			content += "\tprivate static final String APIName = \"" + APIName + "\";\n"
-					+  "\tprivate static final String testId = \"" + testId + "\";\n"
-					+  "\tprivate static final CSVFilter csvFilter = new CSVFilter(APIName, testId);\n";
+					+  "\tprivate static final String testId = \"" + testId + "\";\n";
 		}
 
 //		if (statefulFilter) {
@@ -226,15 +229,6 @@ public class RESTAssuredWriter implements IWriter {
 					+	"\t\tctx.reconfigure();\n\n";
 		}
 
-		if (enableStats || enableOutputCoverage) {
-			content += "\t\tstatusCode5XXFilter.setAPIName(APIName);\n"
-					+  "\t\tstatusCode5XXFilter.setTestId(testId);\n"
-					+  "\t\tnominalOrFaultyTestCaseFilter.setAPIName(APIName);\n"
-					+  "\t\tnominalOrFaultyTestCaseFilter.setTestId(testId);\n"
-					+  "\t\tvalidationFilter.setAPIName(APIName);\n"
-					+  "\t\tvalidationFilter.setTestId(testId);\n";
-		}
-
 		content += "\t}\n\n";
 
 		return content;
@@ -314,17 +308,21 @@ public class RESTAssuredWriter implements IWriter {
 	private String generateFiltersInitialization(TestCase t) {
 		String content = "";
 
-		content += "\t\tnominalOrFaultyTestCaseFilter.updateFaultyData(" + t.getFaulty() + ", " + t.getFulfillsDependencies() + ", \"" + escapeJava(t.getFaultyReason()) + "\");\n" +
-				"\t\tstatusCode5XXFilter.updateFaultyData(" + t.getFaulty() + ", " + t.getFulfillsDependencies() + ", \"" + escapeJava(t.getFaultyReason()) + "\");\n";
+		String faultyData = t.getFaulty() + ", " + t.getFulfillsDependencies() + ", \"" + escapeJava(t.getFaultyReason()) + "\"";
 
 		if (enableStats || enableOutputCoverage)
-			content += "\t\tcsvFilter.setTestResultId(testResultId);\n" +
-					"\t\tstatusCode5XXFilter.setTestResultId(testResultId);\n" +
-					"\t\tnominalOrFaultyTestCaseFilter.setTestResultId(testResultId);\n" +
-					"\t\tvalidationFilter.setTestResultId(testResultId);\n";
+			content += "\t\tStatusCode5XXFilter statusCode5XXFilter = new StatusCode5XXFilter(APIName, testId, testResultId, " + faultyData + ");\n" +
+					"\t\tNominalOrFaultyTestCaseFilter nominalOrFaultyTestCaseFilter = new NominalOrFaultyTestCaseFilter(APIName, testId, testResultId, " + faultyData + ");\n" +
+					"\t\tResponseValidationFilter validationFilter = new ResponseValidationFilter(validator, APIName, testId, testResultId);\n" +
+					"\t\tCSVFilter csvFilter = new CSVFilter(APIName, testId, testResultId);\n";
+		else
+			content += "\t\tStatusCode5XXFilter statusCode5XXFilter = new StatusCode5XXFilter(" + faultyData + ");\n" +
+					"\t\tNominalOrFaultyTestCaseFilter nominalOrFaultyTestCaseFilter = new NominalOrFaultyTestCaseFilter(" + faultyData + ");\n" +
+					"\t\tResponseValidationFilter validationFilter = new ResponseValidationFilter(validator);\n";
 
 		if (statefulFilter && t.getMethod().equals(HttpMethod.GET)) {
-			content += "\t\tstatefulFilter.setOperation(\"" + t.getMethod().toString() + "\", \"" + t.getPath() + "\");\n";
+			content += "\t\tStatefulFilter statefulFilter = new StatefulFilter(\"" + specPath.substring(0, specPath.lastIndexOf('/')) + "\");\n" +
+					"\t\tstatefulFilter.setOperation(\"" + t.getMethod().toString() + "\", \"" + t.getPath() + "\");\n";
 		}
 
 		content += "\n";
@@ -433,6 +431,8 @@ public class RESTAssuredWriter implements IWriter {
 		if (statefulFilter && t.getMethod().equals(HttpMethod.GET)) {
 			content += "\t\t\t\t.filter(statefulFilter)\n";
 		}
+		// Latency of the request (added last, so that it runs right before sending it)
+		content += "\t\t\t\t.filter(latencyFilter)\n";
 
 		return content;
 	}
@@ -636,6 +636,10 @@ public class RESTAssuredWriter implements IWriter {
 		return APIName;
 	}
 
+	public String getTestClassSource() {
+		return testClassSource;
+	}
+
 	public void setAPIName(String APIName) {
 		this.APIName = APIName;
 	}
@@ -8,8 +8,11 @@ import java.io.File;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
 
 import static es.us.isa.restest.configuration.TestConfigurationIO.loadConfiguration;
 
@@ -40,22 +43,48 @@ public class AllureAuthManager {
     }
 
     public static void confidentialityFilter(List<String> authProperties, String allurePath) throws IOException {
+        confidentialityFilter(authProperties, allurePath, new HashMap<>());
+    }
+
+    /**
+     * Censors the values of the auth properties in the HTML files of a directory, skipping the files
+     * that were already censored in a previous call (i.e., those whose name and size have not changed).
+     * Files are only rewritten if something is censored.
+     *
+     * @param authProperties Names of the auth properties
+     * @param allurePath Directory containing the HTML files
+     * @param filteredFiles Name and size of the files censored in previous calls. It is updated with
+     *                      the files censored in this call
+     */
+    public static void confidentialityFilter(List<String> authProperties, String allurePath, Map<String, Long> filteredFiles) throws IOException {
         File resultsDir = new File(allurePath);
+        if (!resultsDir.isDirectory())
+            return;
+
         String[] allowedExtensions = {"html"};
+        List<Pattern> patterns = new ArrayList<>();
+        for (String authProperty : authProperties)
+            patterns.add(Pattern.compile("(" + authProperty + "([=:]))([^<&'])*([<&'])"));
 
         for (Iterator<File> it = FileUtils.iterateFiles(resultsDir, allowedExtensions, false); it.hasNext(); ) {
             File f = it.next();
+            if (Long.valueOf(f.length()).equals(filteredFiles.get(f.getName())))
+                continue;
+
             String fileString = FileManager.readFile(f.getPath());
+            if (fileString == null)
+                continue;
 
-            for (String authProperty : authProperties) {
-                if (fileString != null) {
-                    fileString = fileString.replaceAll("(" + authProperty + "([=:]))([^<&'])*([<&'])", "$1CENSORED$4");
-                }
-            }
+            String censoredString = fileString;
+            for (Pattern pattern : patterns)
+                censoredString = pattern.matcher(censoredString).replaceAll("$1CENSORED$4");
 
-            PrintWriter pw = new PrintWriter(f);
-            pw.print(fileString);
-            pw.close();
+            if (!censoredString.equals(fileString)) {
+                PrintWriter pw = new PrintWriter(f);
+                pw.print(censoredString);
+                pw.close();
+            }
+            filteredFiles.put(f.getName(), f.length());
         }
     }
 }
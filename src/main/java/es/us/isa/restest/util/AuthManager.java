@@ -132,7 +132,7 @@ public class AuthManager {
         expiration = nowInSeconds();
     }
 
-    public String getUpdatedOauthHeader() {
+    public synchronized String getUpdatedOauthHeader() {
         refreshTokenIfNeeded();
         return oauthHeader;
     }
@@ -174,7 +174,7 @@ public class AuthManager {
      * @param propertyName the name of the wanted auth key.
      * @return an auth key
      */
-    public String getAuthProperty(String propertyName) {
+    public synchronized String getAuthProperty(String propertyName) {
         itCounter = itCounter == authProperties.size()? 0 : itCounter;
         if(itCounter == 0) {
             int size = this.authProperties.entrySet().iterator().next().getValue().size();
@@ -1,6 +1,12 @@
 package es.us.isa.restest.util;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -24,6 +30,7 @@ public class CSVManager {
 	 */
 	public static List<String> readValues(String path) {
 		List<String> values = new ArrayList<String>();
+		CSVWriterService.getInstance().flush(path);
 		
 		Reader in;
 		try {
@@ -41,6 +48,17 @@ public class CSVManager {
 		return values;
 	}
 
+	/**
+	 * Returns a read-only list with the values of the first column in the input CSV file, like
+	 * {@link #readValues(String)}, but the file is memory-mapped and each value is decoded when
+	 * it is accessed (see {@link MappedCSVValues}). Use it for large dictionaries
+	 * @param path The path of the CSV file
+	 * @return the values of the first column of the CSV file
+	 */
+	public static List<String> mapValues(String path) {
+		return MappedCSVValues.open(path);
+	}
+
 	/**
 	 * Returns a list with the values of all rows (including header, if any)
 	 * of the input CSV file. Each row is a list of strings (one element per field)
@@ -50,6 +68,7 @@ public class CSVManager {
 	 */
 	public static List<List<String>> readCSV(String path, char delimiter) {
 		List<List<String>> rows = new ArrayList<>();
+		CSVWriterService.getInstance().flush(path);
 
 		Reader in;
 		try {
@@ -104,41 +123,48 @@ public class CSVManager {
 		writeCSVRow(path, header);
 	}
 
+	/**
+	 * Append a row to a CSV file. The row is buffered by {@link CSVWriterService}, and it is written
+	 * to disk before the file is read or deleted with this class or {@link FileManager}.
+	 * @param path Path of the CSV file
+	 * @param row Row to add, without line break
+	 */
 	public static void writeCSVRow(String path, String row) {
-		File csvFile = new File(path);
-		try(FileOutputStream oCsvFile = new FileOutputStream(csvFile, true)) {
-			row += "\n";
-			oCsvFile.write(row.getBytes());
-		} catch (IOException e) {
-			logger.error("The line could not be written to the CSV: {}", path);
-			logger.error("Exception: ", e);
-		}
-
+		CSVWriterService.getInstance().writeRow(path, row);
 	}
 
 	public static void collectionToCSV(String path, Collection<String> collection) {
-		try (FileWriter writer = new FileWriter(path)) {
-			String collect = collection.stream().collect(Collectors.joining("\n"));
-			writer.write(collect);
-		} catch (IOException e) {
-			logger.error(e.getMessage());
-		}
-
+		String collect = collection.stream().collect(Collectors.joining("\n"));
+		replaceFile(path, collect);
 	}
 
 	public static void setToCSVWithLimit(String path, Set<String> collection) {
+		List<String> collectionAsList = new ArrayList<>(collection);
+		Collections.shuffle(collectionAsList);
 
-		try (FileWriter writer = new FileWriter(path)) {
-			List<String> collectionAsList = new ArrayList<>(collection);
-			Collections.shuffle(collectionAsList);
-
-			Set<String> subSet = collectionAsList.stream().limit(LIMIT).collect(Collectors.toSet());
-			String collect = subSet.stream().collect(Collectors.joining("\n"));
-			writer.write(collect);
+		Set<String> subSet = collectionAsList.stream().limit(LIMIT).collect(Collectors.toSet());
+		String collect = subSet.stream().collect(Collectors.joining("\n"));
+		replaceFile(path, collect);
+	}
 
-		} catch(IOException e) {
-			logger.error(e.getMessage());
+	// Write to a temporary file and move it over the original one, instead of truncating it, since it may be mapped (see MappedCSVValues)
+	private static void replaceFile(String path, String content) {
+		CSVWriterService.getInstance().close(path);
+		Path filePath = Paths.get(path).toAbsolutePath();
+		Path tmpPath = null;
+		try {
+			tmpPath = Files.createTempFile(filePath.getParent(), filePath.getFileName().toString(), ".tmp");
+			Files.write(tmpPath, content.getBytes(StandardCharsets.UTF_8));
+			try {
+				Files.move(tmpPath, filePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(tmpPath, filePath, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} catch (IOException e) {
+			logger.error("Error replacing CSV file: {}", path);
+			logger.error("Exception: ", e);
+			if (tmpPath != null)
+				tmpPath.toFile().delete();
 		}
-
 	}
 }
@@ -0,0 +1,181 @@
+package es.us.isa.restest.util;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes rows to CSV files through long-lived buffered streams, instead of opening and closing the file
+ * for every row. There is one instance per process, shared by all threads, which keeps one stream per
+ * file (opened in append mode). Buffered rows are written to disk when the buffer is full, periodically,
+ * when the file is read or deleted through {@link CSVManager} or {@link FileManager}, and when the JVM
+ * shuts down. The bytes written are the same as if every row was appended to the file directly.
+ * <br>
+ * The number of open files is bounded: when the limit is reached, the least recently used stream is closed.
+ */
+public class CSVWriterService {
+
+	private static final int DEFAULT_BUFFER_SIZE = 65536;		// Bytes
+	private static final int DEFAULT_FLUSH_INTERVAL = 1;		// Seconds
+	private static final int DEFAULT_MAX_OPEN_FILES = 64;
+
+	private static CSVWriterService instance;
+
+	private static final Logger logger = LogManager.getLogger(CSVWriterService.class.getName());
+
+	private final int bufferSize;
+	private final int maxOpenFiles;
+	private final Map<String, OutputStream> streams = new LinkedHashMap<>(16, 0.75f, true);	// Absolute path -> stream, least recently used first
+
+	CSVWriterService(int bufferSize, int maxOpenFiles) {
+		this.bufferSize = bufferSize;
+		this.maxOpenFiles = maxOpenFiles;
+	}
+
+	/**
+	 * Returns the writer service of the process, creating it (and scheduling its periodic flushes) if
+	 * this is the first time it is used.
+	 * @return The writer service
+	 */
+	public static synchronized CSVWriterService getInstance() {
+		if (instance == null) {
+			instance = new CSVWriterService(PropertyManager.readIntProperty("data.csv.buffer.size", DEFAULT_BUFFER_SIZE),
+					PropertyManager.readIntProperty("data.csv.max.open.files", DEFAULT_MAX_OPEN_FILES));
+
+			ScheduledExecutorService flushScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+				Thread thread = new Thread(r, "csv-writer-flush");
+				thread.setDaemon(true);
+				return thread;
+			});
+
+			long interval = PropertyManager.readIntProperty("data.csv.flush.interval", DEFAULT_FLUSH_INTERVAL);
+			if (interval > 0)
+				flushScheduler.scheduleWithFixedDelay(instance::flushAll, interval, interval, TimeUnit.SECONDS);
+
+			Runtime.getRuntime().addShutdownHook(new Thread(instance::closeAll));
+		}
+
+		return instance;
+	}
+
+	/**
+	 * Appends a row (followed by a line break) to a CSV file. The row may not be written to disk until
+	 * the file is flushed.
+	 * @param path Path of the CSV file
+	 * @param row Row to append
+	 */
+	public synchronized void writeRow(String path, String row) {
+		String key = toKey(path);
+		try {
+			OutputStream stream = streams.get(key);
+			if (stream == null)
+				stream = open(key);
+			stream.write((row + "\n").getBytes());
+		} catch (IOException e) {
+			logger.error("The line could not be written to the CSV: {}", path);
+			logger.error("Exception: ", e);
+			close(key, streams.remove(key));
+		}
+	}
+
+	/**
+	 * Writes the buffered rows of a file to disk.
+	 * @param path Path of the CSV file
+	 */
+	public synchronized void flush(String path) {
+		String key = toKey(path);
+		OutputStream stream = streams.get(key);
+		if (stream != null) {
+			try {
+				stream.flush();
+			} catch (IOException e) {
+				logger.error("The CSV could not be flushed: {}", path);
+				logger.error("Exception: ", e);
+				close(key, streams.remove(key));
+			}
+		}
+	}
+
+	/**
+	 * Writes the buffered rows of all files to disk.
+	 */
+	public synchronized void flushAll() {
+		for (Iterator<Map.Entry<String, OutputStream>> it = streams.entrySet().iterator(); it.hasNext(); ) {
+			Map.Entry<String, OutputStream> entry = it.next();
+			try {
+				entry.getValue().flush();
+			} catch (IOException e) {
+				logger.error("The CSV could not be flushed: {}", entry.getKey());
+				logger.error("Exception: ", e);
+				close(entry.getKey(), entry.getValue());
+				it.remove();
+			}
+		}
+	}
+
+	/**
+	 * Flushes and closes the stream of a file, or of all the files under a directory. Must be called before
+	 * deleting or overwriting the file (or directory) by other means.
+	 * @param path Path of the CSV file or directory
+	 */
+	public synchronized void close(String path) {
+		String key = toKey(path);
+		for (Iterator<Map.Entry<String, OutputStream>> it = streams.entrySet().iterator(); it.hasNext(); ) {
+			Map.Entry<String, OutputStream> entry = it.next();
+			if (entry.getKey().equals(key) || entry.getKey().startsWith(key + File.separator)) {
+				close(entry.getKey(), entry.getValue());
+				it.remove();
+			}
+		}
+	}
+
+	/**
+	 * Flushes and closes the streams of all files.
+	 */
+	public synchronized void closeAll() {
+		for (Map.Entry<String, OutputStream> entry: streams.entrySet())
+			close(entry.getKey(), entry.getValue());
+		streams.clear();
+	}
+
+	private OutputStream open(String key) throws IOException {
+		if (streams.size() >= maxOpenFiles) { // Close the least recently used stream
+			Iterator<Map.Entry<String, OutputStream>> eldest = streams.entrySet().iterator();
+			Map.Entry<String, OutputStream> entry = eldest.next();
+			close(entry.getKey(), entry.getValue());
+			eldest.remove();
+		}
+
+		OutputStream stream = new BufferedOutputStream(new FileOutputStream(key, true), bufferSize);
+		streams.put(key, stream);
+		return stream;
+	}
+
+	private static void close(String key, OutputStream stream) {
+		if (stream == null)
+			return;
+
+		try {
+			stream.close();
+		} catch (IOException e) {
+			logger.error("The CSV could not be closed: {}", key);
+			logger.error("Exception: ", e);
+		}
+	}
+
+	private static String toKey(String path) {
+		return Paths.get(path).toAbsolutePath().normalize().toString();
+	}
+}
@@ -3,61 +3,80 @@ package es.us.isa.restest.util;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import java.io.File;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.net.URL;
-import java.net.URLClassLoader;
-import java.util.Arrays;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
 import javax.tools.JavaCompiler;
+import javax.tools.JavaFileManager;
 import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
 import javax.tools.StandardJavaFileManager;
-import javax.tools.StandardLocation;
 import javax.tools.ToolProvider;
 
 /**
- * 
+ * Compiles generated test classes and loads them. Compilation is done in memory: the source code is
+ * not read by javac from the file system and the bytecode is never written to disk. The compiler and
+ * its file manager (which caches the classpath) are created once and reused in every compilation.
+ * <br>
+ * Each compiled class is defined in its own class loader, which is not referenced from here, so
+ * that the class can be unloaded once the caller stops using it.
+ *
  * @author Sergio Segura
  */
 public class ClassLoader {
 
 	private static final Logger logger = LogManager.getLogger(ClassLoader.class.getName());
 
+	private static JavaCompiler compiler;
+	private static StandardJavaFileManager standardFileManager;
+
+	private ClassLoader() {}
+
+	/**
+	 * Compiles and loads the class stored in a Java source file.
+	 * @param filePath Path to the Java source file
+	 * @param className Fully qualified name of the class
+	 * @return The loaded class, or null if it could not be compiled or loaded
+	 */
 	public static Class<?> loadClass(String filePath, String className) {
-		File sourceFile = new File(filePath);
-		Class<?> loadedClass= null;
-		
-		// Compile the source file 
+		String sourceCode;
 		try {
-		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
-		StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null);
-		File parentDirectory = sourceFile.getParentFile();
-		fileManager.setLocation(StandardLocation.CLASS_OUTPUT, Arrays.asList(parentDirectory));
-		Iterable<? extends JavaFileObject> compilationUnits = fileManager.getJavaFileObjectsFromFiles(Arrays.asList(sourceFile));
-		compiler.getTask(null, fileManager, null, null, null, compilationUnits).call();
-		fileManager.close();
-		
-		 // load the compiled class
-		 loadedClass = loadClass(parentDirectory, className);
-
+			sourceCode = new String(Files.readAllBytes(Paths.get(filePath)), StandardCharsets.UTF_8);
 		} catch (IOException e) {
 			logger.error("Error loading class");
 			logger.error("Exception: ", e);
-		} catch (NullPointerException e) {
-			logger.error("Error loading class. Make sure JDK is used");
-			logger.error("Exception: ", e);
+			return null;
 		}
-		
-		return loadedClass;
+
+		return compileAndLoad(className, sourceCode);
 	}
 
-	private static Class<?> loadClass(File parentDirectory, String className) {
-		Class<?> loadedClass= null;
-		try(URLClassLoader classLoader = URLClassLoader.newInstance(new URL[] { parentDirectory.toURI().toURL() })) {
-			loadedClass = classLoader.loadClass(className);
-		} catch (IOException e) {
-			logger.error("Error loading class");
-			logger.error("Exception: ", e);
+	/**
+	 * Compiles and loads a class from its source code, without accessing the file system.
+	 * @param className Fully qualified name of the class
+	 * @param sourceCode Java source code of the class
+	 * @return The loaded class, or null if it could not be compiled or loaded
+	 */
+	public static Class<?> compileAndLoad(String className, String sourceCode) {
+		Map<String, byte[]> classBytes = compile(className, sourceCode);
+		if (classBytes == null)
+			return null;
+
+		Class<?> loadedClass = null;
+		try {
+			loadedClass = new MemoryClassLoader(classBytes).loadClass(className);
 		} catch (ClassNotFoundException e) {
 			logger.error("Class not found");
 			logger.error("Exception: ", e);
@@ -65,4 +84,108 @@ public class ClassLoader {
 
 		return loadedClass;
 	}
+
+	// Compile the source code. Returns the bytecode of each generated class (including nested classes), or null if the compilation failed
+	private static synchronized Map<String, byte[]> compile(String className, String sourceCode) {
+		if (compiler == null) {
+			compiler = ToolProvider.getSystemJavaCompiler();
+			if (compiler == null) {
+				logger.error("Error loading class. Make sure JDK is used");
+				return null;
+			}
+			standardFileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8);
+		}
+
+		MemoryFileManager fileManager = new MemoryFileManager(standardFileManager);
+		DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+		JavaFileObject compilationUnit = new SourceFileObject(className, sourceCode);
+		Boolean success = compiler.getTask(null, fileManager, diagnostics, null, null, Collections.singletonList(compilationUnit)).call();
+
+		if (!Boolean.TRUE.equals(success)) {
+			logger.error("Error compiling class {}", className);
+			for (Diagnostic<? extends JavaFileObject> diagnostic: diagnostics.getDiagnostics())
+				logger.error("Line {}: {}", diagnostic.getLineNumber(), diagnostic.getMessage(null));
+			return null;
+		}
+
+		return fileManager.getClassBytes();
+	}
+
+	// Java source code held in memory
+	private static class SourceFileObject extends SimpleJavaFileObject {
+
+		private final String sourceCode;
+
+		SourceFileObject(String className, String sourceCode) {
+			super(URI.create("string:///" + className.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+			this.sourceCode = sourceCode;
+		}
+
+		@Override
+		public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+			return sourceCode;
+		}
+	}
+
+	// Bytecode of a compiled class held in memory
+	private static class ClassFileObject extends SimpleJavaFileObject {
+
+		private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+		ClassFileObject(String className) {
+			super(URI.create("bytes:///" + className.replace('.', '/') + Kind.CLASS.extension), Kind.CLASS);
+		}
+
+		@Override
+		public OutputStream openOutputStream() {
+			return bytes;
+		}
+
+		byte[] getBytes() {
+			return bytes.toByteArray();
+		}
+	}
+
+	// Delegates to the shared standard file manager, but keeps compiler output in memory
+	private static class MemoryFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+
+		private final Map<String, ClassFileObject> classFiles = new HashMap<>();
+
+		MemoryFileManager(StandardJavaFileManager fileManager) {
+			super(fileManager);
+		}
+
+		@Override
+		public JavaFileObject getJavaFileForOutput(JavaFileManager.Location location, String className, JavaFileObject.Kind kind, FileObject sibling) {
+			ClassFileObject classFile = new ClassFileObject(className);
+			classFiles.put(className, classFile);
+			return classFile;
+		}
+
+		Map<String, byte[]> getClassBytes() {
+			Map<String, byte[]> classBytes = new HashMap<>();
+			for (Map.Entry<String, ClassFileObject> classFile: classFiles.entrySet())
+				classBytes.put(classFile.getKey(), classFile.getValue().getBytes());
+			return classBytes;
+		}
+	}
+
+	// Defines the classes compiled in memory. One instance per compiled test class, so that it can be garbage collected with it
+	private static class MemoryClassLoader extends java.lang.ClassLoader {
+
+		private final Map<String, byte[]> classBytes;
+
+		MemoryClassLoader(Map<String, byte[]> classBytes) {
+			super(ClassLoader.class.getClassLoader());
+			this.classBytes = classBytes;
+		}
+
+		@Override
+		protected Class<?> findClass(String name) throws ClassNotFoundException {
+			byte[] bytes = classBytes.remove(name);
+			if (bytes == null)
+				throw new ClassNotFoundException(name);
+			return defineClass(name, bytes, 0, bytes.length);
+		}
+	}
 }
@@ -30,6 +30,7 @@ public class FileManager {
     }
 
     public static Boolean deleteFile(String path) {
+        CSVWriterService.getInstance().close(path);
         File file = new File(path);
         return file.delete();
     }
@@ -43,6 +44,7 @@ public class FileManager {
     }
 
     public static void deleteDir(String path) {
+        CSVWriterService.getInstance().close(path);
         File file = new File(path);
         try {
             FileUtils.deleteDirectory(file);
@@ -53,6 +55,7 @@ public class FileManager {
     }
 
     public static String readFile(String path) {
+        CSVWriterService.getInstance().flush(path);
         try {
             return new String(Files.readAllBytes(Paths.get(path)));
         } catch (IOException e) {
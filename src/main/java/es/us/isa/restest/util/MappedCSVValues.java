@@ -0,0 +1,217 @@
+package es.us.isa.restest.util;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Read-only list with the values of the first column of a CSV file (same values as
+ * {@link CSVManager#readValues(String)}), decoded on demand from a memory-mapped copy of the file.
+ * <br>
+ * The offset of each row is kept in a line index, built once. For files of at least
+ * {@value #INDEX_FILE_MIN_SIZE} bytes, the index is saved beside the CSV file (with the extension
+ * {@value #INDEX_FILE_EXTENSION}) and memory-mapped too, so it is only built again if the CSV file
+ * changes. This way, large dictionaries take almost no heap, and they are shared through the page
+ * cache by all the JVMs that use them.
+ * <br>
+ * Files are expected to be replaced, not modified in place, while they are mapped. Rows appended to
+ * the file after it is mapped are not visible.
+ */
+public class MappedCSVValues extends AbstractList<String> implements RandomAccess {
+
+	public static final String INDEX_FILE_EXTENSION = ".idx";
+	private static final long INDEX_FILE_MIN_SIZE = 1 << 20;	// 1 MB
+	private static final int INDEX_MAGIC = 0x43535649;		// "CSVI"
+	private static final int INDEX_HEADER_SIZE = 24;		// Magic, CSV length, CSV last modified and number of rows
+
+	private static final Logger logger = LogManager.getLogger(MappedCSVValues.class.getName());
+
+	private final ByteBuffer data;
+	private final IntBuffer offsets;	// Offset of the first byte of each row
+	private final int limit;
+
+	private MappedCSVValues(ByteBuffer data, IntBuffer offsets) {
+		this.data = data;
+		this.offsets = offsets;
+		this.limit = data.limit();
+	}
+
+	/**
+	 * Maps a CSV file. If the file cannot be read, an empty list is returned, as with
+	 * {@link CSVManager#readValues(String)}.
+	 * @param path The path of the CSV file
+	 * @return the values of the first column of the CSV file
+	 */
+	public static List<String> open(String path) {
+		return open(path, INDEX_FILE_MIN_SIZE);
+	}
+
+	static List<String> open(String path, long indexFileMinSize) {
+		CSVWriterService.getInstance().flush(path);
+		File csvFile = new File(path);
+
+		try (FileChannel channel = FileChannel.open(csvFile.toPath(), StandardOpenOption.READ)) {
+			long length = channel.size();
+			long lastModified = csvFile.lastModified();
+			if (length > Integer.MAX_VALUE) {
+				logger.warn("The CSV file {} is too large to be mapped, it will be loaded in memory", path);
+				return CSVManager.readValues(path);
+			}
+
+			MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+			IntBuffer offsets = null;
+			if (length >= indexFileMinSize) {
+				File indexFile = new File(path + INDEX_FILE_EXTENSION);
+				offsets = readIndexFile(indexFile, length, lastModified);
+				if (offsets == null) {
+					int[] rowOffsets = indexRows(data);
+					writeIndexFile(indexFile, length, lastModified, rowOffsets);
+					offsets = IntBuffer.wrap(rowOffsets);
+				}
+			} else
+				offsets = IntBuffer.wrap(indexRows(data));
+
+			return new MappedCSVValues(data, offsets);
+		} catch (IOException ex) {
+			logger.error("Error mapping CSV file: {}", path);
+			logger.error("Exception: ", ex);
+			return new MappedCSVValues(ByteBuffer.allocate(0), IntBuffer.allocate(0));
+		}
+	}
+
+	@Override
+	public String get(int index) {
+		if (index < 0 || index >= size())
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+
+		int start = offsets.get(index);
+		if (start < limit && data.get(start) == '"')
+			return decodeQuoted(start + 1);
+
+		int end = start;
+		while (end < limit && !isFieldEnd(data.get(end)))
+			end++;
+		byte[] bytes = new byte[end - start];
+		ByteBuffer field = data.duplicate();
+		field.position(start);
+		field.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	@Override
+	public int size() {
+		return offsets.limit();
+	}
+
+	// Quoted value, from the byte after the opening quote to the closing one. Escaped quotes ("") are unescaped
+	private String decodeQuoted(int start) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		for (int i = start; i < limit; i++) {
+			byte b = data.get(i);
+			if (b == '"') {
+				if (i + 1 < limit && data.get(i + 1) == '"')
+					i++;
+				else
+					break;
+			}
+			bytes.write(b);
+		}
+		return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+	}
+
+	private static boolean isFieldEnd(byte b) {
+		return b == ',' || b == '\n' || b == '\r';
+	}
+
+	// Offsets of all rows, following the EXCEL format: line breaks within quoted values do not end the row
+	static int[] indexRows(ByteBuffer data) {
+		int limit = data.limit();
+		int[] offsets = new int[1024];
+		int rows = 0;
+		if (limit > 0)
+			offsets[rows++] = 0;
+
+		boolean quoted = false;
+		boolean fieldStart = true;
+		for (int i = 0; i < limit; i++) {
+			byte b = data.get(i);
+			if (quoted) {
+				if (b == '"') {
+					if (i + 1 < limit && data.get(i + 1) == '"')
+						i++;
+					else
+						quoted = false;
+				}
+			} else if (b == '"' && fieldStart) {
+				quoted = true;
+				fieldStart = false;
+			} else if (b == '\n' || b == '\r') {
+				if (b == '\r' && i + 1 < limit && data.get(i + 1) == '\n')
+					i++;
+				if (i + 1 < limit) {
+					if (rows == offsets.length)
+						offsets = Arrays.copyOf(offsets, rows * 2);
+					offsets[rows++] = i + 1;
+				}
+				fieldStart = true;
+			} else
+				fieldStart = b == ',';
+		}
+
+		return Arrays.copyOf(offsets, rows);
+	}
+
+	// Mapped offsets of the index file, or null if it does not exist or it was built from another version of the CSV file
+	private static IntBuffer readIndexFile(File indexFile, long csvLength, long csvLastModified) {
+		if (!indexFile.isFile())
+			return null;
+
+		try (FileChannel channel = FileChannel.open(indexFile.toPath(), StandardOpenOption.READ)) {
+			if (channel.size() < INDEX_HEADER_SIZE)
+				return null;
+			MappedByteBuffer index = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			int rows = index.getInt(20);
+			if (index.getInt(0) != INDEX_MAGIC || index.getLong(4) != csvLength || index.getLong(12) != csvLastModified
+					|| channel.size() != INDEX_HEADER_SIZE + 4L * rows)
+				return null;
+
+			index.position(INDEX_HEADER_SIZE);
+			return index.slice().asIntBuffer();
+		} catch (IOException e) {
+			logger.warn("The index file {} could not be read: {}", indexFile, e.getMessage());
+			return null;
+		}
+	}
+
+	// Write to a temporary file first, so that other processes never read a half-written index
+	private static void writeIndexFile(File indexFile, long csvLength, long csvLastModified, int[] offsets) {
+		Path tmpPath = null;
+		try {
+			tmpPath = Files.createTempFile(indexFile.getAbsoluteFile().getParentFile().toPath(), indexFile.getName(), ".tmp");
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmpPath)))) {
+				out.writeInt(INDEX_MAGIC);
+				out.writeLong(csvLength);
+				out.writeLong(csvLastModified);
+				out.writeInt(offsets.length);
+				for (int offset: offsets)
+					out.writeInt(offset);
+			}
+			Files.move(tmpPath, indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			logger.warn("The index file {} could not be written, it will be kept in memory: {}", indexFile, e.getMessage());
+			if (tmpPath != null)
+				tmpPath.toFile().delete();
+		}
+	}
+}
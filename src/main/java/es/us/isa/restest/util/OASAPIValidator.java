@@ -10,18 +10,62 @@ import com.atlassian.oai.validator.whitelist.ValidationErrorsWhitelist;
 
 import es.us.isa.restest.specification.OpenAPISpecification;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide registry of OAS validators, shared by the validation of requests (test cases) and responses
+ * (ResponseValidationFilter), so that each specification is only parsed once. Validators are kept per
+ * specification path, together with the hash of the content of the specification they were built from:
+ * a validator is only built again if the content of the file changes. OpenApiInteractionValidator instances
+ * are thread-safe.
+ */
 public class OASAPIValidator {
 
-	private static OpenApiInteractionValidator validator;						// OAS validator
-	private static OpenAPISpecification spec = null;							// OAS specification
-	
-	private static OASAPIValidator instance = null;							// Singleton object
-	
-	
-	private OASAPIValidator(OpenAPISpecification spec) {
-		
-		this.spec = spec;
-		
+	private static final Map<String, ValidatorEntry> validators = new ConcurrentHashMap<>();	// Spec path -> validator
+
+	private OASAPIValidator() {}
+
+	public static OpenApiInteractionValidator getValidator(OpenAPISpecification oas) {
+		return getValidator(oas.getPath());
+	}
+
+	/**
+	 * Returns the validator of a specification, building it if this is the first time it is used, or if the
+	 * specification file has changed since the validator was built.
+	 * @param specUrlOrDefinition Path (or URL) of the specification, or the specification itself
+	 * @return The validator
+	 */
+	public static OpenApiInteractionValidator getValidator(String specUrlOrDefinition) {
+		File specFile = new File(specUrlOrDefinition);
+		boolean isFile = specUrlOrDefinition.length() < 4096 && specFile.isFile();
+		String key = isFile ? specFile.getAbsolutePath() : specUrlOrDefinition;
+
+		ValidatorEntry entry = validators.get(key);
+		if (entry != null && (!isFile || entry.isUpToDate(specFile)))
+			return entry.validator;
+
+		synchronized (validators) {
+			entry = validators.get(key);
+			if (entry != null && (!isFile || entry.isUpToDate(specFile)))
+				return entry.validator;
+
+			String hash = isFile ? hash(specFile) : null;
+			if (entry == null || hash == null || !hash.equals(entry.hash))	// Content changed: build the validator again
+				entry = new ValidatorEntry(buildValidator(specUrlOrDefinition), hash);
+			if (isFile)
+				entry.setFileStamp(specFile);
+			validators.put(key, entry);
+			return entry.validator;
+		}
+	}
+
+	private static OpenApiInteractionValidator buildValidator(String specUrlOrDefinition) {
 		// Test case validator:
 		// Whitelist: Fix for swagger-validation library: formData parameters defined as string should not
 		// violate the schema when using numbers or booleans, since those are still strings.
@@ -34,19 +78,44 @@ public class OASAPIValidator {
 								messageContainsSubstring("does not match any allowed primitive type (allowed: [\"string\"])")
 						)
 				);
-		this.validator = OpenApiInteractionValidator.createFor(spec.getPath()).withWhitelist(whitelist).build();
+		return OpenApiInteractionValidator.createFor(specUrlOrDefinition).withWhitelist(whitelist).build();
 	}
-	
-	
-	public static OpenApiInteractionValidator getValidator(OpenAPISpecification oas) {
-		
-		if (instance==null || !spec.equals(oas)) {
-			spec = oas;
-			instance = new OASAPIValidator(oas);
+
+	// SHA-256 of the content of the file, or null if it cannot be read
+	private static String hash(File specFile) {
+		try {
+			byte[] hash = MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(specFile.toPath()));
+			StringBuilder hex = new StringBuilder();
+			for (byte b: hash)
+				hex.append(String.format("%02x", b));
+			return hex.toString();
+		} catch (IOException | NoSuchAlgorithmException e) {
+			return null;
+		}
+	}
+
+	// Validator of a specification, and the content (hash) and last modification of the file it was built from
+	private static class ValidatorEntry {
+
+		private final OpenApiInteractionValidator validator;
+		private final String hash;
+		private volatile long lastModified = -1;
+		private volatile long length = -1;
+
+		ValidatorEntry(OpenApiInteractionValidator validator, String hash) {
+			this.validator = validator;
+			this.hash = hash;
+		}
+
+		// The content is only hashed again if the file has been modified since the last check
+		boolean isUpToDate(File specFile) {
+			return specFile.lastModified() == lastModified && specFile.length() == length;
+		}
+
+		void setFileStamp(File specFile) {
+			this.lastModified = specFile.lastModified();
+			this.length = specFile.length();
 		}
-		
-		return validator;
-		
 	}
-	
+
 }
@@ -35,6 +35,17 @@ public class PropertyManager {
 		
 	}
 
+	/**
+	 * Reads an integer global property.
+	 * @param name Name of the property
+	 * @param defaultValue Value returned if the property is not set
+	 * @return The value of the property, or {@code defaultValue} if it is not set
+	 */
+	public static int readIntProperty(String name, int defaultValue) {
+		String value = readProperty(name);
+		return value != null ? Integer.parseInt(value) : defaultValue;
+	}
+
 	public static String readProperty(String evalPropertiesFilePath, String name) {
 
 		if (experimentProperties ==null) {
@@ -9,7 +9,10 @@ import io.swagger.v3.oas.models.media.Schema;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.regex.Pattern;
 
@@ -20,12 +23,60 @@ public class SchemaManager {
         B (eventually) points to A. In these cases, we cannot represent the whole
         object, e.g., A->B->A, so we represent A->B->{} (empty object without properties).
         To achieve this, we need to keep track of the references, which is the purpose
-        of the currentRefPath.
+        of the currentRefPath. There is one per thread, since schemas may be resolved
+        concurrently (e.g., when generating test cases for several operations at once).
      */
-    private static String currentRefPath = "";
+    private static final ThreadLocal<String> currentRefPath = ThreadLocal.withInitial(() -> "");
+
+    // Fully resolved schemas, indexed by the (unresolved) schema of the specification they were resolved from
+    private static final Map<Schema<?>, Schema<?>> resolvedSchemas = Collections.synchronizedMap(new IdentityHashMap<>());
 
     private SchemaManager() {}
 
+    /**
+     * Returns the fully resolved version of a schema of the specification (see
+     * {@link #generateFullyResolvedSchema(Schema, OpenAPI)}), resolving it only the first time. The
+     * schema returned is shared, so it must not be modified: use {@link #copySchema(Schema)} to get
+     * a copy that can be modified (e.g., mutated).
+     * @param schema Schema of the specification (e.g., of a request body)
+     * @param spec Specification
+     * @return The fully resolved schema
+     */
+    public static Schema<?> getFullyResolvedSchema(Schema<?> schema, OpenAPI spec) {
+        return resolvedSchemas.computeIfAbsent(schema, s -> {
+            String refPath = currentRefPath.get();
+            currentRefPath.set(""); // The schema is resolved from its root
+            try {
+                return generateFullyResolvedSchema(s, spec);
+            } finally {
+                currentRefPath.set(refPath);
+            }
+        });
+    }
+
+    /**
+     * Returns a deep copy of a fully resolved schema, with the same properties and items. Since the schema
+     * is already resolved, this is much cheaper than resolving it again.
+     * @param schema Fully resolved schema
+     * @return Copy of the schema
+     */
+    public static Schema<?> copySchema(Schema<?> schema) {
+        Schema copy = schema instanceof ArraySchema ? new ArraySchema() : new Schema();
+        prePopulateSchema(schema, copy);
+
+        if (schema instanceof ArraySchema && ((ArraySchema) schema).getItems() != null)
+            ((ArraySchema) copy).setItems(copySchema(((ArraySchema) schema).getItems()));
+
+        if (schema.getProperties() != null) {
+            Map<String, Schema> properties = new LinkedHashMap<>();
+            for (Map.Entry<String, Schema> entry: schema.getProperties().entrySet())
+                properties.put(entry.getKey(), copySchema(entry.getValue()));
+            copy.setProperties(properties);
+        }
+
+        return copy;
+    }
+
     public static Schema<?> generateFullyResolvedObjectSchema(Schema<?> schema, OpenAPI spec) {
         Schema<?> resolvedSchema = resolveSchemaAndUpdateRefPath(schema, spec);
         Schema copy = new Schema();
@@ -63,8 +114,7 @@ public class SchemaManager {
 
         if (schema.get$ref() != null) {
             String schemaSubRef = schema.get$ref().replace("#/components/schemas", "");
-            currentRefPath = currentRefPath.replaceAll(schemaSubRef + "/.*", "");
-            currentRefPath = currentRefPath.replaceAll(schemaSubRef + "$", "");
+            currentRefPath.set(currentRefPath.get().replaceAll(schemaSubRef + "/.*", "").replaceAll(schemaSubRef + "$", ""));
         }
 
         return fullyResolvedSchema;
@@ -136,8 +186,8 @@ public class SchemaManager {
         String schemaSubRef;
         while (resolvedSchema.get$ref() != null) {
             schemaSubRef = resolvedSchema.get$ref().replace("#/components/schemas/", "");
-            if (!Pattern.compile("/" + schemaSubRef + "/|/" + schemaSubRef + "$").matcher(currentRefPath).find()) {
-                currentRefPath += "/" + schemaSubRef;
+            if (!Pattern.compile("/" + schemaSubRef + "/|/" + schemaSubRef + "$").matcher(currentRefPath.get()).find()) {
+                currentRefPath.set(currentRefPath.get() + "/" + schemaSubRef);
                 resolvedSchema = spec.getComponents().getSchemas().get(schemaSubRef);
             } else {
                 resolvedSchema.set$ref(null);
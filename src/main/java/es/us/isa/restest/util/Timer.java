@@ -1,37 +1,103 @@
 package es.us.isa.restest.util;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 import static es.us.isa.restest.util.CSVManager.createCSVwithHeader;
 import static es.us.isa.restest.util.CSVManager.writeCSVRow;
 import static es.us.isa.restest.util.FileManager.checkIfExists;
 
+/**
+ * Measures the time taken by each step of the testing process. Times are measured in
+ * nanoseconds with {@link System#nanoTime()} and:
+ * <ul>
+ *     <li>kept per step and iteration (in milliseconds) for the time report, when measured with
+ *     {@link #startCounting(TestStep)} and {@link #stopCounting(TestStep)}; and</li>
+ *     <li>recorded in a {@link LatencyHistogram} per step, and per API operation for the requests
+ *     sent (see {@link #recordOperationLatency(String, long)}), with constant memory.</li>
+ * </ul>
+ * Steps that run concurrently (e.g. the generation of each test case) must be measured with
+ * {@link #startTiming()} and {@link #stopTiming(TestStep, long)}, which are lock-free.
+ */
 public class Timer {
 
     private static Map<String, List<Long>> counters = new HashMap<>();
+    private static final Map<String, Long> startTimes = new HashMap<>();                                // Step -> start of its current measure
+    private static final Map<String, LatencyHistogram> stepHistograms = new ConcurrentHashMap<>();      // Step -> durations
+    private static final Map<String, LatencyHistogram> operationHistograms = new ConcurrentHashMap<>(); // Operation -> request latencies
 
     public static Map<String, List<Long>> getCounters() {
         return counters;
     }
 
-    public static void resetCounters() { counters = new HashMap<>(); }
+    public static Map<String, LatencyHistogram> getStepHistograms() {
+        return stepHistograms;
+    }
+
+    public static Map<String, LatencyHistogram> getOperationHistograms() {
+        return operationHistograms;
+    }
+
+    public static synchronized void resetCounters() {
+        counters = new HashMap<>();
+        startTimes.clear();
+        stepHistograms.clear();
+        operationHistograms.clear();
+    }
 
-    public static void startCounting(TestStep step) {
+    public static synchronized void startCounting(TestStep step) {
         counters.putIfAbsent(step.name, new ArrayList<>());
         List<Long> stepMeasures = counters.get(step.name);
-        if (stepMeasures.size() > 0 && stepMeasures.get(stepMeasures.size()-1) < 0)
+        if (startTimes.containsKey(step.name))
             stepMeasures.remove(stepMeasures.size() - 1);
 //            throw new IllegalStateException("A timer of the same type can only be started once before it's stopped.");
-        stepMeasures.add(-new Date().getTime());
+        stepMeasures.add(0L);
+        startTimes.put(step.name, System.nanoTime());
     }
 
-    public static void stopCounting(TestStep step) {
-        Long stopTime = new Date().getTime();
+    public static synchronized void stopCounting(TestStep step) {
+        long stopTime = System.nanoTime();
+        Long startTime = startTimes.remove(step.name);
+        if (startTime == null)
+            throw new IllegalStateException("The timer " + step.name + " was not started.");
+
         List<Long> stepMeasures = counters.get(step.name);
-        stepMeasures.set(stepMeasures.size()-1, stopTime+stepMeasures.get(stepMeasures.size()-1));
+        stepMeasures.set(stepMeasures.size()-1, TimeUnit.NANOSECONDS.toMillis(stopTime - startTime));
+        getHistogram(stepHistograms, step.name).record(stopTime - startTime);
+    }
+
+    /**
+     * Starts measuring a step that may run concurrently with other measures of the same step.
+     * @return Start time, to be passed to {@link #stopTiming(TestStep, long)}
+     */
+    public static long startTiming() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Records the time elapsed since a measure was started in the histogram of a step.
+     * @param step Step measured
+     * @param startTime Start time returned by {@link #startTiming()}
+     */
+    public static void stopTiming(TestStep step, long startTime) {
+        getHistogram(stepHistograms, step.name).record(System.nanoTime() - startTime);
     }
 
-    public static void exportToCSV(String path, Integer iterations) {
+    /**
+     * Records the latency of a request sent to an API operation.
+     * @param operation Operation, e.g. "GET /pets/{petId}"
+     * @param nanos Latency in nanoseconds
+     */
+    public static void recordOperationLatency(String operation, long nanos) {
+        getHistogram(operationHistograms, operation).record(nanos);
+    }
+
+    private static LatencyHistogram getHistogram(Map<String, LatencyHistogram> histograms, String name) {
+        return histograms.computeIfAbsent(name, n -> new LatencyHistogram());
+    }
+
+    public static synchronized void exportToCSV(String path, Integer iterations) {
         if (!checkIfExists(path)) { // If the file doesn't exist, create it (only once)
             StringBuilder header = new StringBuilder();
             boolean first = true;
@@ -72,6 +138,32 @@ public class Timer {
         writeCSVRow(path, row.toString());
     }
 
+    /**
+     * Exports the histograms of all steps and operations to CSV, one row per histogram. Times are
+     * written in milliseconds. The file is overwritten.
+     * @param path Path of the CSV file
+     */
+    public static synchronized void exportHistogramsToCSV(String path) {
+        createCSVwithHeader(path, "type,name,count,mean,p50,p90,p99,max");
+        for (Map.Entry<String, LatencyHistogram> entry: new TreeMap<>(stepHistograms).entrySet())
+            writeHistogramRow(path, "step", entry.getKey(), entry.getValue());
+        for (Map.Entry<String, LatencyHistogram> entry: new TreeMap<>(operationHistograms).entrySet())
+            writeHistogramRow(path, "operation", entry.getKey(), entry.getValue());
+    }
+
+    private static void writeHistogramRow(String path, String type, String name, LatencyHistogram histogram) {
+        writeCSVRow(path, type + "," + name + "," + histogram.getCount()
+                + "," + toMillis(histogram.getMean())
+                + "," + toMillis(histogram.getPercentile(50))
+                + "," + toMillis(histogram.getPercentile(90))
+                + "," + toMillis(histogram.getPercentile(99))
+                + "," + toMillis(histogram.getMax()));
+    }
+
+    private static String toMillis(double nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000);
+    }
+
     public enum TestStep {
         TEST_CASE_GENERATION("Test case generation"),
         TEST_SUITE_GENERATION("Test suite generation"),
@@ -43,6 +43,32 @@ public class CoverageGathererTest {
 
     }
 
+    @Test
+    public void coverageGathererIndexedCountersTest() {
+        String oasPath = "src/test/resources/Bikewise/swagger.yaml";
+        OpenAPISpecification oas = new OpenAPISpecification(oasPath);
+        CoverageGatherer covGath = new CoverageGatherer(oas);
+
+        for (CriterionType type: CriterionType.values()) {
+            assertEquals("Wrong number of elements for type " + type, covGath.getCoverageCriteria().stream().filter(c -> c.getType() == type).mapToLong(CoverageCriterion::getElementsCount).sum(), covGath.getElementsCount(type));
+            assertEquals("No element of type " + type + " should be covered", 0, covGath.getCoveredElementsCount(type));
+        }
+
+        CoverageCriterion pathCriterion = covGath.getCoverageCriterion(PATH, "");
+        assertNotNull("The path criterion should be indexed", pathCriterion);
+        String path = pathCriterion.getElements().keySet().iterator().next();
+
+        covGath.coverElement(PATH, "", path);
+        covGath.coverElement(PATH, "", path);
+        covGath.coverElement(PATH, "", "/nonExistingPath");
+        covGath.coverElement(OPERATION, "/nonExistingPath", "GET");
+
+        assertEquals("Only one path should be covered", 1, covGath.getCoveredElementsCount(PATH));
+        assertEquals("Only one path should be covered", 1, pathCriterion.getCoveredElementsCount());
+        assertTrue("The path should be covered", pathCriterion.getElements().get(path));
+        assertEquals("No operation should be covered", 0, covGath.getCoveredElementsCount(OPERATION));
+    }
+
     @Test
     public void coverageGathererComplexParametersTest() {
         String oasPath = "src/test/resources/GitHub/swagger_forTestSuite.yaml";
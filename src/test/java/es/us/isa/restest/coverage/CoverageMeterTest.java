@@ -168,4 +168,34 @@ public class CoverageMeterTest {
 
         assertTrue("The new coverage should be lower than the old one", covMeter.getTotalCoverage() < oldCoverage);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void incrementalAPosterioriCoverageTest() {
+        CoverageMeter aPosterioriCovMeter = covMeter.getAPosteriorCoverageMeter();
+        float oldCoverage = aPosterioriCovMeter.getTotalCoverage();
+
+        List<TestCase> newTestSuite = new ArrayList<>();
+        TestCase tc4 = new TestCase(generateId(), false, "getOrderById", "/store/order/{orderId}", HttpMethod.GET);
+        tc4.addPathParameter("orderId", "5");
+        TestCase tc5 = new TestCase(generateId(), false, "deleteOrder", "/store/order/{orderId}", HttpMethod.DELETE);
+        tc5.addPathParameter("orderId", "7");
+        newTestSuite.add(tc4);
+        newTestSuite.add(tc5);
+        List<TestResult> newTestResults = new ArrayList<>();
+        newTestResults.add(new TestResult(tc4.getId(), "200", "{\"id\": 5, \"status\": \"placed\"}", "application/json"));
+        newTestResults.add(new TestResult(tc5.getId(), "404", "", "application/json"));
+
+        covMeter.addTestSuite(newTestSuite);
+        covMeter.addTestResults(newTestResults, newTestSuite);
+
+        assertSame("The a posteriori coverage meter should be updated, not created again", aPosterioriCovMeter, covMeter.getAPosteriorCoverageMeter());
+        assertTrue("The new a posteriori coverage should be higher than the old one", aPosterioriCovMeter.getTotalCoverage() > oldCoverage);
+
+        CoverageMeter recomputedCovMeter = covMeter.getAPosteriorCoverageMeter(Integer.MAX_VALUE);
+        assertEquals("Wrong number of test cases", recomputedCovMeter.getTestSuite().size(), aPosterioriCovMeter.getTestSuite().size());
+        assertEquals("Wrong input coverage", recomputedCovMeter.getCoveredInputElements(), aPosterioriCovMeter.getCoveredInputElements());
+        assertEquals("Wrong output coverage", recomputedCovMeter.getCoveredOutputElements(), aPosterioriCovMeter.getCoveredOutputElements());
+        for (CriterionType type: CriterionType.values())
+            assertEquals("Wrong coverage of " + type, recomputedCovMeter.getCriterionTypeCoverage(type), aPosterioriCovMeter.getCriterionTypeCoverage(type), 0.001);
+    }
+}
@@ -1,5 +1,6 @@
 package es.us.isa.restest.generators;
 
+import es.us.isa.idlreasonerchoco.analyzer.Analyzer;
 import es.us.isa.restest.configuration.TestConfigurationFilter;
 import es.us.isa.restest.configuration.TestConfigurationIO;
 import es.us.isa.restest.configuration.pojos.TestConfigurationObject;
@@ -15,7 +16,11 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
+import static es.us.isa.restest.generators.ConstraintBasedTestCaseGenerator.INTER_PARAMETER_DEPENDENCY;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 public class ConstraintBasedTestCaseGeneratorTest {
@@ -553,6 +558,41 @@ public class ConstraintBasedTestCaseGeneratorTest {
 	}
 	
 	
+	@Test
+	public void commentsConstraintBasedTestCaseGeneratorReusesIDLReasoner() throws RESTestException {
+		OpenAPISpecification spec = new OpenAPISpecification("src/test/resources/Comments/swagger.yaml");
+		TestConfigurationObject conf = TestConfigurationIO.loadConfiguration("src/test/resources/Comments/testConf.yaml", spec);
+
+		ConstraintBasedTestCaseGenerator generator = new ConstraintBasedTestCaseGenerator(spec, conf, 10);
+		generator.setFaultyRatio(0.5f);
+		generator.setFaultyDependencyRatio(0.5f);
+		generator.setRequestPoolSize(5);
+
+		List<TestConfigurationFilter> filters = new ArrayList<>();
+		TestConfigurationFilter filter = new TestConfigurationFilter();
+		filter.setPath("/comments");
+		filter.addGetMethod();
+		filters.add(filter);
+
+		Collection<TestCase> testCases = new ArrayList<>(generator.generate(filters));
+		Analyzer idlReasoner = generator.getIdlReasoner();
+		assertNotNull("The operation has dependencies, so IDLReasoner should have been set up", idlReasoner);
+
+		testCases.addAll(generator.generate(filters));
+		assertSame("IDLReasoner should be reused across calls to generate()", idlReasoner, generator.getIdlReasoner());
+
+		// Requests taken from the pool should be as valid (or invalid) as the ones solved on demand
+		assertEquals("Incorrect number of test cases", 20, testCases.size());
+		synchronized (idlReasoner) { // The pool may still be solving requests in the background
+			for (TestCase tc: testCases) {
+				if (INTER_PARAMETER_DEPENDENCY.equals(tc.getFaultyReason()))
+					assertFalse("The test case should violate the dependencies", TestCase.checkFulfillsDependencies(tc, idlReasoner));
+				else if (!tc.getFaulty())
+					assertTrue("The test case should satisfy the dependencies", TestCase.checkFulfillsDependencies(tc, idlReasoner));
+			}
+		}
+	}
+
 	@Test
 	public void commentsConstraintBasedTestCaseGeneratorWithFiltersAndFaults() throws RESTestException {
 		
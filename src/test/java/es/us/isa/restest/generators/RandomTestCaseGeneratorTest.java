@@ -2,14 +2,18 @@ package es.us.isa.restest.generators;
 
 import es.us.isa.restest.configuration.TestConfigurationFilter;
 import es.us.isa.restest.configuration.TestConfigurationIO;
+import es.us.isa.restest.configuration.TestConfigurationVisitor;
+import es.us.isa.restest.configuration.pojos.Operation;
 import es.us.isa.restest.configuration.pojos.TestConfigurationObject;
 import es.us.isa.restest.coverage.CoverageGatherer;
 import es.us.isa.restest.coverage.CoverageMeter;
+import es.us.isa.restest.inputs.ITestDataGenerator;
 import es.us.isa.restest.specification.OpenAPISpecification;
 import es.us.isa.restest.testcases.TestCase;
 import es.us.isa.restest.testcases.writers.RESTAssuredWriter;
 import es.us.isa.restest.util.RESTestException;
 
+import org.javatuples.Pair;
 import org.junit.Ignore;
 import org.junit.Test;
 
@@ -19,16 +23,86 @@ import static es.us.isa.restest.coverage.CriterionType.PARAMETER;
 import static es.us.isa.restest.coverage.CriterionType.PARAMETER_VALUE;
 import static es.us.isa.restest.coverage.CriterionType.PATH;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 public class RandomTestCaseGeneratorTest {
 
 	// PET STORE
 
+	@Test
+	public void petstoreTestCaseGeneratorReusesTestDataGenerators() throws RESTestException {
+		OpenAPISpecification spec = new OpenAPISpecification("src/test/resources/Petstore/swagger.yaml");
+		TestConfigurationObject conf = TestConfigurationIO.loadConfiguration("src/test/resources/Petstore/fullConf.yaml", spec);
+		AbstractTestCaseGenerator generator = new RandomTestCaseGenerator(spec, conf, 3);
+
+		List<TestConfigurationFilter> filters = new ArrayList<>();
+		TestConfigurationFilter filter = new TestConfigurationFilter();
+		filter.setPath("/user/login");
+		filter.addGetMethod();
+		filters.add(filter);
+
+		generator.generate(filters);
+		Map<Pair<String, String>, List<ITestDataGenerator>> firstGenerators = generator.getNominalGenerators();
+		generator.generate(filters);
+		assertSame("The test data generators should be reused", firstGenerators, generator.getNominalGenerators());
+
+		// Change the configuration of a generator
+		Operation operation = TestConfigurationVisitor.getOperation(conf, "/user/login", "GET");
+		operation.getTestParameters().get(0).getGenerators().get(0).getGenParameters().get(0).setValues(Collections.singletonList("2"));
+		generator.generate(filters);
+		assertNotSame("The test data generators should be created again after changing the configuration", firstGenerators, generator.getNominalGenerators());
+
+		Map<Pair<String, String>, List<ITestDataGenerator>> secondGenerators = generator.getNominalGenerators();
+		generator.resetGenerators();
+		generator.generate(filters);
+		assertNotSame("The test data generators should be created again after resetting them", secondGenerators, generator.getNominalGenerators());
+	}
+
+	@Test
+	public void restcountriesConcurrentTestCaseGeneratorIsReproducible() throws RESTestException {
+		assertConcurrentGenerationIsReproducible("src/test/resources/Restcountries/openapi.yaml", "src/test/resources/Restcountries/fullConf.yaml", 0f);
+	}
+
+	@Test
+	public void commentsConcurrentTestCaseGeneratorWithFaultyTestCasesIsReproducible() throws RESTestException {
+		// Random strings and mutations of faulty test cases should only depend on the seed too
+		assertConcurrentGenerationIsReproducible("src/test/resources/Comments/swagger_demo.yaml", "src/test/resources/Comments/testConf_demo.yaml", 0.5f);
+	}
+
+	private void assertConcurrentGenerationIsReproducible(String specPath, String confPath, float faultyRatio) throws RESTestException {
+		OpenAPISpecification spec = new OpenAPISpecification(specPath);
+
+		List<String> sequentialTestCases = new ArrayList<>();
+		List<String> concurrentTestCases = new ArrayList<>();
+		for (int threads: new int[] {1, 4}) {
+			TestConfigurationObject conf = TestConfigurationIO.loadConfiguration(confPath, spec);
+			AbstractTestCaseGenerator generator = new RandomTestCaseGenerator(spec, conf, 5);
+			generator.setSeed(42);
+			generator.setFaultyRatio(faultyRatio);
+			generator.setGenerationThreads(threads);
+
+			for (int i = 0; i < 2; i++) {
+				Collection<TestCase> testCases = generator.generate();
+				assertEquals("Incorrect number of test cases", 5 * conf.getTestConfiguration().getOperations().size(), testCases.size());
+				for (TestCase tc: testCases)
+					(threads == 1 ? sequentialTestCases : concurrentTestCases).add(tc.getOperationId() + tc.getPathParameters() + tc.getQueryParameters() + tc.getHeaderParameters() + tc.getFaulty());
+			}
+			assertEquals("Incorrect number of test cases", 10 * conf.getTestConfiguration().getOperations().size(), generator.nTotalTests);
+			if (faultyRatio > 0)
+				assertTrue("Faulty test cases should be generated", generator.nTotalFaulty > 0);
+		}
+
+		assertEquals("The same test cases should be generated with the same seed, regardless of the number of threads", sequentialTestCases, concurrentTestCases);
+	}
+
 	@Test
 	public void petstoreTestCaseGeneratorWithFilters() throws RESTestException {
 		// Load specification
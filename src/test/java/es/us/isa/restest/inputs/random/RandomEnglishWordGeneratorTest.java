@@ -5,12 +5,16 @@ import static org.junit.Assert.*;
 import es.us.isa.restest.configuration.pojos.GenParameter;
 import es.us.isa.restest.configuration.pojos.Generator;
 import es.us.isa.restest.inputs.TestDataGeneratorFactory;
+import net.sf.extjwnl.data.POS;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 
 public class RandomEnglishWordGeneratorTest {
 
@@ -101,6 +105,32 @@ public class RandomEnglishWordGeneratorTest {
 		}	
 	}
 	
+	@Test
+	public void testSeed() {
+		RandomEnglishWordGenerator gen = new RandomEnglishWordGenerator();
+		RandomEnglishWordGenerator gen2 = new RandomEnglishWordGenerator();
+		gen2.setSeed(gen.getSeed());
+
+		for (int i=0;i<100;i++)
+			assertEquals("Generators with the same seed should generate the same words", gen.nextValue(), gen2.nextValue());
+	}
+
+	@Test
+	public void testLemmasCache() {
+		File cacheFile = new File("target/test-data/RandomEnglishWordGeneratorTest/wordnet-lemmas.bin");
+		cacheFile.delete();
+
+		Map<POS, String[]> lemmas = new HashMap<>();
+		for (POS pos: POS.getAllPOS())
+			lemmas.put(pos, WordNetLemmas.getInstance().getLemmas(pos, true));
+		WordNetLemmas.writeCache(cacheFile, lemmas);
+
+		Map<POS, String[]> cachedLemmas = WordNetLemmas.readCache(cacheFile);
+		assertNotNull("The cache file should be read", cachedLemmas);
+		for (POS pos: POS.getAllPOS())
+			assertArrayEquals("Cached lemmas should be the same as those of the dictionary", lemmas.get(pos), cachedLemmas.get(pos));
+	}
+
 	private int numberOfWords(String sentence) {
 		String trimmed = sentence.trim();
 		return trimmed.isEmpty() ? 0 : trimmed.split("\\s+").length;
@@ -123,6 +123,44 @@ public class RandomInputValueIteratorTest {
 		}
 	}
 	
+	@Test
+	public void testRandomIteratorMultipleValuesWithoutRepetition() {
+		RandomInputValueIterator<String> iterator = new RandomInputValueIterator<>(stringValues);
+		iterator.setMinValues(stringValues.size());
+		iterator.setMaxValues(stringValues.size());
+
+		for (int i = 0; i < 100; i++) {
+			List<String> value = (List<String>) iterator.nextValue();
+			assertEquals("All values should be returned", stringValues.size(), value.size());
+			assertEquals("Values should not be repeated", new HashSet<>(stringValues), new HashSet<>(value));
+		}
+	}
+
+	@Test
+	public void testRandomIteratorMultipleValuesLargeList() {
+		List<Integer> largeValues = new AbstractList<Integer>() {
+			@Override
+			public Integer get(int index) {
+				return index;
+			}
+
+			@Override
+			public int size() {
+				return 10000000;
+			}
+		};
+
+		RandomInputValueIterator<Integer> iterator = new RandomInputValueIterator<>(largeValues);
+		iterator.setMinValues(5);
+		iterator.setMaxValues(5);
+
+		for (int i = 0; i < 1000; i++) {
+			List<Integer> value = (List<Integer>) iterator.nextValue();
+			assertEquals("Invalid number of values: " + value, 5, new HashSet<>(value).size());
+			value.forEach(x -> assertTrue("Invalid value: " + x, x >= 0 && x < largeValues.size()));
+		}
+	}
+
 	@Test
 	public void testSeed() {
 		List<String> values1 = new ArrayList<>();
@@ -71,6 +71,24 @@ public class RandomRegExpGeneratorTest {
 		}
 	}
 	
+	@Test
+	public void testPredefinedCharacterClasses() {
+		String regExp = "\\d{2}-\\w+\\Q.*\\E";
+		RandomRegExpGenerator gen = new RandomRegExpGenerator(regExp);
+
+		for(int i=0; i<100;i++) {
+			String value = gen.nextValue();
+			assertTrue("The string does not match the regular expression: " + value, value.matches(regExp));
+		}
+	}
+
+	@Test
+	public void testCompiledRegExpCache() {
+		String regExp = "[0-3]([a-c]|[e-g]{1,5})";
+		assertSame("Compiled regular expressions should be shared", CompiledRegExp.compile(regExp), CompiledRegExp.compile(regExp));
+		assertEquals("[0-9]+\\.\\*", CompiledRegExp.preprocess("\\d+\\Q.*\\E"));
+	}
+	
 	@Test
 	public void testSeed() {
 		List<String> values1 = new ArrayList<>();
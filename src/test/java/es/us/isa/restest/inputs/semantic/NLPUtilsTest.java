@@ -0,0 +1,28 @@
+package es.us.isa.restest.inputs.semantic;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static es.us.isa.restest.inputs.semantic.NLPUtils.posTagging;
+import static org.junit.Assert.*;
+
+public class NLPUtilsTest {
+
+	@Test
+	public void testPosTaggingIgnoresStopWords() {
+		List<String> names = posTagging("The country of the city");
+
+		assertEquals("Incorrect names", Arrays.asList("country", "city"), names);
+	}
+
+	@Test
+	public void testPosTaggingOfRepeatedDescriptions() {
+		List<String> names = posTagging("The title of a movie");
+		names.add("modified");
+
+		assertEquals("Tagging the same description again should return the same names", Arrays.asList("title", "movie"), posTagging(" THE TITLE OF A MOVIE "));
+		assertEquals("Names should be sorted by similarity to the parameter name", Arrays.asList("movie"), posTagging("The title of a movie", "m"));
+	}
+}
@@ -0,0 +1,137 @@
+package es.us.isa.restest.inputs.semantic;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static es.us.isa.restest.util.FileManager.*;
+import static org.junit.Assert.*;
+
+public class SPARQLCacheTest {
+
+    private static final String CACHE_DIR = "target/test-data/SPARQLCacheTest";
+    private static final String ENDPOINT = "http://dbpedia.org/sparql";
+    private static final String QUERY = "SELECT distinct ?abc WHERE { ?abc <http://dbpedia.org/ontology/country> \"?notAVariable\" }";
+
+    private final AtomicInteger executions = new AtomicInteger(0);
+
+    @Before
+    public void setUp() {
+        deleteDir(CACHE_DIR);
+        createDir(CACHE_DIR);
+    }
+
+    @Test
+    public void shouldExecuteQueryOnlyOnce() {
+        SPARQLCache cache = new SPARQLCache(CACHE_DIR, -1, 1024 * 1024, SPARQLCache.Mode.ONLINE);
+
+        assertEquals(42, (int) cache.get(ENDPOINT, QUERY, new TypeReference<Integer>() {}, this::execute));
+        assertEquals(42, (int) cache.get(ENDPOINT, QUERY, new TypeReference<Integer>() {}, this::execute));
+        assertEquals("The query should be executed only once", 1, executions.get());
+
+        SPARQLCache reloadedCache = new SPARQLCache(CACHE_DIR, -1, 1024 * 1024, SPARQLCache.Mode.ONLINE);
+        assertEquals(42, (int) reloadedCache.get(ENDPOINT, QUERY, new TypeReference<Integer>() {}, this::execute));
+        assertEquals("The results should be read from disk", 1, executions.get());
+
+        cache.get("http://localhost:8890/sparql", QUERY, new TypeReference<Integer>() {}, this::execute);
+        assertEquals("Queries to other endpoints should not share entries", 2, executions.get());
+    }
+
+    @Test
+    public void shouldIgnoreVariableNames() {
+        String otherQuery = QUERY.replace("?abc", "?xyz");
+        assertEquals(SPARQLCache.normalizeVariables(QUERY), SPARQLCache.normalizeVariables(otherQuery));
+        assertTrue("Literals should not be normalized", SPARQLCache.normalizeVariables(QUERY).contains("\"?notAVariable\""));
+
+        SPARQLCache cache = new SPARQLCache(CACHE_DIR, -1, 1024 * 1024, SPARQLCache.Mode.ONLINE);
+        cache.get(ENDPOINT, QUERY, new TypeReference<Integer>() {}, this::execute);
+        cache.get(ENDPOINT, otherQuery, new TypeReference<Integer>() {}, this::execute);
+        assertEquals("Queries only differing in their variable names should share the entry", 1, executions.get());
+    }
+
+    @Test
+    public void shouldReturnValuesByQueryVariableNames() {
+        String cityQuery = "SELECT distinct ?city WHERE { ?city <http://dbpedia.org/ontology/country> ?country }";
+        String townQuery = cityQuery.replace("?city", "?town");
+
+        SPARQLCache cache = new SPARQLCache(CACHE_DIR, -1, 1024 * 1024, SPARQLCache.Mode.ONLINE);
+        Map<String, Set<String>> cityValues = cache.getVariableValues(ENDPOINT, cityQuery, () -> executeVariableValues("city"));
+        Map<String, Set<String>> townValues = cache.getVariableValues(ENDPOINT, townQuery, () -> executeVariableValues("town"));
+
+        assertEquals("Queries only differing in their variable names should share the entry", 1, executions.get());
+        assertEquals(Collections.singleton("Seville"), cityValues.get("city"));
+        assertEquals(Collections.singleton("Seville"), townValues.get("town"));
+        assertFalse("The values should be returned by the variable names of the query", townValues.containsKey("city"));
+        assertEquals(Collections.singleton("Spain"), townValues.get("country"));
+    }
+
+    @Test
+    public void shouldExpireEntries() {
+        SPARQLCache cache = new SPARQLCache(CACHE_DIR, 0, 1024 * 1024, SPARQLCache.Mode.ONLINE);
+
+        cache.get(ENDPOINT, QUERY, new TypeReference<Integer>() {}, this::execute);
+        sleep(10);
+        cache.get(ENDPOINT, QUERY, new TypeReference<Integer>() {}, this::execute);
+        assertEquals("Expired entries should be executed again", 2, executions.get());
+    }
+
+    @Test
+    public void shouldEvictEntries() {
+        SPARQLCache cache = new SPARQLCache(CACHE_DIR, -1, 1024, SPARQLCache.Mode.ONLINE);
+
+        for (int i = 0; i < 20; i++)
+            cache.get(ENDPOINT, QUERY + " LIMIT " + i, new TypeReference<Integer>() {}, this::execute);
+
+        long size = 0;
+        for (File entryFile: new File(CACHE_DIR).listFiles())
+            size += entryFile.length();
+        assertTrue("The cache should not exceed its maximum size", size <= 1024);
+        assertTrue("The cache should not be empty", size > 0);
+    }
+
+    @Test
+    public void shouldOnlyReadCacheWhenOffline() {
+        new SPARQLCache(CACHE_DIR, 0, 1024 * 1024, SPARQLCache.Mode.ONLINE)
+                .get(ENDPOINT, QUERY, new TypeReference<Integer>() {}, this::execute);
+        sleep(10);
+
+        SPARQLCache cache = new SPARQLCache(CACHE_DIR, 0, 1024 * 1024, SPARQLCache.Mode.OFFLINE);
+        assertEquals("Expired entries should be used when offline", 42,
+                (int) cache.get(ENDPOINT, QUERY, new TypeReference<Integer>() {}, this::execute));
+
+        try {
+            cache.get(ENDPOINT, QUERY + " LIMIT 1", new TypeReference<Integer>() {}, this::execute);
+            fail("Queries not cached should fail when offline");
+        } catch (IllegalStateException e) {
+            assertEquals(1, executions.get());
+        }
+
+        cache.get("http://localhost:8890/sparql", QUERY, new TypeReference<Integer>() {}, this::execute);
+        assertEquals("Queries to local endpoints should be executed when offline", 2, executions.get());
+    }
+
+    private Integer execute() {
+        executions.incrementAndGet();
+        return 42;
+    }
+
+    private Map<String, Set<String>> executeVariableValues(String variable) {
+        executions.incrementAndGet();
+        Map<String, Set<String>> values = new HashMap<>();
+        values.put(variable, new HashSet<>(Collections.singleton("Seville")));
+        values.put("country", new HashSet<>(Collections.singleton("Spain")));
+        return values;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
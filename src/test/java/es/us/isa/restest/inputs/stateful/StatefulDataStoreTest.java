@@ -0,0 +1,81 @@
+package es.us.isa.restest.inputs.stateful;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static es.us.isa.restest.util.FileManager.*;
+import static org.junit.Assert.*;
+
+public class StatefulDataStoreTest {
+
+    private static final String DATA_DIR = "target/test-data/StatefulDataStoreTest";
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Before
+    public void setUp() {
+        deleteDir(DATA_DIR);
+        createDir(DATA_DIR);
+    }
+
+    @Test
+    public void shouldNotRepeatValues() throws IOException {
+        StatefulDataStore store = new StatefulDataStore(DATA_DIR, 10);
+        store.addValues("GET/comments", objectMapper.readTree("[{\"id\":\"c1\",\"likes\":1},{\"id\":\"c1\",\"likes\":\"1\"}]"));
+        store.addValues("GET/comments", objectMapper.readTree("{\"id\":\"c1\",\"likes\":2}"));
+
+        assertEquals("Duplicated values should be ignored", 1, (int) store.read(dict -> dict.get("GET/comments").get("id").size()));
+        assertEquals("Values of different types should be kept", 3, (int) store.read(dict -> dict.get("GET/comments").get("likes").size()));
+    }
+
+    @Test
+    public void shouldBoundValuesPerParameter() throws IOException {
+        StatefulDataStore store = new StatefulDataStore(DATA_DIR, 5);
+        for (int i = 0; i < 20; i++)
+            store.addValues("GET/comments", objectMapper.readTree("{\"id\":\"c" + i + "\"}"));
+
+        JsonNode values = store.read(dict -> dict.get("GET/comments").get("id").deepCopy());
+        assertEquals("The number of values should not exceed the capacity", 5, values.size());
+        assertTrue("The last value should have replaced an old one", values.toString().contains("\"c19\""));
+    }
+
+    @Test
+    public void shouldSaveAndLoadSnapshots() throws IOException {
+        String jsonPath = DATA_DIR + "/" + StatefulDataStore.STATEFUL_DATA_FILE;
+        StatefulDataStore store = new StatefulDataStore(DATA_DIR, 10);
+
+        assertTrue("The store should be empty", store.isEmpty());
+        store.addValues("GET/comments", objectMapper.readTree("{\"id\":\"c1\",\"user\":{\"name\":\"John\"}}"));
+        assertFalse("The JSON file should not be written before the snapshot", checkIfExists(jsonPath));
+
+        store.snapshot();
+        assertTrue("The JSON file was not created", checkIfExists(jsonPath));
+
+        JsonNode dict = objectMapper.readTree(readFile(jsonPath));
+        assertEquals("c1", dict.get("GET/comments").get("id").get(0).textValue());
+        assertEquals("John", dict.get("GET/comments").get("user.name").get(0).textValue());
+
+        StatefulDataStore loadedStore = new StatefulDataStore(DATA_DIR, 10);
+        assertEquals("The store should be loaded from the JSON file", dict, loadedStore.read(d -> d.deepCopy()));
+    }
+
+    @Test
+    public void shouldIndexNewParameters() throws IOException {
+        StatefulDataStore store = new StatefulDataStore(DATA_DIR, 10);
+        store.addValues("GET/comments", objectMapper.readTree("{\"id\":\"c1\"}"));
+        assertNull("There should be no value for a parameter not stored yet",
+                store.readIndex(index -> DataMatching.getParameterValue(index, "GET", "/posts", "authorName")));
+
+        store.addValues("GET/users", objectMapper.readTree("{\"user\":{\"name\":\"John\"}}"));
+        assertEquals("A similar parameter of another operation should be found once added", "John",
+                store.readIndex(index -> DataMatching.getParameterValue(index, "GET", "/posts", "author.name")).textValue());
+
+        store.clear();
+        assertNull("The index should be cleared with the store",
+                store.readIndex(index -> DataMatching.getParameterValue(index, "GET", "/comments", "id")));
+    }
+
+}
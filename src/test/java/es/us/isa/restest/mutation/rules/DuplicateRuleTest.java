@@ -16,10 +16,11 @@ import static org.junit.Assert.assertTrue;
 public class DuplicateRuleTest {
 
     @Before
+    @SuppressWarnings("unchecked")
     public void resetSchemaManager() throws NoSuchFieldException, IllegalAccessException {
         Field currentRefPath = SchemaManager.class.getDeclaredField("currentRefPath");
         currentRefPath.setAccessible(true);
-        currentRefPath.set(null, "");
+        ((ThreadLocal<String>) currentRefPath.get(null)).set("");
     }
 
     @Test
@@ -17,10 +17,11 @@ import static org.junit.Assert.assertTrue;
 public class TypeRuleTest {
 
     @Before
+    @SuppressWarnings("unchecked")
     public void resetSchemaManager() throws NoSuchFieldException, IllegalAccessException {
         Field currentRefPath = SchemaManager.class.getDeclaredField("currentRefPath");
         currentRefPath.setAccessible(true);
-        currentRefPath.set(null, "");
+        ((ThreadLocal<String>) currentRefPath.get(null)).set("");
     }
 
     @Test
@@ -19,6 +19,7 @@ import java.util.ArrayList;
 import static es.us.isa.restest.configuration.TestConfigurationIO.loadConfiguration;
 import static es.us.isa.restest.util.FileManager.*;
 import static es.us.isa.restest.util.FileManager.checkIfExists;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 public class RESTestRunnerTest {
@@ -77,4 +78,54 @@ public class RESTestRunnerTest {
         assertTrue(checkIfExists("target/coverage-data/RunnerTest"));
         assertTrue(checkIfExists("target/test-data/RunnerTest"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testRunnerPrepareAndExecute() throws RESTestException {
+        deleteDir("src/generation/java/runnerTest");
+        createDir("src/generation/java/runnerTest");
+
+        OpenAPISpecification spec = new OpenAPISpecification("src/test/resources/YouTube/swagger_betty.yaml");
+        String confPath = "src/test/resources/YouTube/testConf_betty.yaml";
+        TestConfigurationObject conf = loadConfiguration(confPath, spec);
+
+        String basePath = spec.getSpecification().getServers().get(0).getUrl();
+        RESTAssuredWriter writer = new RESTAssuredWriter("src/test/resources/YouTube/swagger_betty.yaml", "src/test/resources/YouTube/testConf_betty.yaml", "src/generation/java/runnerTest", "RunnerPipelineTest", "runnerTest", basePath, false);
+        writer.setEnableStats(true);
+        writer.setAPIName("RunnerPipelineTest");
+
+        RandomTestCaseGenerator generator = new RandomTestCaseGenerator(spec, conf, 2);
+
+        String testDataDir = PropertyManager.readProperty("data.tests.dir") + "/RunnerPipelineTest";
+        String coverageDataDir = PropertyManager.readProperty("data.coverage.dir") + "/RunnerPipelineTest";
+
+        deleteDir(testDataDir);
+        deleteDir(coverageDataDir);
+
+        createDir(testDataDir);
+        createDir(coverageDataDir);
+
+        StatsReportManager statsReportManager = new StatsReportManager(testDataDir, coverageDataDir);
+        statsReportManager.setCoverageMeter(new CoverageMeter(new CoverageGatherer(spec)));
+
+        RESTestRunner runner = new RESTestRunner("RunnerPipelineTest", "src/generation/java/runnerTest", "runnerTest", false, false, spec, confPath, generator, writer, null, statsReportManager);
+        runner.setExecuteTestCases(false);
+
+        // Prepare two iterations before executing any of them
+        writer.setClassName("RunnerPipelineTest_1");
+        writer.setTestId("1");
+        RESTestRunner.TestSuite testSuite1 = runner.prepare("1", "RunnerPipelineTest_1");
+        writer.setClassName("RunnerPipelineTest_2");
+        writer.setTestId("2");
+        RESTestRunner.TestSuite testSuite2 = runner.prepare("2", "RunnerPipelineTest_2");
+
+        assertEquals("Test cases should be counted once generated", testSuite1.getTestCases().size() + testSuite2.getTestCases().size(), runner.getNumTestCases());
+        assertTrue(checkIfExists("src/generation/java/runnerTest/RunnerPipelineTest_1.java"));
+        assertTrue(checkIfExists("src/generation/java/runnerTest/RunnerPipelineTest_2.java"));
+
+        runner.execute(testSuite1);
+        runner.execute(testSuite2);
+
+        assertTrue(checkIfExists(testDataDir + "/" + PropertyManager.readProperty("data.tests.testcases.file") + "_1.csv"));
+        assertTrue(checkIfExists(testDataDir + "/" + PropertyManager.readProperty("data.tests.testcases.file") + "_2.csv"));
+    }
+}
@@ -6,6 +6,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
@@ -71,5 +72,16 @@ public class DiversityTest {
 
     }
 
+    @Test
+    public void diversityFlatRepresentationsTest() {
+        Diversity diversity = new Diversity(SimilarityMeter.METRIC.LEVENSHTEIN, true);
+
+        List<TestCase> t1 = new ArrayList<>(tcs.subList(0, 1));
+        Double d1 = diversity.evaluate(t1, tcs.get(1));
+        Double d2 = diversity.evaluate(Collections.singletonList(tcs.get(0).getFlatRepresentation()), tcs.get(1).getFlatRepresentation());
+
+        assertEquals(0.15,  d1, 0.01);
+        assertEquals(d1,  d2, 0.);
+    }
 
 }
@@ -0,0 +1,64 @@
+package es.us.isa.restest.testcases.executors;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import es.us.isa.restest.testcases.TestResult;
+import es.us.isa.restest.util.PropertyManager;
+import org.junit.Test;
+
+import es.us.isa.restest.testcases.TestCase;
+import io.swagger.v3.oas.models.PathItem.HttpMethod;
+
+import static es.us.isa.restest.util.FileManager.*;
+import static es.us.isa.restest.util.TestManager.getTestResults;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RESTAssuredExecutorTest {
+
+	@Test
+	public void testExecuteWithStats() {
+
+		// Load specification
+		String OAISpecPath = "src/test/resources/specifications/petstore.json";
+		String testConf = "src/test/resources/Petstore/fullConf.yaml";
+		String testId = "executorTest";
+
+		String testDataDir = PropertyManager.readProperty("data.tests.dir") + "/ExecutorTest";
+		String testResultsPath = testDataDir + "/" + PropertyManager.readProperty("data.tests.testresults.file") + "_" + testId + ".csv";
+		deleteDir(testDataDir);
+		createDir(testDataDir);
+
+		// Create test cases
+		List<TestCase> testCases = new ArrayList<>();
+		TestCase tc1 = new TestCase("findPetsByStatusValid", false, "findPetsByStatus", "/pet/findByStatus", HttpMethod.GET);
+		tc1.addQueryParameter("status", "pending");
+		tc1.setFaultyReason("none");
+		testCases.add(tc1);
+
+		TestCase tc2 = new TestCase("findPetsByStatusFaulty", true, "findPetsByStatus", "/pet/findByStatus", HttpMethod.GET);
+		tc2.addQueryParameter("status", "pending");
+		tc2.setFaultyReason("individual_parameter_constraint");
+		testCases.add(tc2);
+
+		// Execute test cases
+		RESTAssuredExecutor executor = new RESTAssuredExecutor(OAISpecPath, testConf, "PetstoreExecutor", "restassured", "https://petstore.swagger.io/v2", false);
+		executor.setEnableStats(true);
+		executor.setAPIName("ExecutorTest");
+		executor.setTestId(testId);
+		assertFalse("The executor should have the statefulFilter disabled", executor.isStatefulFilter());
+
+		int failures = executor.execute(testCases);
+
+		assertTrue("The faulty test case should have failed, since the API returns a 2XX status code", failures >= 1);
+		assertTrue("The test results CSV should have been created in " + testResultsPath, checkIfExists(testResultsPath));
+
+		List<TestResult> testResults = getTestResults(testResultsPath);
+		assertEquals("There should be one test result per test case", 2, testResults.size());
+		assertTrue("The nominal test case should have a test result", testResults.stream().anyMatch(tr -> tr.getId().equals(tc1.getId())));
+		assertTrue("The faulty test case should have failed", testResults.stream().anyMatch(tr -> tr.getId().equals(tc2.getId()) && !tr.getPassed()));
+	}
+
+}
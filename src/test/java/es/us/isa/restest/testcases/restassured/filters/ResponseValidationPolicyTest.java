@@ -0,0 +1,43 @@
+package es.us.isa.restest.testcases.restassured.filters;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ResponseValidationPolicyTest {
+
+    @Test
+    public void shouldAlwaysValidate() {
+        ResponseValidationPolicy policy = new ResponseValidationPolicy(ResponseValidationPolicy.Mode.ALWAYS, 0, 0);
+        for (int i = 0; i < 100; i++)
+            assertTrue("All responses should be validated", policy.shouldValidate("GET", "/pets", 200));
+    }
+
+    @Test
+    public void shouldValidateFirstNPerOperationAndStatusCode() {
+        ResponseValidationPolicy policy = new ResponseValidationPolicy(ResponseValidationPolicy.Mode.FIRST_N, 3, 0);
+        for (int i = 0; i < 3; i++)
+            assertTrue("The first 3 responses should be validated", policy.shouldValidate("GET", "/pets", 200));
+        assertFalse("The fourth response should not be validated", policy.shouldValidate("GET", "/pets", 200));
+
+        assertTrue("Other status codes should be counted separately", policy.shouldValidate("GET", "/pets", 400));
+        assertTrue("Other operations should be counted separately", policy.shouldValidate("POST", "/pets", 200));
+        assertTrue("Other operations should be counted separately", policy.shouldValidate("GET", "/pets/{petId}", 200));
+    }
+
+    @Test
+    public void shouldValidatePercentage() {
+        ResponseValidationPolicy none = new ResponseValidationPolicy(ResponseValidationPolicy.Mode.PERCENTAGE, 0, 0);
+        ResponseValidationPolicy all = new ResponseValidationPolicy(ResponseValidationPolicy.Mode.PERCENTAGE, 0, 100);
+        ResponseValidationPolicy half = new ResponseValidationPolicy(ResponseValidationPolicy.Mode.PERCENTAGE, 0, 50);
+
+        int validated = 0;
+        for (int i = 0; i < 10000; i++) {
+            assertFalse("No response should be validated with 0%", none.shouldValidate("GET", "/pets", 200));
+            assertTrue("All responses should be validated with 100%", all.shouldValidate("GET", "/pets", 200));
+            if (half.shouldValidate("GET", "/pets", 200))
+                validated++;
+        }
+        assertTrue("About half of the responses should be validated: " + validated, validated > 4000 && validated < 6000);
+    }
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.NullNode;
 import com.fasterxml.jackson.databind.node.NumericNode;
+import es.us.isa.restest.inputs.stateful.StatefulDataStore;
 import es.us.isa.restest.util.FileManager;
 import io.restassured.RestAssured;
 import io.restassured.response.Response;
@@ -29,6 +30,7 @@ public class StatefulFilterTest {
         StatefulFilter filter = new StatefulFilter(dirPath);
         filter.setOperation("GET", "/stateful/filter/{id}");
 
+        StatefulDataStore.getInstance(dirPath).clear();
         FileManager.deleteFile(dirPath + "/stateful_data.json");
 
         try {
@@ -46,6 +48,7 @@ public class StatefulFilterTest {
             fail(ex.getMessage());
         }
 
+        StatefulDataStore.getInstance(dirPath).snapshot();
         assertTrue("The JSON file was not created", FileManager.checkIfExists(dirPath + "/stateful_data.json"));
         try {
             JsonNode dict = new ObjectMapper().readTree(new File(dirPath + "/stateful_data.json"));
@@ -88,6 +91,7 @@ public class StatefulFilterTest {
         StatefulFilter filter = new StatefulFilter(dirPath);
         filter.setOperation("GET", "/stateful/filter/{id}");
 
+        StatefulDataStore.getInstance(dirPath).clear();
         FileManager.deleteFile(dirPath + "/stateful_data.json");
 
         try {
@@ -105,6 +109,7 @@ public class StatefulFilterTest {
             fail(ex.getMessage());
         }
 
+        StatefulDataStore.getInstance(dirPath).snapshot();
         assertTrue("The JSON file was not created", FileManager.checkIfExists(dirPath + "/stateful_data.json"));
         String firstDict = readFile(dirPath + "/stateful_data.json");
 
@@ -123,6 +128,7 @@ public class StatefulFilterTest {
             fail(ex.getMessage());
         }
 
+        StatefulDataStore.getInstance(dirPath).snapshot();
         String secondDict = readFile(dirPath + "/stateful_data.json");
 
         assertEquals("The JSON file should not have been updated", firstDict, secondDict);
@@ -136,6 +142,7 @@ public class StatefulFilterTest {
         StatefulFilter filter = new StatefulFilter(dirPath);
         filter.setOperation("GET", "/stateful/filter/{id}");
 
+        StatefulDataStore.getInstance(dirPath).clear();
         FileManager.deleteFile(dirPath + "/stateful_data.json");
 
         try {
@@ -153,6 +160,7 @@ public class StatefulFilterTest {
             fail(ex.getMessage());
         }
 
+        StatefulDataStore.getInstance(dirPath).snapshot();
         assertTrue("The JSON file was not created", FileManager.checkIfExists(dirPath + "/stateful_data.json"));
         String firstDict = readFile(dirPath + "/stateful_data.json");
 
@@ -171,6 +179,7 @@ public class StatefulFilterTest {
             fail(ex.getMessage());
         }
 
+        StatefulDataStore.getInstance(dirPath).snapshot();
         String secondDict = readFile(dirPath + "/stateful_data.json");
 
         assertEquals("The JSON file should not have been updated", firstDict, secondDict);
@@ -190,6 +199,7 @@ public class StatefulFilterTest {
             fail(ex.getMessage());
         }
 
+        StatefulDataStore.getInstance(dirPath).snapshot();
         String thirdDict = readFile(dirPath + "/stateful_data.json");
 
         try {
@@ -1,6 +1,7 @@
 package es.us.isa.restest.util;
 
 import es.us.isa.restest.specification.OpenAPISpecification;
+import org.apache.commons.io.FileUtils;
 import org.hamcrest.MatcherAssert;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
@@ -10,11 +11,14 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 
 import static es.us.isa.restest.util.AllureAuthManager.*;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertEquals;
 
 public class AllureAuthManagerTest {
 
@@ -44,6 +48,31 @@ public class AllureAuthManagerTest {
         MatcherAssert.assertThat(Objects.requireNonNull(FileManager.readFile("src/test/resources/htmlData/htmlSample1.html")), containsString("CENSORED"));
     }
 
+    @Test
+    public void shouldOnlyFilterNewOrChangedFiles() throws IOException {
+        String dir = "target/test-data/AllureAuthManagerTest";
+        FileManager.deleteDir(dir);
+        FileManager.createDir(dir);
+        File firstFile = new File(dir + "/first.html");
+        File secondFile = new File(dir + "/second.html");
+        FileUtils.writeStringToFile(firstFile, firstHtml, StandardCharsets.UTF_8);
+        FileUtils.writeStringToFile(secondFile, secondHtml, StandardCharsets.UTF_8);
+
+        // The first file is recorded as already filtered, so it should be skipped
+        Map<String, Long> filteredFiles = new HashMap<>();
+        filteredFiles.put(firstFile.getName(), firstFile.length());
+        confidentialityFilter(Collections.singletonList("Authorization"), dir, filteredFiles);
+
+        MatcherAssert.assertThat(FileManager.readFile(firstFile.getPath()), not(containsString("CENSORED")));
+        MatcherAssert.assertThat(FileManager.readFile(secondFile.getPath()), containsString("CENSORED"));
+        assertEquals("The second file should be recorded with its censored size", Long.valueOf(secondFile.length()), filteredFiles.get(secondFile.getName()));
+
+        // Once the first file changes, it should be filtered again
+        FileUtils.writeStringToFile(firstFile, firstHtml + " ", StandardCharsets.UTF_8);
+        confidentialityFilter(Collections.singletonList("Authorization"), dir, filteredFiles);
+        MatcherAssert.assertThat(FileManager.readFile(firstFile.getPath()), containsString("CENSORED"));
+    }
+
     @AfterClass
     public static void tearDown() throws FileNotFoundException {
         PrintWriter pw = new PrintWriter(new File("src/test/resources/htmlData/htmlSample.html"));
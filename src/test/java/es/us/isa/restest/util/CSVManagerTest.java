@@ -2,6 +2,7 @@ package es.us.isa.restest.util;
 
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -55,6 +56,43 @@ public class CSVManagerTest {
         assertTrue("The CSV should contain the row just added", fileContent.contains(row));
     }
 
+    @Test
+    public void testAddRowsToCSVConcurrently() throws InterruptedException {
+        String path = "src/test/resources/csvData/csvManagerConcurrentSample.csv";
+        createDir("src/test/resources/csvData/");
+        createCSVwithHeader(path, "thread,row");
+
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            int thread = i;
+            threads[i] = new Thread(() -> {
+                for (int row = 0; row < 500; row++)
+                    writeCSVRow(path, thread + "," + row);
+            });
+            threads[i].start();
+        }
+        for (Thread thread: threads)
+            thread.join();
+
+        List<List<String>> csv = readCSV(path, false);
+        assertEquals("All rows should have been written", 2000, csv.size());
+        assertTrue("Rows should not be interleaved", csv.stream().allMatch(row -> row.size() == 2));
+        assertEquals("Rows of the same thread should keep their order", "499", csv.stream().filter(row -> row.get(0).equals("3")).reduce((first, second) -> second).get().get(1));
+    }
+
+    @Test
+    public void testRecreateCSV() {
+        String path = "src/test/resources/csvData/csvManagerRecreateSample.csv";
+        createDir("src/test/resources/csvData/");
+        createCSVwithHeader(path, "field1,field2");
+        writeCSVRow(path, "value1,value2");
+        assertEquals("The file should contain the header and the row", "field1,field2\nvalue1,value2\n", readFile(path));
+
+        createCSVwithHeader(path, "field1,field2");
+        writeCSVRow(path, "value3,value4");
+        assertEquals("The file should have been overwritten", "field1,field2\nvalue3,value4\n", readFile(path));
+    }
+
     @Test
     public void testCollectionToCSV() {
         String path = "src/test/resources/csvData/csvCollectionSample.csv";
@@ -93,4 +131,25 @@ public class CSVManagerTest {
 
     }
 
+    @Test
+    public void testMapValues() {
+        String dirPath = "target/test-data/CSVManagerTest/";
+        String path = dirPath + "mappedValues.csv";
+        deleteFile(path);
+        deleteFile(path + MappedCSVValues.INDEX_FILE_EXTENSION);
+        createDir(dirPath);
+        createFileIfNotExists(path);
+        writeFile(path, "plain,other\n\"quoted, with comma\"\n\"multi\nline \"\"quoted\"\"\",x\r\n\nñandú\nlast");
+
+        List<String> mappedValues = MappedCSVValues.open(path, 0);
+        assertEquals("Mapped values should be the same as those read", readValues(path), mappedValues);
+        assertEquals("multi\nline \"quoted\"", mappedValues.get(2));
+        assertTrue("The index file should exist", checkIfExists(path + MappedCSVValues.INDEX_FILE_EXTENSION));
+        assertEquals("The index file should be reused", mappedValues, MappedCSVValues.open(path, 0));
+
+        collectionToCSV(path, Arrays.asList("a", "b"));
+        assertEquals("Values mapped before replacing the file should still be readable", "plain", mappedValues.get(0));
+        assertEquals("The index file should be rebuilt if the CSV changes", Arrays.asList("a", "b"), MappedCSVValues.open(path, 0));
+    }
+
 }
@@ -0,0 +1,39 @@
+package es.us.isa.restest.util;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class ClassLoaderTest {
+
+	private static final String SOURCE = "package restassured;\n"
+			+ "public class InMemoryTest {\n"
+			+ "\tpublic static int answer() { return new Runnable() { public void run() {} }.hashCode() * 0 + 42; }\n"
+			+ "}\n";
+
+	@Test
+	public void compileAndLoadTest() throws Exception {
+		Class<?> loadedClass = ClassLoader.compileAndLoad("restassured.InMemoryTest", SOURCE);
+
+		assertNotNull("The class should have been compiled and loaded", loadedClass);
+		assertEquals("Wrong class name", "restassured.InMemoryTest", loadedClass.getName());
+		assertEquals("Wrong result (nested classes should be loaded too)", 42, loadedClass.getMethod("answer").invoke(null));
+	}
+
+	@Test
+	public void compileAndLoadTwiceTest() {
+		Class<?> loadedClass1 = ClassLoader.compileAndLoad("restassured.InMemoryTest", SOURCE);
+		Class<?> loadedClass2 = ClassLoader.compileAndLoad("restassured.InMemoryTest", SOURCE);
+
+		assertNotNull("The class should have been compiled and loaded", loadedClass2);
+		assertNotSame("Each compilation should be loaded by its own class loader", loadedClass1.getClassLoader(), loadedClass2.getClassLoader());
+	}
+
+	@Test
+	public void compileErrorTest() {
+		Class<?> loadedClass = ClassLoader.compileAndLoad("restassured.InMemoryTest", "package restassured;\npublic class InMemoryTest {");
+
+		assertNull("The class should not compile", loadedClass);
+	}
+
+}
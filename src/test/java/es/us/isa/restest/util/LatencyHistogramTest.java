@@ -0,0 +1,56 @@
+package es.us.isa.restest.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void percentilesTest() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 1000; i++)
+            histogram.record(i * 1000);
+
+        assertEquals("Wrong count", 1000, histogram.getCount());
+        assertEquals("Wrong max", 1000000, histogram.getMax());
+        assertEquals("Wrong mean", 500500, histogram.getMean(), 0.001);
+        assertEquals("Wrong p50", 500000, histogram.getPercentile(50), 500000 * 0.04);
+        assertEquals("Wrong p90", 900000, histogram.getPercentile(90), 900000 * 0.04);
+        assertEquals("Wrong p99", 990000, histogram.getPercentile(99), 990000 * 0.04);
+        assertEquals("The p100 should be the max", 1000000, histogram.getPercentile(100));
+    }
+
+    @Test
+    public void bucketsTest() {
+        for (long value: new long[]{0, 1, 63, 64, 65, 1000, 123456789, Long.MAX_VALUE / 3, Long.MAX_VALUE}) {
+            int bucket = LatencyHistogram.bucketOf(value);
+            assertTrue("The value " + value + " should be below the upper bound of its bucket", value <= LatencyHistogram.upperBoundOf(bucket));
+            assertTrue("The value " + value + " should be above the upper bound of the previous bucket", bucket == 0 || value > LatencyHistogram.upperBoundOf(bucket - 1));
+        }
+    }
+
+    @Test
+    public void concurrentRecordsTest() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 4; t++)
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 10000; i++)
+                    histogram.record(i);
+            }));
+        for (Future<?> future: futures)
+            future.get();
+        executor.shutdown();
+
+        assertEquals("No value should be lost", 40000, histogram.getCount());
+        assertEquals("Wrong max", 9999, histogram.getMax());
+    }
+}
@@ -1,9 +1,18 @@
 package es.us.isa.restest.util;
 
+import com.atlassian.oai.validator.OpenApiInteractionValidator;
 import es.us.isa.restest.specification.OpenAPISpecification;
 import org.junit.Test;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
 import static es.us.isa.restest.util.OASAPIValidator.getValidator;
+import static org.junit.Assert.*;
 
 public class OASAPIValidatorTest {
 
@@ -13,4 +22,30 @@ public class OASAPIValidatorTest {
 
         System.out.println("As long as this is printed, this test cases passes (no exceptions thrown).");
     }
+
+    @Test
+    public void testValidatorIsShared() {
+        OpenApiInteractionValidator validator = getValidator(new OpenAPISpecification("src/test/resources/Petstore/swagger.yaml"));
+
+        assertSame("The validator should be shared by all specification objects of the same file", validator,
+                getValidator(new OpenAPISpecification("src/test/resources/Petstore/swagger.yaml")));
+        assertSame("The validator should be shared by requests and responses", validator,
+                getValidator(new File("src/test/resources/Petstore/swagger.yaml").getAbsolutePath()));
+        assertNotSame("Each specification should have its own validator", validator,
+                getValidator(new OpenAPISpecification("src/test/resources/Bikewise/swagger.yaml")));
+    }
+
+    @Test
+    public void testValidatorIsBuiltAgainWhenSpecChanges() throws IOException {
+        String specPath = "target/test-data/OASAPIValidatorTest/swagger.yaml";
+        Files.createDirectories(Paths.get(specPath).getParent());
+        Files.copy(Paths.get("src/test/resources/Petstore/swagger.yaml"), Paths.get(specPath), StandardCopyOption.REPLACE_EXISTING);
+        OpenApiInteractionValidator validator = getValidator(specPath);
+
+        new File(specPath).setLastModified(System.currentTimeMillis() - 10000);
+        assertSame("The validator should not be built again if the content of the specification is the same", validator, getValidator(specPath));
+
+        Files.write(Paths.get(specPath), "\n".getBytes(), StandardOpenOption.APPEND);
+        assertNotSame("The validator should be built again if the content of the specification changes", validator, getValidator(specPath));
+    }
 }
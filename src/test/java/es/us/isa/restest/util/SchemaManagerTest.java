@@ -0,0 +1,40 @@
+package es.us.isa.restest.util;
+
+import es.us.isa.restest.mutation.rules.DropRule;
+import es.us.isa.restest.specification.OpenAPISpecification;
+import io.swagger.v3.oas.models.media.Schema;
+import org.junit.Test;
+
+import static es.us.isa.restest.util.SchemaManager.*;
+import static org.junit.Assert.*;
+
+public class SchemaManagerTest {
+
+    @Test
+    public void shouldResolveSchemaOnce() {
+        OpenAPISpecification spec = new OpenAPISpecification("src/test/resources/specifications/petstore.yaml");
+        Schema postPetSchema = spec.getSpecification().getPaths().get("/pet").getPost().getRequestBody().getContent().get("application/json").getSchema();
+
+        Schema resolvedSchema = getFullyResolvedSchema(postPetSchema, spec.getSpecification());
+        assertSame("The resolved schema should be cached", resolvedSchema, getFullyResolvedSchema(postPetSchema, spec.getSpecification()));
+        assertNull("The schema should be resolved", resolvedSchema.get$ref());
+        assertEquals(6, resolvedSchema.getProperties().size());
+        assertEquals(2, ((Schema) resolvedSchema.getProperties().get("category")).getProperties().size());
+    }
+
+    @Test
+    public void shouldMutateCopiesOnly() {
+        OpenAPISpecification spec = new OpenAPISpecification("src/test/resources/specifications/petstore.yaml");
+        Schema postPetSchema = spec.getSpecification().getPaths().get("/pet").getPost().getRequestBody().getContent().get("application/json").getSchema();
+        Schema resolvedSchema = getFullyResolvedSchema(postPetSchema, spec.getSpecification());
+
+        Schema copy = copySchema(resolvedSchema);
+        assertEquals("The copy should be equal to the resolved schema", resolvedSchema, copy);
+        assertNotSame(resolvedSchema.getProperties().get("category"), copy.getProperties().get("category"));
+
+        DropRule.getInstance().apply(copy, spec.getSpecification());
+        assertEquals("The copy should have been mutated", 5, copy.getProperties().size());
+        assertEquals("The cached schema should not have been mutated", 6, resolvedSchema.getProperties().size());
+        assertEquals("The cached schema should not have been mutated", 2, ((Schema) resolvedSchema.getProperties().get("category")).getProperties().size());
+    }
+}
@@ -50,7 +50,35 @@ public class TimerTest {
         exportToCSV(timePath, 2);
         assertTrue("The time report should have been created in " + timePath, FileManager.checkIfExists(timePath));
 
+        assertEquals("The TEST_SUITE_GENERATION histogram should have 2 entries", 2, Timer.getStepHistograms().get(TEST_SUITE_GENERATION.getName()).getCount());
+        assertTrue("The TEST_SUITE_GENERATION histogram should have a measure of 400ms at least", Timer.getStepHistograms().get(TEST_SUITE_GENERATION.getName()).getMax() >= 400000000L);
+
     }
 
+    @Test
+    public void concurrentTimingTest() throws InterruptedException {
+        resetCounters();
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 100; j++) {
+                    long startTime = Timer.startTiming();
+                    Timer.stopTiming(TEST_CASE_GENERATION, startTime);
+                    Timer.recordOperationLatency("GET /pets", 1000);
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread: threads)
+            thread.join();
+
+        assertEquals("No measure should be lost", 400, Timer.getStepHistograms().get(TEST_CASE_GENERATION.getName()).getCount());
+        assertEquals("No latency should be lost", 400, Timer.getOperationHistograms().get("GET /pets").getCount());
+        assertEquals("Concurrent measures should not be kept per iteration", 0, Timer.getCounters().size());
 
+        String histogramsPath = PropertyManager.readProperty("data.tests.dir") + "/" + PropertyManager.readProperty("data.tests.time.histograms");
+        FileManager.createDir(PropertyManager.readProperty("data.tests.dir"));
+        Timer.exportHistogramsToCSV(histogramsPath);
+        assertTrue("The histograms should have been exported to " + histogramsPath, FileManager.readFile(histogramsPath).contains("operation,GET /pets,400,"));
+    }
 }